@@ -1,6 +1,6 @@
 package com.taskreminder.app.config;
 
-import com.taskreminder.app.entity.User;
+import com.taskreminder.app.entity.UserProfile;
 import com.taskreminder.app.service.UserService;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,11 +14,11 @@ public class GlobalModelAttributes {
     private UserService userService;
 
     @ModelAttribute("user")
-    public User addUserToModel(HttpSession session) {
+    public UserProfile addUserToModel(HttpSession session) {
         Integer userId = (Integer) session.getAttribute("userId");
         if (userId == null) return null;
 
-        return userService.getUserById(userId).orElse(null);
+        return userService.getProfile(userId).orElse(null);
     }
 
     @ModelAttribute("profileImageVersion")
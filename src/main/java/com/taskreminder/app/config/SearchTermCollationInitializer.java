@@ -0,0 +1,51 @@
+package com.taskreminder.app.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Gives {@code task_search_term.term} a binary collation on MySQL.
+ * <p>
+ * Under the default accent- and case-insensitive collation, words the tokenizer keeps apart
+ * ("resume" and "résumé", "strasse" and "straße") compare equal, so one task's postings collide on
+ * the {@code (task_id, term)} key and the task save that indexes them fails. Hibernate's schema
+ * update never changes an existing column, so the collation is checked and fixed on startup.
+ */
+@Component
+public class SearchTermCollationInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchTermCollationInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Taking the entity manager factory makes sure the schema exists before align() runs.
+    public SearchTermCollationInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void align() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"MySQL".equalsIgnoreCase(product)) {
+            return;
+        }
+        List<String> collations = jdbcTemplate.queryForList(
+                "SELECT COLLATION_NAME FROM information_schema.COLUMNS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'task_search_term' AND COLUMN_NAME = 'term'",
+                String.class);
+        if (collations.isEmpty() || collations.get(0).endsWith("_bin")) {
+            return;
+        }
+        log.info("Changing task_search_term.term from {} to utf8mb4_bin", collations.get(0));
+        jdbcTemplate.execute("ALTER TABLE task_search_term MODIFY term VARCHAR(20) " +
+                "CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL");
+    }
+}
@@ -0,0 +1,48 @@
+package com.taskreminder.app.config;
+
+import com.taskreminder.app.entity.Task;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the task id counter in {@code id_block} ahead of every existing task id.
+ * <p>
+ * Task ids used to come from the column's AUTO_INCREMENT. An installation upgraded from then has
+ * tasks but no counter row, and Hibernate would start handing out ids from 1 again. On startup
+ * the counter is moved a whole block past the highest id, so whichever end of a block Hibernate
+ * counts from, no new id can collide.
+ */
+@Component
+public class TaskIdBlockInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Taking the entity manager factory makes sure the schema exists before align() runs.
+    public TaskIdBlockInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void align() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(Task_id), 0) FROM task", Long.class);
+        long floor = maxId + Task.ID_BLOCK_SIZE + 1;
+        int updated = jdbcTemplate.update(
+                "UPDATE id_block SET next_val = ? WHERE sequence_name = 'task' AND next_val < ?", floor, floor);
+        if (updated > 0) {
+            return;
+        }
+        Integer rows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM id_block WHERE sequence_name = 'task'", Integer.class);
+        if (rows == 0) {
+            try {
+                jdbcTemplate.update("INSERT INTO id_block (sequence_name, next_val) VALUES ('task', ?)", floor);
+            } catch (DuplicateKeyException e) {
+                // Another node created the row first.
+                align();
+            }
+        }
+    }
+}
@@ -22,6 +22,9 @@ import java.util.Optional;
 @RequestMapping("/auth")
 public class AuthController {
 
+    /** Email whose OTP was last sent from this session; the only one otp-status reports on. */
+    static final String PENDING_OTP_EMAIL = "PENDING_OTP_EMAIL";
+
     @Autowired
     private UserRepository userRepository;
 
@@ -37,6 +40,7 @@ public class AuthController {
     @PostMapping("/register")
     public String register(
             @ModelAttribute RegisterRequest request,
+            HttpSession session,
             RedirectAttributes redirectAttributes
     ) {
         if (!request.getPassword().equals(request.getConfirmPassword())) {
@@ -54,6 +58,7 @@ public class AuthController {
         String response = userService.register(user);
 
         if (response.startsWith("Registration successful")) {
+            session.setAttribute(PENDING_OTP_EMAIL, user.getEmail());
             redirectAttributes.addFlashAttribute("successMessage", response);
             return "redirect:/auth/verify-otp?email=" + user.getEmail();
         }
@@ -87,11 +92,13 @@ public class AuthController {
     @PostMapping("/verify-otp")
     public String verifyOtpMvc(
             @ModelAttribute("otpRequest") OtpRequest otpRequest,
+            HttpSession session,
             RedirectAttributes redirectAttributes
     ) {
         String response = userService.verifyOtp(otpRequest.getEmail(), otpRequest.getOtp());
 
         if (response.contains("successfully")) {
+            session.removeAttribute(PENDING_OTP_EMAIL);
             redirectAttributes.addFlashAttribute("loginRequest", new LoginRequest(otpRequest.getEmail()));
             redirectAttributes.addFlashAttribute("successMessage", response);
             return "redirect:/auth/login";
@@ -130,11 +137,13 @@ public class AuthController {
     @PostMapping("/resend-otp")
     public String resendOtp(
             @RequestParam String email,
+            HttpSession session,
             RedirectAttributes redirectAttributes
     ) {
         String response = userService.resendOtp(email);
 
         if (response.contains("successfully")) {
+            session.setAttribute(PENDING_OTP_EMAIL, email);
             redirectAttributes.addFlashAttribute("successMessage", response);
         } else {
             redirectAttributes.addFlashAttribute("errorMessage", response);
@@ -194,6 +203,13 @@ public class AuthController {
         );
     }
 
+    @GetMapping("/api/otp-status")
+    @ResponseBody
+    public ResponseEntity<?> otpStatus(HttpSession session) {
+        String email = (String) session.getAttribute(PENDING_OTP_EMAIL);
+        return ResponseEntity.ok(Map.of("status", userService.getOtpDeliveryStatus(email)));
+    }
+
     @PostMapping("/api/logout")
     @ResponseBody
     public ResponseEntity<?> logout(HttpSession session) {
@@ -209,6 +225,7 @@ public class AuthController {
     @PostMapping("/forgot-password")
     public String forgotPassword(
             @RequestParam String email,
+            HttpSession session,
             Model model
     ) {
         String result = userService.sendResetOtp(email);
@@ -218,6 +235,7 @@ public class AuthController {
             return "forgot-password";
         }
 
+        session.setAttribute(PENDING_OTP_EMAIL, email);
         model.addAttribute("successMessage", result);
         model.addAttribute("email", email);
         Optional<User> userOpt = userService.findByEmail(email);
@@ -258,6 +276,7 @@ public class AuthController {
     @PostMapping("/resend-reset-otp")
     public String resendResetOtp(
             @RequestParam String email,
+            HttpSession session,
             Model model
     ) {
         String response = userService.sendResetOtp(email);
@@ -265,6 +284,7 @@ public class AuthController {
         if (!response.startsWith("OTP sent")) {
             model.addAttribute("errorMessage", response);
         } else {
+            session.setAttribute(PENDING_OTP_EMAIL, email);
             model.addAttribute("successMessage", response);
         }
 
@@ -0,0 +1,113 @@
+package com.taskreminder.app.controller;
+
+import com.taskreminder.app.dto.ExportJobStatus;
+import com.taskreminder.app.entity.ExportJob;
+import com.taskreminder.app.enums.ExportFormat;
+import com.taskreminder.app.service.ExportJobService;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.util.Optional;
+
+/**
+ * Background exports for files too large to stream in one request. POST starts a job and
+ * answers 202 with where to poll; once the job is DONE its file is served with Range support,
+ * so an interrupted download can resume where it stopped instead of starting over.
+ */
+@RestController
+@RequestMapping("/api/v1/tasks/export-jobs")
+public class ExportJobRestController {
+
+    private static final String BASE_URL = "/api/v1/tasks/export-jobs/";
+
+    private final ExportJobService exportJobService;
+
+    @Autowired
+    public ExportJobRestController(ExportJobService exportJobService) {
+        this.exportJobService = exportJobService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ExportJobStatus> submit(
+            HttpSession session,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(defaultValue = "false") boolean email
+    ) {
+        Integer userId = (Integer) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromExtension(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Optional<ExportJob> job = exportJobService.submit(userId, exportFormat, gzip, email);
+        if (job.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+        String url = BASE_URL + job.get().getId();
+        return ResponseEntity.accepted()
+                .location(URI.create(url))
+                .body(ExportJobStatus.of(job.get(), url));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ExportJobStatus> status(
+            @PathVariable Long id,
+            HttpSession session
+    ) {
+        Integer userId = (Integer) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return exportJobService.find(id, userId)
+                .map(job -> ResponseEntity.ok(ExportJobStatus.of(job, BASE_URL + id)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // Spring answers a Range request for a Resource body with 206 and just the requested bytes.
+    @GetMapping("/{id}/file")
+    public ResponseEntity<Resource> download(
+            @PathVariable Long id,
+            HttpSession session
+    ) {
+        Integer userId = (Integer) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        Optional<ExportJob> job = exportJobService.find(id, userId);
+        Optional<Path> file = job.flatMap(exportJobService::file);
+        if (file.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        ExportJob done = job.get();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + done.getFileName())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .eTag("\"" + done.getId() + "-" + done.getSizeBytes() + "\"")
+                .lastModified(done.getFinishedAt().atZone(ZoneId.systemDefault()))
+                .contentType(MediaType.parseMediaType(
+                        done.isGzip() ? "application/gzip" : done.getFormat().getContentType()))
+                .body(new FileSystemResource(file.get()));
+    }
+}
@@ -1,19 +1,23 @@
 package com.taskreminder.app.controller;
 
+import com.taskreminder.app.dto.TaskFilter;
+import com.taskreminder.app.dto.TaskOverview;
+import com.taskreminder.app.dto.TaskSlice;
+import com.taskreminder.app.dto.TaskSummary;
 import com.taskreminder.app.entity.Task;
 import com.taskreminder.app.entity.User;
 import com.taskreminder.app.service.EmailService;
+import com.taskreminder.app.service.ExportJobService;
+import com.taskreminder.app.service.TaskExportService;
 import com.taskreminder.app.service.TaskService;
+import com.taskreminder.app.enums.ExportFormat;
 import com.taskreminder.app.enums.TaskPriority;
+import com.taskreminder.app.enums.TaskSortField;
 import com.taskreminder.app.enums.TaskStatus;
 import com.taskreminder.app.service.UserService;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -21,10 +25,9 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.io.IOException;
-import java.io.PrintWriter;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 @Controller
 @RequestMapping("/api/tasks")
@@ -36,12 +39,18 @@ public class TaskController {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private ExportJobService exportJobService;
+
     @Autowired
     private UserService userService;
 
     @GetMapping
     public String listTasks(
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(required = false) Integer size,
             @RequestParam(required = false) TaskStatus status,
             @RequestParam(required = false) TaskPriority priority,
@@ -55,70 +64,59 @@ public class TaskController {
         Integer userId = (Integer) session.getAttribute("userId");
         if (userId == null) return "redirect:/auth/login";
 
-        if (page < 0) page = 0;
         if (size != null && size <= 0) size = 5;
 
-        Sort sortObj = Sort.unsorted();
-        if (sort != null && !sort.isBlank()) {
-            switch (sort) {
-                case "dueDate" -> sortObj = Sort.by("dueDate");
-                case "priority" -> sortObj = Sort.by("priority");
-                case "createdAt" -> sortObj = Sort.by("createdAt");
-                case "title" -> sortObj = Sort.by("title");
-            }
-        }
+        TaskSortField sortField = TaskSortField.fromProperty(sort);
 
         int pageSize;
+        boolean showAll = false;
         if ("card".equals(view)) {
             pageSize = 6;
         } else if (size != null && size >= 9999) {
             pageSize = Integer.MAX_VALUE;
-            page = 0;
+            showAll = true;
         } else if (size == null) {
             pageSize = 5;
         } else {
             pageSize = size;
         }
 
-        List<Task> allTasks = taskService.getAllTasksByUser(userId);
+        TaskOverview overview = taskService.getOverview(userId);
+        model.addAttribute("overview", overview);
 
         if ("calendar".equals(view)) {
 
-            if (allTasks.isEmpty()) {
+            if (overview.getTotalCount() == 0) {
                 model.addAttribute("errorMessage", "No tasks available to display on the calendar.");
                 model.addAttribute("successMessage", null);
             }
 
-            model.addAttribute("tasks", allTasks);
-            model.addAttribute("overdueTasks", taskService.getOverdueTasks(userId));
-            model.addAttribute("todayTasks", taskService.getTasksDueToday(userId));
-            model.addAttribute("upcomingTasks", taskService.getUpcomingTasks(userId, 7));
-            model.addAttribute("completedTasks",
-                    allTasks.stream().filter(t -> t.getStatus() == TaskStatus.COMPLETED).toList());
-            model.addAttribute("pendingTasks",
-                    allTasks.stream().filter(t -> t.getStatus() != TaskStatus.COMPLETED).toList());
-            model.addAttribute("allTasks", allTasks);
-
+            model.addAttribute("tasks", overview.getAllTasks());
             model.addAttribute("view", view);
             model.addAttribute("size", pageSize);
             model.addAttribute("userName", session.getAttribute("name"));
             model.addAttribute("activePage", "tasks");
-            model.addAttribute("upcomingReminders", taskService.getUpcomingReminders(userId));
 
             return "tasks";
         }
 
-        Pageable pageable = PageRequest.of(page, pageSize, sortObj);
-
-        Page<Task> taskPage;
+        TaskFilter filter = new TaskFilter(status, priority, keyword);
+        List<TaskSummary> tasks;
+        TaskSlice<TaskSummary> slice = null;
         try {
-            taskPage = taskService.getPagedTasks(userId, pageable, status, priority, keyword);
+            if (showAll) {
+                tasks = taskService.getAllTasks(userId, filter, sortField, false);
+            } else {
+                slice = taskService.scrollTasks(userId, filter, sortField, false, cursor, pageSize)
+                        .map(TaskSummary::of);
+                tasks = slice.getContent();
+            }
         } catch (IllegalArgumentException e) {
             model.addAttribute("errorMessage", "Invalid filter value provided.");
             model.addAttribute("tasks", List.of());
             model.addAttribute("successMessage", null);
-            model.addAttribute("currentPage", 0);
-            model.addAttribute("totalPages", 0);
+            model.addAttribute("nextCursor", null);
+            model.addAttribute("previousCursor", null);
             model.addAttribute("size", pageSize);
             model.addAttribute("view", view);
             model.addAttribute("status", null);
@@ -129,29 +127,20 @@ public class TaskController {
             return "tasks";
         }
 
-        model.addAttribute("tasks", taskPage.getContent());
-        model.addAttribute("currentPage", page);
-        model.addAttribute("totalPages", taskPage.getTotalPages());
+        model.addAttribute("tasks", tasks);
+        model.addAttribute("nextCursor", slice != null ? slice.getNextCursor() : null);
+        model.addAttribute("previousCursor", slice != null ? slice.getPreviousCursor() : null);
         model.addAttribute("size", pageSize);
         model.addAttribute("view", view);
         model.addAttribute("status", status);
         model.addAttribute("priority", priority);
         model.addAttribute("keyword", keyword);
-        model.addAttribute("overdueTasks", taskService.getOverdueTasks(userId));
-        model.addAttribute("todayTasks", taskService.getTasksDueToday(userId));
-        model.addAttribute("upcomingTasks", taskService.getUpcomingTasks(userId, 7));
-        model.addAttribute("completedTasks",
-                allTasks.stream().filter(t -> t.getStatus() == TaskStatus.COMPLETED).toList());
-        model.addAttribute("pendingTasks",
-                allTasks.stream().filter(t -> t.getStatus() != TaskStatus.COMPLETED).toList());
-        model.addAttribute("allTasks", allTasks);
         model.addAttribute("userName", session.getAttribute("name"));
         model.addAttribute("activePage", "tasks");
-        model.addAttribute("upcomingReminders", taskService.getUpcomingReminders(userId));
 
-        boolean noTasksAtAll = allTasks.isEmpty();
-        boolean noResultsAfterFilter = taskPage.isEmpty() && !noTasksAtAll;
-        boolean pageOutOfRange = page >= taskPage.getTotalPages() && taskPage.getTotalPages() > 0;
+        boolean noTasksAtAll = overview.getTotalCount() == 0;
+        boolean pageOutOfRange = tasks.isEmpty() && cursor != null && !cursor.isBlank() && !noTasksAtAll;
+        boolean noResultsAfterFilter = tasks.isEmpty() && !noTasksAtAll;
 
         if (noTasksAtAll) {
             model.addAttribute("errorMessage", "You don’t have any tasks yet.");
@@ -471,7 +460,7 @@ public class TaskController {
         Integer userId = (Integer) session.getAttribute("userId");
         if (userId == null) return "redirect:/auth/login";
 
-        List<Task> trashedTasks = taskService.getTrashedTasks(userId);
+        List<TaskSummary> trashedTasks = taskService.getTrashedTasks(userId);
 
         model.addAttribute("tasks", trashedTasks);
         model.addAttribute("userName", session.getAttribute("name"));
@@ -561,6 +550,8 @@ public class TaskController {
     @PostMapping("/export")
     public String exportTasks(
             @RequestParam("action") String action,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
             HttpServletResponse response,
             HttpSession session,
             RedirectAttributes redirectAttributes
@@ -576,20 +567,29 @@ public class TaskController {
             return "redirect:/api/tasks";
         }
 
-        List<Task> tasks = taskService.getAllTasksByUser(userId);
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromExtension(format);
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Invalid export format selected.");
+            return "redirect:/api/tasks";
+        }
 
-        if (tasks.isEmpty()) {
+        if (!taskService.hasTasks(userId)) {
             redirectAttributes.addFlashAttribute("errorMessage", "You don’t have any tasks to export yet.");
             return "redirect:/api/tasks";
         }
 
         if ("download".equals(action)) {
-            exportCsvDownload(response, tasks);
+            exportDownload(response, userId, exportFormat, gzip);
             redirectAttributes.addFlashAttribute("successMessage", "File downloaded successfully!");
             return null;
         } else if ("email".equals(action)) {
-            exportCsvEmail(tasks, userId);
-            redirectAttributes.addFlashAttribute("successMessage", "File emailed successfully!");
+            if (exportJobService.submit(userId, exportFormat, false, true).isEmpty()) {
+                redirectAttributes.addFlashAttribute("errorMessage", "Too many exports are running right now. Please try again in a few minutes.");
+            } else {
+                redirectAttributes.addFlashAttribute("successMessage", "Export queued! It will arrive in your inbox shortly.");
+            }
             return "redirect:/api/tasks";
         } else {
             redirectAttributes.addFlashAttribute("errorMessage", "Invalid export action selected.");
@@ -597,102 +597,20 @@ public class TaskController {
         }
     }
 
-    private void exportCsvDownload(HttpServletResponse response, List<Task> tasks) throws IOException {
-        response.setContentType("text/csv");
-        response.setHeader("Content-Disposition", "attachment; filename=tasks.csv");
-
-        PrintWriter writer = response.getWriter();
-        writer.println("ID,Title,Description,Status,Priority,Due Date,Created At,Completed At");
-
-        for (Task task : tasks) {
-            writer.println(
-                    task.getId() + "," +
-                            csvEscape(task.getTitle()) + "," +
-                            csvEscape(task.getDescription()) + "," +
-                            task.getStatus() + "," +
-                            task.getPriority() + "," +
-                            task.getDueDate() + "," +
-                            task.getCreatedAt() + "," +
-                            task.getCompletedAt()
-            );
-        }
-        writer.flush();
-    }
-
-    private void exportCsvEmail(List<Task> tasks, Integer userId) throws IOException {
-
-        StringBuilder csv = new StringBuilder();
-        csv.append("ID,Title,Description,Status,Priority,Due Date,Created At,Completed At\n");
-
-        for (Task task : tasks) {
-            csv.append(
-                            task.getId()).append(",")
-                    .append(csvEscape(task.getTitle())).append(",")
-                    .append(csvEscape(task.getDescription())).append(",")
-                    .append(task.getStatus()).append(",")
-                    .append(task.getPriority()).append(",")
-                    .append(task.getDueDate()).append(",")
-                    .append(task.getCreatedAt()).append(",")
-                    .append(task.getCompletedAt()).append("\n");
-        }
-
-        String email = userService.getEmailByUserId(userId);
-
-        Optional<User> optionalUser = userService.getUserById(userId);
-
-        if (optionalUser.isEmpty()) {
-            return;
-        }
+    private void exportDownload(HttpServletResponse response, Integer userId, ExportFormat format, boolean gzip)
+            throws IOException {
+        String fileName = "tasks." + format.getExtension() + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip" : format.getContentType());
+        response.setHeader("Content-Disposition", "attachment; filename=" + fileName);
 
-        User user = optionalUser.get();
-        String body = buildExportCsvHtml(user.getName())
-                .replace("${TASK_COUNT}", String.valueOf(tasks.size()))
-                .replace("${CURRENT_DATE}", LocalDate.now().toString());
-
-        emailService.sendCsvAttachmentEmail(
-                email,
-                "Your Tasks Export - TimeIt",
-                body,
-                csv.toString()
-        );
-    }
-
-    private String buildExportCsvHtml(String userName) {
-        return "<!DOCTYPE html>" +
-                "<html>" +
-                "<body style='font-family: Arial, sans-serif; background-color:#f4f4f4; padding:20px;'>" +
-                "  <div style='max-width:600px; margin:auto; background:#ffffff; padding:30px; border-radius:8px; box-shadow:0 4px 12px rgba(0,0,0,0.1);'>" +
-                "    <h2 style='color:#16a34a; margin-bottom:10px;'>Your Task Export 📄</h2>" +
-                "    <p>Hi <strong>" + userName + "</strong>,</p>" +
-                "    <p>We've prepared your task list in CSV format. You can find it attached to this email.</p>" +
-                "    <ul style='background:#e6f4ea; padding:15px; border-radius:6px;'>" +
-                "      <li><strong>Export Type:</strong> CSV File</li>" +
-                "      <li><strong>Total Tasks:</strong> ${TASK_COUNT}</li>" +
-                "      <li><strong>Date:</strong> ${CURRENT_DATE}</li>" +
-                "    </ul>" +
-                "    <p style='margin-top:15px;'>Feel free to open it in Excel or any spreadsheet tool to manage your tasks.</p>" +
-                "    <p style='margin-top:20px; font-size:14px; color:#555;'>– The <strong>TimeIt</strong> Team</p>" +
-                "    <hr style='border:none; border-top:1px solid #eee; margin:20px 0;' />" +
-                "    <p style='font-size:12px; color:#777;'>This is an automated email, please do not reply.</p>" +
-                "  </div>" +
-                "</body>" +
-                "</html>";
-    }
-
-    private String csvEscape(String value) {
-        if (value == null) {
-            return "";
+        if (gzip) {
+            GZIPOutputStream out = new GZIPOutputStream(response.getOutputStream(), 8192);
+            taskExportService.write(userId, format, out);
+            out.finish();
+        } else {
+            taskExportService.write(userId, format, response.getOutputStream());
         }
-
-        boolean hasSpecialChar =
-                value.contains(",") ||
-                        value.contains("\"") ||
-                        value.contains("\n") ||
-                        value.contains("\r");
-
-        String escaped = value.replace("\"", "\"\"");
-
-        return hasSpecialChar ? "\"" + escaped + "\"" : escaped;
+        response.flushBuffer();
     }
 
 }
@@ -1,32 +1,65 @@
 package com.taskreminder.app.controller;
 
+import com.taskreminder.app.dto.BulkTaskResult;
+import com.taskreminder.app.dto.BulkTaskUpdate;
+import com.taskreminder.app.dto.TaskFilter;
+import com.taskreminder.app.dto.TaskImportReport;
+import com.taskreminder.app.dto.TaskSlice;
+import com.taskreminder.app.dto.TaskSummary;
 import com.taskreminder.app.entity.Task;
-import com.taskreminder.app.enums.TaskPriority;
-import com.taskreminder.app.enums.TaskStatus;
+import com.taskreminder.app.enums.ExportFormat;
+import com.taskreminder.app.enums.TaskSortField;
+import com.taskreminder.app.service.TaskExportService;
+import com.taskreminder.app.service.TaskImportService;
 import com.taskreminder.app.service.TaskService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.BiFunction;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/v1/tasks")
 public class TaskRestController {
 
+    private static final int MAX_SCROLL_SIZE = 200;
+    private static final int STREAM_CHUNK_SIZE = 500;
+    private static final int MAX_BULK_SIZE = 10_000;
+
     private final TaskService taskService;
 
+    private final TaskExportService taskExportService;
+
+    private final TaskImportService taskImportService;
+
+    private final JsonMapper jsonMapper;
+
     @Autowired
-    public TaskRestController(TaskService taskService) {
+    public TaskRestController(TaskService taskService, TaskExportService taskExportService,
+                              TaskImportService taskImportService, JsonMapper jsonMapper) {
         this.taskService = taskService;
+        this.taskExportService = taskExportService;
+        this.taskImportService = taskImportService;
+        this.jsonMapper = jsonMapper;
     }
 
     @PostMapping
-    public ResponseEntity<Task> createTask(
+    public ResponseEntity<TaskSummary> createTask(
             @RequestBody Task task,
             HttpSession session
     ) {
@@ -36,12 +69,79 @@ public class TaskRestController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        Task savedTask = taskService.addTask(task);
-        return ResponseEntity.status(HttpStatus.CREATED).body(savedTask);
+        Task savedTask = taskService.addTask(task, userId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(TaskSummary.of(savedTask));
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<List<TaskSummary>> createTasks(
+            @RequestBody List<Task> tasks,
+            HttpSession session
+    ) {
+        Integer userId = (Integer) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (tasks.isEmpty() || tasks.size() > MAX_BULK_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<Task> saved = taskService.addTasks(tasks, userId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(saved.stream().map(TaskSummary::of).toList());
+    }
+
+    @GetMapping("/bulk")
+    public ResponseEntity<List<TaskSummary>> getTasksByIds(
+            @RequestParam List<Integer> ids,
+            HttpSession session
+    ) {
+        Integer userId = (Integer) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!validIds(ids)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(taskService.getTasksByIds(userId, ids));
+    }
+
+    @PatchMapping("/bulk/status")
+    public ResponseEntity<BulkTaskResult> updateStatus(
+            @RequestBody BulkTaskUpdate update,
+            HttpSession session
+    ) {
+        return bulk(update, session, update.getStatus() != null,
+                (userId, ids) -> taskService.updateStatus(userId, ids, update.getStatus()));
+    }
+
+    @PatchMapping("/bulk/priority")
+    public ResponseEntity<BulkTaskResult> updatePriority(
+            @RequestBody BulkTaskUpdate update,
+            HttpSession session
+    ) {
+        return bulk(update, session, update.getPriority() != null,
+                (userId, ids) -> taskService.updatePriority(userId, ids, update.getPriority()));
+    }
+
+    @PostMapping("/bulk/trash")
+    public ResponseEntity<BulkTaskResult> moveToTrash(
+            @RequestBody BulkTaskUpdate update,
+            HttpSession session
+    ) {
+        return bulk(update, session, true, taskService::moveToTrash);
+    }
+
+    @PostMapping("/bulk/restore")
+    public ResponseEntity<BulkTaskResult> restoreTasks(
+            @RequestBody BulkTaskUpdate update,
+            HttpSession session
+    ) {
+        return bulk(update, session, true, taskService::restoreTasks);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Task> getTaskById(
+    public ResponseEntity<TaskSummary> getTaskById(
             @PathVariable Integer id,
             HttpSession session
     ) {
@@ -52,34 +152,141 @@ public class TaskRestController {
             return ResponseEntity.notFound().build();
         }
 
-        return ResponseEntity.ok(task);
+        return ResponseEntity.ok(TaskSummary.of(task));
     }
 
     @GetMapping
-    public ResponseEntity<Page<Task>> getPagedTasks(
+    public ResponseEntity<Page<TaskSummary>> getPagedTasks(
             HttpSession session,
             Pageable pageable,
-            @RequestParam(required = false) TaskStatus status,
-            @RequestParam(required = false) TaskPriority priority,
-            @RequestParam(required = false) String keyword
+            @ModelAttribute TaskFilter filter
     ) {
         Integer userId = (Integer) session.getAttribute("userId");
 
-        Page<Task> page = taskService.getPagedTasks(
-                userId, pageable, status, priority, keyword
-        );
+        Page<Task> page = taskService.getPagedTasks(userId, filter, pageable);
 
-        return ResponseEntity.ok(page);
+        return ResponseEntity.ok(page.map(TaskSummary::of));
+    }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<TaskSlice<TaskSummary>> scrollTasks(
+            HttpSession session,
+            @ModelAttribute TaskFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "asc") String direction
+    ) {
+        Integer userId = (Integer) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        try {
+            TaskSlice<Task> slice = taskService.scrollTasks(userId, filter, TaskSortField.fromProperty(sort),
+                    "desc".equalsIgnoreCase(direction), cursor, Math.min(Math.max(size, 1), MAX_SCROLL_SIZE));
+            return ResponseEntity.ok(slice.map(TaskSummary::of));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /** Every matching task as newline-delimited JSON, read in keyset chunks so memory stays flat. */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTasks(
+            HttpSession session,
+            @ModelAttribute TaskFilter filter,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "asc") String direction
+    ) {
+        Integer userId = (Integer) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        TaskSortField field = TaskSortField.fromProperty(sort);
+        boolean descending = "desc".equalsIgnoreCase(direction);
+        StreamingResponseBody body = out -> taskService.forEachTaskChunk(
+                userId, filter, field, descending, STREAM_CHUNK_SIZE, chunk -> {
+                    try {
+                        for (TaskSummary task : chunk) {
+                            out.write(jsonMapper.writeValueAsBytes(task));
+                            out.write('\n');
+                        }
+                        out.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /** Every task outside the trash as a CSV or NDJSON file, optionally gzipped, written as it is read. */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            HttpSession session,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        Integer userId = (Integer) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromExtension(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String fileName = "tasks." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream zipped = new GZIPOutputStream(out, 8192);
+                taskExportService.write(userId, exportFormat, zipped);
+                zipped.finish();
+            } else {
+                taskExportService.write(userId, exportFormat, out);
+            }
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + fileName)
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType()))
+                .body(body);
+    }
+
+    // The body is read as a raw stream rather than a multipart upload, so the file is never
+    // buffered whole; send it with Content-Encoding: gzip to cut the upload size.
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<TaskImportReport> importTasks(
+            HttpServletRequest request,
+            HttpSession session
+    ) throws IOException {
+        Integer userId = (Integer) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        InputStream body = request.getInputStream();
+        if ("gzip".equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING))) {
+            body = new GZIPInputStream(body, 8192);
+        }
+        try {
+            return ResponseEntity.ok(taskImportService.importCsv(userId, body));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(TaskImportReport.rejected(e.getMessage()));
+        }
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<Task>> getAllTasksByUser(HttpSession session) {
+    public ResponseEntity<List<TaskSummary>> getAllTasksByUser(HttpSession session) {
         Integer userId = (Integer) session.getAttribute("userId");
         return ResponseEntity.ok(taskService.getAllTasksByUser(userId));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Task> updateTask(
+    public ResponseEntity<TaskSummary> updateTask(
             @PathVariable Integer id,
             @RequestBody Task task,
             HttpSession session
@@ -88,7 +295,7 @@ public class TaskRestController {
         task.setId(id);
 
         Task updated = taskService.updateTask(task, userId);
-        return ResponseEntity.ok(updated);
+        return ResponseEntity.ok(TaskSummary.of(updated));
     }
 
     @DeleteMapping("/{id}")
@@ -112,13 +319,13 @@ public class TaskRestController {
     }
 
     @GetMapping("/due-today")
-    public ResponseEntity<List<Task>> getTasksDueToday(HttpSession session) {
+    public ResponseEntity<List<TaskSummary>> getTasksDueToday(HttpSession session) {
         Integer userId = (Integer) session.getAttribute("userId");
         return ResponseEntity.ok(taskService.getTasksDueToday(userId));
     }
 
     @GetMapping("/upcoming")
-    public ResponseEntity<List<Task>> getUpcomingTasks(
+    public ResponseEntity<List<TaskSummary>> getUpcomingTasks(
             HttpSession session,
             @RequestParam(defaultValue = "3") int days
     ) {
@@ -151,7 +358,7 @@ public class TaskRestController {
     }
 
     @GetMapping("/trash")
-    public ResponseEntity<List<Task>> getTrashedTasks(HttpSession session) {
+    public ResponseEntity<List<TaskSummary>> getTrashedTasks(HttpSession session) {
         Integer userId = (Integer) session.getAttribute("userId");
 
         return ResponseEntity.ok(taskService.getTrashedTasks(userId));
@@ -167,13 +374,13 @@ public class TaskRestController {
     }
 
     @GetMapping("/overdue")
-    public ResponseEntity<List<Task>> getOverdueTasks(HttpSession session) {
+    public ResponseEntity<List<TaskSummary>> getOverdueTasks(HttpSession session) {
         Integer userId = (Integer) session.getAttribute("userId");
         return ResponseEntity.ok(taskService.getOverdueTasks(userId));
     }
 
     @GetMapping("/recent")
-    public ResponseEntity<List<Task>> getRecentTasks(
+    public ResponseEntity<List<TaskSummary>> getRecentTasks(
             HttpSession session,
             @RequestParam(defaultValue = "5") int limit
     ) {
@@ -182,38 +389,54 @@ public class TaskRestController {
     }
 
     @GetMapping("/priority/high")
-    public ResponseEntity<List<Task>> getHighPriorityTasks(HttpSession session) {
+    public ResponseEntity<List<TaskSummary>> getHighPriorityTasks(HttpSession session) {
         Integer userId = (Integer) session.getAttribute("userId");
         return ResponseEntity.ok(taskService.getHighPriorityTasks(userId));
     }
 
     @GetMapping("/priority/medium")
-    public ResponseEntity<List<Task>> getMediumPriorityTasks(HttpSession session) {
+    public ResponseEntity<List<TaskSummary>> getMediumPriorityTasks(HttpSession session) {
         Integer userId = (Integer) session.getAttribute("userId");
         return ResponseEntity.ok(taskService.getMediumPriorityTasks(userId));
     }
 
     @GetMapping("/priority/low")
-    public ResponseEntity<List<Task>> getLowPriorityTasks(HttpSession session) {
+    public ResponseEntity<List<TaskSummary>> getLowPriorityTasks(HttpSession session) {
         Integer userId = (Integer) session.getAttribute("userId");
         return ResponseEntity.ok(taskService.getLowPriorityTasks(userId));
     }
 
     @GetMapping("/completed")
-    public ResponseEntity<List<Task>> getCompletedTasks(HttpSession session) {
+    public ResponseEntity<List<TaskSummary>> getCompletedTasks(HttpSession session) {
         Integer userId = (Integer) session.getAttribute("userId");
         return ResponseEntity.ok(taskService.getCompletedTasks(userId));
     }
 
     @GetMapping("/pending")
-    public ResponseEntity<List<Task>> getPendingTasks(HttpSession session) {
+    public ResponseEntity<List<TaskSummary>> getPendingTasks(HttpSession session) {
         Integer userId = (Integer) session.getAttribute("userId");
         return ResponseEntity.ok(taskService.getPendingTasks(userId));
     }
 
     @GetMapping("/in-progress")
-    public ResponseEntity<List<Task>> getInProgressTasks(HttpSession session) {
+    public ResponseEntity<List<TaskSummary>> getInProgressTasks(HttpSession session) {
         Integer userId = (Integer) session.getAttribute("userId");
         return ResponseEntity.ok(taskService.getInProgressTasks(userId));
     }
+
+    private ResponseEntity<BulkTaskResult> bulk(BulkTaskUpdate update, HttpSession session, boolean complete,
+                                                BiFunction<Integer, List<Integer>, BulkTaskResult> change) {
+        Integer userId = (Integer) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!complete || !validIds(update.getIds())) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(change.apply(userId, update.getIds()));
+    }
+
+    private static boolean validIds(List<Integer> ids) {
+        return ids != null && !ids.isEmpty() && ids.size() <= MAX_BULK_SIZE && !ids.contains(null);
+    }
 }
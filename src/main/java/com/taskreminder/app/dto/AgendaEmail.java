@@ -0,0 +1,31 @@
+package com.taskreminder.app.dto;
+
+public class AgendaEmail {
+    private final Integer userId;
+    private final String to;
+    private final String subject;
+    private final String body;
+
+    public AgendaEmail(Integer userId, String to, String subject, String body) {
+        this.userId = userId;
+        this.to = to;
+        this.subject = subject;
+        this.body = body;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+}
@@ -0,0 +1,14 @@
+package com.taskreminder.app.dto;
+
+import com.taskreminder.app.enums.TaskPriority;
+
+import java.time.LocalDate;
+
+public interface AgendaTaskView {
+    Integer getUserId();
+    String getUserName();
+    String getUserEmail();
+    String getTitle();
+    LocalDate getDueDate();
+    TaskPriority getPriority();
+}
@@ -0,0 +1,23 @@
+package com.taskreminder.app.dto;
+
+import java.util.List;
+
+/** Outcome of a bulk task change: how many tasks changed, and the ids that were left alone. */
+public class BulkTaskResult {
+    private final int updated;
+    private final List<Integer> skipped;
+
+    public BulkTaskResult(int updated, List<Integer> skipped) {
+        this.updated = updated;
+        this.skipped = skipped;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    /** Ids that are not the user's, do not exist, or were not in a state the change applies to. */
+    public List<Integer> getSkipped() {
+        return skipped;
+    }
+}
@@ -0,0 +1,38 @@
+package com.taskreminder.app.dto;
+
+import com.taskreminder.app.enums.TaskPriority;
+import com.taskreminder.app.enums.TaskStatus;
+
+import java.util.List;
+
+/** Body of the bulk task endpoints: the tasks to change and, where the change needs one, the new value. */
+public class BulkTaskUpdate {
+
+    private List<Integer> ids;
+    private TaskStatus status;
+    private TaskPriority priority;
+
+    public List<Integer> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Integer> ids) {
+        this.ids = ids;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(TaskPriority priority) {
+        this.priority = priority;
+    }
+}
@@ -0,0 +1,64 @@
+package com.taskreminder.app.dto;
+
+import com.taskreminder.app.entity.TaskCounts;
+
+import java.util.List;
+
+/** Counts for the dashboard cards, read from the user's task counters. */
+public class DashboardStats {
+    private final TaskCounts counts;
+    private final List<TaskSummary> recentTasks;
+
+    private DashboardStats(TaskCounts counts, List<TaskSummary> recentTasks) {
+        this.counts = counts;
+        this.recentTasks = recentTasks;
+    }
+
+    public static DashboardStats of(TaskCounts counts, List<TaskSummary> recentTasks) {
+        return new DashboardStats(counts, recentTasks);
+    }
+
+    public long getTotalCount() {
+        return counts.getTotal();
+    }
+
+    public long getCompletedCount() {
+        return counts.getCompleted();
+    }
+
+    public long getPendingCount() {
+        return counts.getPending();
+    }
+
+    public long getInProgressCount() {
+        return counts.getInProgress();
+    }
+
+    public long getOverdueCount() {
+        return counts.getOverdue();
+    }
+
+    public long getDueTodayCount() {
+        return counts.getDueToday();
+    }
+
+    public long getHighPriorityCount() {
+        return counts.getHighPriority();
+    }
+
+    public long getMediumPriorityCount() {
+        return counts.getMediumPriority();
+    }
+
+    public long getLowPriorityCount() {
+        return counts.getLowPriority();
+    }
+
+    public long getCompletionRate() {
+        return counts.getTotal() == 0 ? 0 : Math.round(counts.getCompleted() * 100.0 / counts.getTotal());
+    }
+
+    public List<TaskSummary> getRecentTasks() {
+        return recentTasks;
+    }
+}
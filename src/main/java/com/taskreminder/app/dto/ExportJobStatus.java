@@ -0,0 +1,90 @@
+package com.taskreminder.app.dto;
+
+import com.taskreminder.app.entity.ExportJob;
+import com.taskreminder.app.enums.ExportJobState;
+
+import java.time.LocalDateTime;
+
+/** What a client polls for while an export job runs; {@code downloadUrl} is set once the file is ready. */
+public class ExportJobStatus {
+    private final Long id;
+    private final ExportJobState state;
+    private final String format;
+    private final boolean gzip;
+    private final boolean email;
+    private final Long rows;
+    private final Long sizeBytes;
+    private final String error;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime finishedAt;
+    private final LocalDateTime expiresAt;
+    private final String downloadUrl;
+
+    private ExportJobStatus(ExportJob job, String downloadUrl) {
+        this.id = job.getId();
+        this.state = job.getState();
+        this.format = job.getFormat().getExtension();
+        this.gzip = job.isGzip();
+        this.email = job.isEmail();
+        this.rows = job.getRowCount();
+        this.sizeBytes = job.getSizeBytes();
+        this.error = job.getError();
+        this.createdAt = job.getCreatedAt();
+        this.finishedAt = job.getFinishedAt();
+        this.expiresAt = job.getExpiresAt();
+        this.downloadUrl = downloadUrl;
+    }
+
+    public static ExportJobStatus of(ExportJob job, String jobUrl) {
+        boolean downloadable = job.getState() == ExportJobState.DONE && !job.isEmail();
+        return new ExportJobStatus(job, downloadable ? jobUrl + "/file" : null);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public ExportJobState getState() {
+        return state;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public boolean isGzip() {
+        return gzip;
+    }
+
+    public boolean isEmail() {
+        return email;
+    }
+
+    public Long getRows() {
+        return rows;
+    }
+
+    public Long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public String getDownloadUrl() {
+        return downloadUrl;
+    }
+}
@@ -0,0 +1,13 @@
+package com.taskreminder.app.dto;
+
+import java.time.LocalDate;
+
+public interface ReminderMailView {
+    Integer getId();
+    String getTitle();
+    String getDescription();
+    LocalDate getDueDate();
+    Integer getUserId();
+    String getUserName();
+    String getUserEmail();
+}
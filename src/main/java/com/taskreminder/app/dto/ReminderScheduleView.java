@@ -0,0 +1,8 @@
+package com.taskreminder.app.dto;
+
+import java.time.LocalDateTime;
+
+public interface ReminderScheduleView {
+    Integer getId();
+    LocalDateTime getReminderTime();
+}
@@ -0,0 +1,33 @@
+package com.taskreminder.app.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tasks matching every term of a keyword search, with their relevance scores. When the hits are
+ * too many to pass around as an id list, {@link #isOverflow()} is set and {@code scores} is empty;
+ * the search then has to be evaluated inside the task query instead.
+ */
+public class SearchHits {
+    private final List<String> terms;
+    private final Map<Integer, Integer> scores;
+    private final boolean overflow;
+
+    public SearchHits(List<String> terms, Map<Integer, Integer> scores, boolean overflow) {
+        this.terms = terms;
+        this.scores = scores;
+        this.overflow = overflow;
+    }
+
+    public List<String> getTerms() {
+        return terms;
+    }
+
+    public Map<Integer, Integer> getScores() {
+        return scores;
+    }
+
+    public boolean isOverflow() {
+        return overflow;
+    }
+}
@@ -0,0 +1,7 @@
+package com.taskreminder.app.dto;
+
+public interface SearchPostingView {
+    Integer getTaskId();
+    String getTerm();
+    Integer getWeight();
+}
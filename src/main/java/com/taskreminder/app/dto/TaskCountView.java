@@ -0,0 +1,14 @@
+package com.taskreminder.app.dto;
+
+import com.taskreminder.app.enums.TaskPriority;
+import com.taskreminder.app.enums.TaskStatus;
+
+public interface TaskCountView {
+    Integer getUserId();
+    Boolean getDeleted();
+    TaskStatus getStatus();
+    TaskPriority getPriority();
+    Long getTotal();
+    Long getOverdue();
+    Long getDueToday();
+}
@@ -0,0 +1,80 @@
+package com.taskreminder.app.dto;
+
+import com.taskreminder.app.enums.TaskSortField;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset pagination over the task list.
+ * <p>
+ * It records the sort in effect and the {@code (sort value, id)} of the boundary row, plus whether
+ * the page wanted lies after that row or before it. Clients only pass tokens back unchanged.
+ */
+public final class TaskCursor {
+
+    private static final String VERSION = "1";
+    private static final String NULL_VALUE = "~";
+
+    private final TaskSortField field;
+    private final boolean descending;
+    private final boolean backward;
+    private final Integer id;
+    private final String value;
+
+    public TaskCursor(TaskSortField field, boolean descending, boolean backward, Integer id, String value) {
+        this.field = field;
+        this.descending = descending;
+        this.backward = backward;
+        this.id = id;
+        this.value = value;
+    }
+
+    public TaskSortField getField() {
+        return field;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    /** True when the token points to the page before the boundary row. */
+    public boolean isBackward() {
+        return backward;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    /** The boundary row's sort value as written by {@link TaskSortField#format}, or null. */
+    public String getValue() {
+        return value;
+    }
+
+    public String encode() {
+        // The value goes last so that it may itself contain the separator.
+        String raw = String.join("|", VERSION, field.name(), descending ? "d" : "a", backward ? "b" : "f",
+                String.valueOf(id), value == null ? NULL_VALUE : "=" + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 6);
+            if (parts.length != 6 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            String value = NULL_VALUE.equals(parts[5]) ? null : parts[5].substring(1);
+            TaskCursor cursor = new TaskCursor(TaskSortField.valueOf(parts[1]), "d".equals(parts[2]),
+                    "b".equals(parts[3]), Integer.valueOf(parts[4]), value);
+            // Reject values that cannot be read back as the sort column's type.
+            cursor.field.parse(value);
+            return cursor;
+        } catch (IllegalArgumentException | DateTimeException | StringIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
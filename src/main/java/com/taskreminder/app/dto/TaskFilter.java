@@ -0,0 +1,100 @@
+package com.taskreminder.app.dto;
+
+import com.taskreminder.app.enums.TaskPriority;
+import com.taskreminder.app.enums.TaskStatus;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Optional filters for a user's task list. Unset fields do not restrict the result; date ranges
+ * are inclusive and may be open on either side.
+ */
+public class TaskFilter {
+
+    private TaskStatus status;
+    private TaskPriority priority;
+    private String keyword;
+    @DateTimeFormat(pattern = "yyyy-MM-dd")
+    private LocalDate dueFrom;
+    @DateTimeFormat(pattern = "yyyy-MM-dd")
+    private LocalDate dueTo;
+    private Boolean hasReminder;
+    @DateTimeFormat(pattern = "yyyy-MM-dd")
+    private LocalDate completedFrom;
+    @DateTimeFormat(pattern = "yyyy-MM-dd")
+    private LocalDate completedTo;
+
+    public TaskFilter() {
+    }
+
+    public TaskFilter(TaskStatus status, TaskPriority priority, String keyword) {
+        this.status = status;
+        this.priority = priority;
+        this.keyword = keyword;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(TaskPriority priority) {
+        this.priority = priority;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    public void setKeyword(String keyword) {
+        this.keyword = keyword;
+    }
+
+    public LocalDate getDueFrom() {
+        return dueFrom;
+    }
+
+    public void setDueFrom(LocalDate dueFrom) {
+        this.dueFrom = dueFrom;
+    }
+
+    public LocalDate getDueTo() {
+        return dueTo;
+    }
+
+    public void setDueTo(LocalDate dueTo) {
+        this.dueTo = dueTo;
+    }
+
+    public Boolean getHasReminder() {
+        return hasReminder;
+    }
+
+    public void setHasReminder(Boolean hasReminder) {
+        this.hasReminder = hasReminder;
+    }
+
+    public LocalDate getCompletedFrom() {
+        return completedFrom;
+    }
+
+    public void setCompletedFrom(LocalDate completedFrom) {
+        this.completedFrom = completedFrom;
+    }
+
+    public LocalDate getCompletedTo() {
+        return completedTo;
+    }
+
+    public void setCompletedTo(LocalDate completedTo) {
+        this.completedTo = completedTo;
+    }
+}
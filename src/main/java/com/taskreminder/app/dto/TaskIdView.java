@@ -0,0 +1,5 @@
+package com.taskreminder.app.dto;
+
+public interface TaskIdView {
+    Integer getId();
+}
@@ -0,0 +1,20 @@
+package com.taskreminder.app.dto;
+
+/** Why one row of an import was not saved. {@code line} is where the row starts in the file. */
+public class TaskImportError {
+    private final long line;
+    private final String message;
+
+    public TaskImportError(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,49 @@
+package com.taskreminder.app.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a CSV import: how many rows were read, saved and rejected, and why. Only the first
+ * errors are listed; {@code errorsTruncated} says whether there were more than that.
+ */
+public class TaskImportReport {
+    private final long rows;
+    private final long imported;
+    private final long failed;
+    private final List<TaskImportError> errors;
+    private final boolean errorsTruncated;
+
+    public TaskImportReport(long rows, long imported, long failed, List<TaskImportError> errors,
+                            boolean errorsTruncated) {
+        this.rows = rows;
+        this.imported = imported;
+        this.failed = failed;
+        this.errors = errors;
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    /** A file that could not be imported at all, such as one without the required columns. */
+    public static TaskImportReport rejected(String message) {
+        return new TaskImportReport(0, 0, 0, List.of(new TaskImportError(1, message)), false);
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public List<TaskImportError> getErrors() {
+        return errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+}
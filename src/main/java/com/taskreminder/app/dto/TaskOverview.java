@@ -0,0 +1,82 @@
+package com.taskreminder.app.dto;
+
+import com.taskreminder.app.entity.TaskCounts;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Everything the tasks page shows around the task list, for one user and one request.
+ * <p>
+ * The stat cards read the user's task counters. The remaining views are queried the first time
+ * the page asks for them and kept for the rest of the request, so a table page never loads the
+ * whole task set that only the calendar needs.
+ */
+public class TaskOverview {
+    private final TaskCounts counts;
+    private final Lazy<Long> upcomingCount;
+    private final Lazy<List<TaskSummary>> upcomingReminders;
+    private final Lazy<List<TaskSummary>> allTasks;
+
+    public TaskOverview(TaskCounts counts, Supplier<Long> upcomingCount,
+                        Supplier<List<TaskSummary>> upcomingReminders, Supplier<List<TaskSummary>> allTasks) {
+        this.counts = counts;
+        this.upcomingCount = new Lazy<>(upcomingCount);
+        this.upcomingReminders = new Lazy<>(upcomingReminders);
+        this.allTasks = new Lazy<>(allTasks);
+    }
+
+    public long getOverdueCount() {
+        return counts.getOverdue();
+    }
+
+    public long getTodayCount() {
+        return counts.getDueToday();
+    }
+
+    public long getUpcomingCount() {
+        return upcomingCount.get();
+    }
+
+    public long getCompletedCount() {
+        return counts.getCompleted();
+    }
+
+    /** Tasks not yet completed, in progress ones included. */
+    public long getPendingCount() {
+        return counts.getTotal() - counts.getCompleted();
+    }
+
+    public long getTotalCount() {
+        return counts.getTotal();
+    }
+
+    public long getCompletionPercent() {
+        return counts.getTotal() == 0 ? 0 : counts.getCompleted() * 100 / counts.getTotal();
+    }
+
+    public List<TaskSummary> getUpcomingReminders() {
+        return upcomingReminders.get();
+    }
+
+    public List<TaskSummary> getAllTasks() {
+        return allTasks.get();
+    }
+
+    private static final class Lazy<T> {
+        private Supplier<T> supplier;
+        private T value;
+
+        private Lazy(Supplier<T> supplier) {
+            this.supplier = supplier;
+        }
+
+        private T get() {
+            if (supplier != null) {
+                value = supplier.get();
+                supplier = null;
+            }
+            return value;
+        }
+    }
+}
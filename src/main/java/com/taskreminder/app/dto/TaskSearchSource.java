@@ -0,0 +1,8 @@
+package com.taskreminder.app.dto;
+
+public interface TaskSearchSource {
+    Integer getId();
+    Integer getUserId();
+    String getTitle();
+    String getDescription();
+}
@@ -0,0 +1,42 @@
+package com.taskreminder.app.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/** One page of a keyset-paginated task list, with tokens for the neighbouring pages. */
+public class TaskSlice<T> {
+    private final List<T> content;
+    private final String nextCursor;
+    private final String previousCursor;
+
+    public TaskSlice(List<T> content, String nextCursor, String previousCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.previousCursor = previousCursor;
+    }
+
+    /** The same page with each row converted. */
+    public <R> TaskSlice<R> map(Function<? super T, R> mapper) {
+        return new TaskSlice<>(content.stream().map(mapper).toList(), nextCursor, previousCursor);
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public String getPreviousCursor() {
+        return previousCursor;
+    }
+
+    public boolean isFirst() {
+        return previousCursor == null;
+    }
+
+    public boolean isLast() {
+        return nextCursor == null;
+    }
+}
@@ -0,0 +1,87 @@
+package com.taskreminder.app.dto;
+
+import com.taskreminder.app.entity.Task;
+import com.taskreminder.app.enums.TaskPriority;
+import com.taskreminder.app.enums.TaskStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * The columns a task list shows, read straight into this class instead of a managed {@link Task}:
+ * no owner row, no persistence context entry and nothing to dirty-check at flush.
+ */
+public class TaskSummary {
+    private final Integer id;
+    private final String title;
+    private final String description;
+    private final LocalDate dueDate;
+    private final TaskStatus status;
+    private final TaskPriority priority;
+    private final LocalDate createdAt;
+    private final LocalDate completedAt;
+    private final LocalDateTime reminderTime;
+    private final LocalDateTime deletedAt;
+
+    public TaskSummary(Integer id, String title, String description, LocalDate dueDate, TaskStatus status,
+                       TaskPriority priority, LocalDate createdAt, LocalDate completedAt,
+                       LocalDateTime reminderTime, LocalDateTime deletedAt) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.dueDate = dueDate;
+        this.status = status;
+        this.priority = priority;
+        this.createdAt = createdAt;
+        this.completedAt = completedAt;
+        this.reminderTime = reminderTime;
+        this.deletedAt = deletedAt;
+    }
+
+    /** The summary of a task already loaded for another reason. */
+    public static TaskSummary of(Task task) {
+        return new TaskSummary(task.getId(), task.getTitle(), task.getDescription(), task.getDueDate(),
+                task.getStatus(), task.getPriority(), task.getCreatedAt(), task.getCompletedAt(),
+                task.getReminderTime(), task.getDeletedAt());
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public LocalDate getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDate getCompletedAt() {
+        return completedAt;
+    }
+
+    public LocalDateTime getReminderTime() {
+        return reminderTime;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+}
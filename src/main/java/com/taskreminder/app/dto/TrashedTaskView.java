@@ -0,0 +1,6 @@
+package com.taskreminder.app.dto;
+
+public interface TrashedTaskView {
+    Integer getId();
+    Integer getUserId();
+}
@@ -0,0 +1,99 @@
+package com.taskreminder.app.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint of one day's agenda email run. {@code lastUserId} is the highest user id whose
+ * agenda has been queued, so a run interrupted by a restart carries on from the next user.
+ */
+@Entity
+@Table(name = "agenda_run")
+public class AgendaRun {
+
+    @Id
+    private LocalDate runDate;
+
+    @Column(nullable = false)
+    private Integer lastUserId = 0;
+
+    @Column(nullable = false)
+    private boolean completed = false;
+
+    @Column(nullable = false)
+    private Integer emailsQueued = 0;
+
+    @Column(length = 64)
+    private String ownerNode;
+
+    private LocalDateTime leaseUntil;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    public AgendaRun() {}
+
+    public AgendaRun(LocalDate runDate) {
+        this.runDate = runDate;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    public LocalDate getRunDate() {
+        return runDate;
+    }
+
+    public Integer getLastUserId() {
+        return lastUserId;
+    }
+
+    public void setLastUserId(Integer lastUserId) {
+        this.lastUserId = lastUserId;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public Integer getEmailsQueued() {
+        return emailsQueued;
+    }
+
+    public void setEmailsQueued(Integer emailsQueued) {
+        this.emailsQueued = emailsQueued;
+    }
+
+    public String getOwnerNode() {
+        return ownerNode;
+    }
+
+    public void setOwnerNode(String ownerNode) {
+        this.ownerNode = ownerNode;
+    }
+
+    public LocalDateTime getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public void setLeaseUntil(LocalDateTime leaseUntil) {
+        this.leaseUntil = leaseUntil;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
@@ -0,0 +1,190 @@
+package com.taskreminder.app.entity;
+
+import com.taskreminder.app.enums.ExportFormat;
+import com.taskreminder.app.enums.ExportJobState;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One background task export, run by {@code ownerNode}. The file is written to {@code filePath},
+ * relative to the shared spool directory; an emailed export hands its file to the email outbox
+ * instead and has none.
+ */
+@Entity
+@Table(name = "export_job", indexes = {
+        @Index(name = "idx_export_job_state_expires", columnList = "state, expires_at")
+})
+public class ExportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Integer userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private ExportFormat format;
+
+    @Column(nullable = false)
+    private boolean gzip;
+
+    @Column(nullable = false)
+    private boolean email;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private ExportJobState state = ExportJobState.QUEUED;
+
+    @Column(length = 64)
+    private String ownerNode;
+
+    private String filePath;
+
+    private Long rowCount;
+
+    private Long sizeBytes;
+
+    @Column(length = 1000)
+    private String error;
+
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime finishedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public ExportJob() {}
+
+    public ExportJob(Integer userId, ExportFormat format, boolean gzip, boolean email, String ownerNode,
+                     LocalDateTime createdAt, LocalDateTime expiresAt) {
+        this.userId = userId;
+        this.format = format;
+        this.gzip = gzip;
+        this.email = email;
+        this.ownerNode = ownerNode;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    /** Name the file is downloaded or attached under. */
+    public String getFileName() {
+        return "tasks." + format.getExtension() + (gzip ? ".gz" : "");
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Integer userId) {
+        this.userId = userId;
+    }
+
+    public ExportFormat getFormat() {
+        return format;
+    }
+
+    public void setFormat(ExportFormat format) {
+        this.format = format;
+    }
+
+    public boolean isGzip() {
+        return gzip;
+    }
+
+    public void setGzip(boolean gzip) {
+        this.gzip = gzip;
+    }
+
+    public boolean isEmail() {
+        return email;
+    }
+
+    public void setEmail(boolean email) {
+        this.email = email;
+    }
+
+    public ExportJobState getState() {
+        return state;
+    }
+
+    public void setState(ExportJobState state) {
+        this.state = state;
+    }
+
+    public String getOwnerNode() {
+        return ownerNode;
+    }
+
+    public void setOwnerNode(String ownerNode) {
+        this.ownerNode = ownerNode;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public Long getRowCount() {
+        return rowCount;
+    }
+
+    public void setRowCount(Long rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    public Long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(Long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
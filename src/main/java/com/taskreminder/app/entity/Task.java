@@ -1,18 +1,34 @@
 package com.taskreminder.app.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.taskreminder.app.enums.TaskPriority;
 import com.taskreminder.app.enums.TaskStatus;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name="task")
+@Table(name="task", indexes = {
+        @Index(name = "idx_task_reminder_due", columnList = "reminder_sent, reminder_time"),
+        @Index(name = "idx_task_user_due", columnList = "user_id, deleted, due_date"),
+        @Index(name = "idx_task_user_created", columnList = "user_id, deleted, created_at"),
+        @Index(name = "idx_task_user_priority", columnList = "user_id, deleted, priority"),
+        @Index(name = "idx_task_user_title", columnList = "user_id, deleted, task_name"),
+        @Index(name = "idx_task_trash_expiry", columnList = "deleted, deleted_at")
+})
+@TableGenerator(name = "task_id", table = "id_block", pkColumnName = "sequence_name",
+        valueColumnName = "next_val", pkColumnValue = "task", allocationSize = Task.ID_BLOCK_SIZE)
+// Not in the second-level cache: it is local to each node, and reminder claims from other nodes
+// would stay invisible to it until the entry expired.
 public class Task {
+    /** Ids reserved per round trip to {@code id_block}, so inserts can be sent in JDBC batches. */
+    public static final int ID_BLOCK_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "task_id")
     @Column(name = "Task_id")
     private Integer id;
     @Column(name="Task_name")
@@ -35,7 +51,18 @@ public class Task {
     @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm")
     private LocalDateTime reminderTime;
 
-    @ManyToOne
+    @JsonIgnore
+    @Column(name = "reminder_claimed_by", length = 64)
+    private String reminderClaimedBy;
+
+    @JsonIgnore
+    @Column(name = "reminder_lease_until")
+    private LocalDateTime reminderLeaseUntil;
+
+    // Lazy: lists, pages and task edits only ever need the owner's id, which the proxy holds
+    // without a query. Reads that need the owner's name or email join it into a projection.
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
@@ -44,6 +71,14 @@ public class Task {
 
     private LocalDateTime deletedAt;
 
+    // Bulk reminder updates bump it too, so an entity saved after another node claimed or sent
+    // its reminder fails instead of writing the old reminder columns back.
+    @JsonIgnore
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     public Task(){}
 
     public Task(String title, String description, LocalDate dueDate, TaskStatus status, TaskPriority priority) {
@@ -104,6 +139,22 @@ public class Task {
         this.reminderTime = reminderTime;
     }
 
+    public String getReminderClaimedBy() {
+        return reminderClaimedBy;
+    }
+
+    public void setReminderClaimedBy(String reminderClaimedBy) {
+        this.reminderClaimedBy = reminderClaimedBy;
+    }
+
+    public LocalDateTime getReminderLeaseUntil() {
+        return reminderLeaseUntil;
+    }
+
+    public void setReminderLeaseUntil(LocalDateTime reminderLeaseUntil) {
+        this.reminderLeaseUntil = reminderLeaseUntil;
+    }
+
     public void setDescription(String description) {
         this.description = description;
     }
@@ -159,4 +210,12 @@ public class Task {
     public LocalDateTime getDeletedAt(){
         return deletedAt;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
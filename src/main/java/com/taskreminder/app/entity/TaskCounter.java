@@ -0,0 +1,61 @@
+package com.taskreminder.app.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A user's task counts, kept up to date by {@code TaskService} in the same transaction as each
+ * task write so that reading them is a primary key lookup. The time-dependent counts hold for
+ * {@code countedOn} only and are recounted once the day rolls over.
+ */
+@Entity
+@Table(name = "task_counter")
+public class TaskCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private Integer userId;
+
+    @Embedded
+    private TaskCounts counts = new TaskCounts();
+
+    @Column(nullable = false)
+    private LocalDate countedOn;
+
+    private LocalDateTime updatedAt;
+
+    public TaskCounter() {
+    }
+
+    public TaskCounter(Integer userId, TaskCounts counts, LocalDate countedOn) {
+        this.userId = userId;
+        this.counts = counts;
+        this.countedOn = countedOn;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public TaskCounts getCounts() {
+        return counts;
+    }
+
+    public LocalDate getCountedOn() {
+        return countedOn;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /** Replaces the counts with a fresh recount taken on {@code countedOn}. */
+    public void recounted(TaskCounts counts, LocalDate countedOn) {
+        this.counts = counts;
+        this.countedOn = countedOn;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
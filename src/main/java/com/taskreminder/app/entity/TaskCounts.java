@@ -0,0 +1,196 @@
+package com.taskreminder.app.entity;
+
+import com.taskreminder.app.dto.TaskCountView;
+import com.taskreminder.app.enums.TaskPriority;
+import com.taskreminder.app.enums.TaskStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The dashboard counts of one user's tasks. Every count but {@code trashed} covers tasks outside
+ * the trash only; {@code overdue} and {@code dueToday} cover open tasks and hold for one day.
+ */
+@Embeddable
+public class TaskCounts {
+
+    @Column(nullable = false)
+    private long total;
+    @Column(nullable = false)
+    private long pending;
+    @Column(nullable = false)
+    private long inProgress;
+    @Column(nullable = false)
+    private long completed;
+    @Column(nullable = false)
+    private long highPriority;
+    @Column(nullable = false)
+    private long mediumPriority;
+    @Column(nullable = false)
+    private long lowPriority;
+    @Column(nullable = false)
+    private long overdue;
+    @Column(nullable = false)
+    private long dueToday;
+    @Column(nullable = false)
+    private long trashed;
+
+    public TaskCounts() {
+    }
+
+    /** What a single task contributes to its owner's counts on {@code today}; nothing for null. */
+    public static TaskCounts of(Task task, LocalDate today) {
+        TaskCounts counts = new TaskCounts();
+        if (task == null) {
+            return counts;
+        }
+        if (task.isDeleted()) {
+            counts.trashed = 1;
+            return counts;
+        }
+        LocalDate due = task.getDueDate();
+        boolean open = task.getStatus() != TaskStatus.COMPLETED;
+        counts.add(task.getStatus(), task.getPriority(), 1,
+                open && due != null && due.isBefore(today) ? 1 : 0,
+                open && today.equals(due) ? 1 : 0);
+        return counts;
+    }
+
+    /** What {@code count} tasks in the trash contribute to their owner's counts. */
+    public static TaskCounts trashed(long count) {
+        TaskCounts counts = new TaskCounts();
+        counts.trashed = count;
+        return counts;
+    }
+
+    /** Folds the grouped rows of {@code TaskRepository.countByUsers} into counts per user. */
+    public static Map<Integer, TaskCounts> fold(List<TaskCountView> rows) {
+        Map<Integer, TaskCounts> byUser = new HashMap<>();
+        for (TaskCountView row : rows) {
+            TaskCounts counts = byUser.computeIfAbsent(row.getUserId(), id -> new TaskCounts());
+            if (Boolean.TRUE.equals(row.getDeleted())) {
+                counts.trashed += row.getTotal();
+            } else {
+                boolean open = row.getStatus() != TaskStatus.COMPLETED;
+                counts.add(row.getStatus(), row.getPriority(), row.getTotal(),
+                        open ? row.getOverdue() : 0, open ? row.getDueToday() : 0);
+            }
+        }
+        return byUser;
+    }
+
+    private void add(TaskStatus status, TaskPriority priority, long count, long overdue, long dueToday) {
+        total += count;
+        if (status == TaskStatus.PENDING) {
+            pending += count;
+        } else if (status == TaskStatus.IN_PROGRESS) {
+            inProgress += count;
+        } else if (status == TaskStatus.COMPLETED) {
+            completed += count;
+        }
+        if (priority == TaskPriority.HIGH) {
+            highPriority += count;
+        } else if (priority == TaskPriority.MEDIUM) {
+            mediumPriority += count;
+        } else if (priority == TaskPriority.LOW) {
+            lowPriority += count;
+        }
+        this.overdue += overdue;
+        this.dueToday += dueToday;
+    }
+
+    public TaskCounts plus(TaskCounts other) {
+        return combine(other, 1);
+    }
+
+    public TaskCounts minus(TaskCounts other) {
+        return combine(other, -1);
+    }
+
+    private TaskCounts combine(TaskCounts other, int sign) {
+        TaskCounts result = new TaskCounts();
+        result.total = total + sign * other.total;
+        result.pending = pending + sign * other.pending;
+        result.inProgress = inProgress + sign * other.inProgress;
+        result.completed = completed + sign * other.completed;
+        result.highPriority = highPriority + sign * other.highPriority;
+        result.mediumPriority = mediumPriority + sign * other.mediumPriority;
+        result.lowPriority = lowPriority + sign * other.lowPriority;
+        result.overdue = overdue + sign * other.overdue;
+        result.dueToday = dueToday + sign * other.dueToday;
+        result.trashed = trashed + sign * other.trashed;
+        return result;
+    }
+
+    public boolean isZero() {
+        return equals(new TaskCounts());
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getPending() {
+        return pending;
+    }
+
+    public long getInProgress() {
+        return inProgress;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public long getHighPriority() {
+        return highPriority;
+    }
+
+    public long getMediumPriority() {
+        return mediumPriority;
+    }
+
+    public long getLowPriority() {
+        return lowPriority;
+    }
+
+    public long getOverdue() {
+        return overdue;
+    }
+
+    public long getDueToday() {
+        return dueToday;
+    }
+
+    public long getTrashed() {
+        return trashed;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof TaskCounts other
+                && total == other.total && pending == other.pending && inProgress == other.inProgress
+                && completed == other.completed && highPriority == other.highPriority
+                && mediumPriority == other.mediumPriority && lowPriority == other.lowPriority
+                && overdue == other.overdue && dueToday == other.dueToday && trashed == other.trashed;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(total, pending, inProgress, completed, highPriority, mediumPriority, lowPriority,
+                overdue, dueToday, trashed);
+    }
+
+    @Override
+    public String toString() {
+        return "TaskCounts{total=" + total + ", pending=" + pending + ", inProgress=" + inProgress
+                + ", completed=" + completed + ", high=" + highPriority + ", medium=" + mediumPriority
+                + ", low=" + lowPriority + ", overdue=" + overdue + ", dueToday=" + dueToday
+                + ", trashed=" + trashed + "}";
+    }
+}
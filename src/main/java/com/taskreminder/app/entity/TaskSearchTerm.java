@@ -0,0 +1,104 @@
+package com.taskreminder.app.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * One posting of the task search index: the word {@code term} occurs in the task's title or
+ * description, with {@code weight} summing its occurrences. Prefix queries read a range of terms.
+ */
+@Entity
+@IdClass(TaskSearchTerm.Key.class)
+@Table(name = "task_search_term", indexes = {
+        @Index(name = "idx_search_user_term", columnList = "user_id, term, task_id")
+})
+public class TaskSearchTerm implements Persistable<TaskSearchTerm.Key> {
+
+    @Id
+    @Column(name = "task_id")
+    private Integer taskId;
+
+    // Compared byte for byte on MySQL; see SearchTermCollationInitializer.
+    @Id
+    @Column(length = 20)
+    private String term;
+
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    @Column(nullable = false)
+    private int weight;
+
+    // Postings are only ever inserted or bulk-deleted, so save() can skip the merge lookup.
+    @Transient
+    private boolean isNew = true;
+
+    public TaskSearchTerm() {
+    }
+
+    public TaskSearchTerm(Integer taskId, String term, Integer userId, int weight) {
+        this.taskId = taskId;
+        this.term = term;
+        this.userId = userId;
+        this.weight = weight;
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(taskId, term);
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+
+    public Integer getTaskId() {
+        return taskId;
+    }
+
+    public String getTerm() {
+        return term;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public static class Key implements Serializable {
+
+        private Integer taskId;
+        private String term;
+
+        public Key() {
+        }
+
+        public Key(Integer taskId, String term) {
+            this.taskId = taskId;
+            this.term = term;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && Objects.equals(taskId, other.taskId) && Objects.equals(term, other.term);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(taskId, term);
+        }
+    }
+}
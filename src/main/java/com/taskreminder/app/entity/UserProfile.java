@@ -0,0 +1,49 @@
+package com.taskreminder.app.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+/**
+ * The display part of a {@link User}, a read-only view of the same table, for the page header
+ * that every request renders.
+ * <p>
+ * Only this view is kept in the second-level cache. That cache is local to each node, so it
+ * must never hold credentials, OTP state or the verified flag, which {@code User} carries and
+ * which are always read from the database. {@code UserService} evicts the entry when it changes
+ * the name or picture; other nodes see the change once the region's TTL expires.
+ */
+@Entity
+@Immutable
+@Subselect("SELECT id, name, profile_image FROM user")
+@Synchronize("user")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "user-profile")
+public class UserProfile {
+
+    @Id
+    private Integer id;
+
+    private String name;
+
+    @Column(name = "profile_image")
+    private String profileImage;
+
+    protected UserProfile() {
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getProfileImage() {
+        return profileImage;
+    }
+}
@@ -0,0 +1,8 @@
+package com.taskreminder.app.enums;
+
+public enum EmailStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    DEAD
+}
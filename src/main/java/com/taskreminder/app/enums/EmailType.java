@@ -0,0 +1,8 @@
+package com.taskreminder.app.enums;
+
+public enum EmailType {
+    OTP,
+    TASK_REMINDER,
+    TASK_EXPORT,
+    DAILY_AGENDA
+}
@@ -0,0 +1,8 @@
+package com.taskreminder.app.enums;
+
+public enum ExportJobState {
+    QUEUED,
+    RUNNING,
+    DONE,
+    FAILED
+}
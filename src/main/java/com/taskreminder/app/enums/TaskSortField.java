@@ -0,0 +1,64 @@
+package com.taskreminder.app.enums;
+
+import com.taskreminder.app.entity.Task;
+
+import java.time.LocalDate;
+import java.util.function.Function;
+
+/**
+ * Columns the task list can be ordered by. Every ordering is completed with the task id, which
+ * makes it total and lets {@code (value, id)} identify a position for keyset pagination.
+ */
+public enum TaskSortField {
+    ID("id", Task::getId),
+    DUE_DATE("dueDate", Task::getDueDate),
+    PRIORITY("priority", Task::getPriority),
+    CREATED_AT("createdAt", Task::getCreatedAt),
+    TITLE("title", Task::getTitle);
+
+    private final String property;
+    private final Function<Task, Object> accessor;
+
+    TaskSortField(String property, Function<Task, Object> accessor) {
+        this.property = property;
+        this.accessor = accessor;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    /** Resolves the {@code sort} request parameter; anything unrecognised falls back to {@link #ID}. */
+    public static TaskSortField fromProperty(String property) {
+        for (TaskSortField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        return ID;
+    }
+
+    public Object valueOf(Task task) {
+        return accessor.apply(task);
+    }
+
+    /** Parses a value written by {@link #format}. */
+    public Object parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        return switch (this) {
+            case ID -> Integer.valueOf(value);
+            case DUE_DATE, CREATED_AT -> LocalDate.parse(value);
+            case PRIORITY -> TaskPriority.valueOf(value);
+            case TITLE -> value;
+        };
+    }
+
+    public String format(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return value instanceof Enum<?> e ? e.name() : value.toString();
+    }
+}
@@ -0,0 +1,18 @@
+package com.taskreminder.app.repository;
+
+import com.taskreminder.app.entity.AgendaRun;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface AgendaRunRepository extends JpaRepository<AgendaRun, LocalDate> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM AgendaRun r WHERE r.runDate = :runDate")
+    Optional<AgendaRun> lockByRunDate(@Param("runDate") LocalDate runDate);
+}
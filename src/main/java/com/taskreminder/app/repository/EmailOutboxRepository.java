@@ -0,0 +1,73 @@
+package com.taskreminder.app.repository;
+
+import com.taskreminder.app.entity.EmailOutbox;
+import com.taskreminder.app.enums.EmailStatus;
+import com.taskreminder.app.enums.EmailType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    @Query(value = "SELECT id FROM email_outbox " +
+            "WHERE (status = 'PENDING' AND next_attempt_at <= :now) " +
+            "OR (status = 'SENDING' AND lease_until < :now) " +
+            "ORDER BY next_attempt_at, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockDueIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = com.taskreminder.app.enums.EmailStatus.SENDING, " +
+            "e.claimedBy = :nodeId, e.leaseUntil = :leaseUntil WHERE e.id IN :ids")
+    int claim(@Param("ids") List<Long> ids,
+              @Param("nodeId") String nodeId,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = com.taskreminder.app.enums.EmailStatus.SENT, e.sentAt = :sentAt, " +
+            "e.attempts = e.attempts + 1, e.claimedBy = null, e.leaseUntil = null " +
+            "WHERE e.id = :id AND e.claimedBy = :nodeId")
+    int markSent(@Param("id") Long id, @Param("nodeId") String nodeId, @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = :status, e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt, " +
+            "e.lastError = :lastError, e.claimedBy = null, e.leaseUntil = null " +
+            "WHERE e.id = :id AND e.claimedBy = :nodeId")
+    int markFailed(@Param("id") Long id,
+                   @Param("nodeId") String nodeId,
+                   @Param("status") EmailStatus status,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("lastError") String lastError);
+
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = com.taskreminder.app.enums.EmailStatus.PENDING, " +
+            "e.claimedBy = null, e.leaseUntil = null WHERE e.id = :id AND e.claimedBy = :nodeId")
+    int release(@Param("id") Long id, @Param("nodeId") String nodeId);
+
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.body = '' WHERE e.id = :id")
+    int clearBody(@Param("id") Long id);
+
+    /** Sent and dead-lettered messages created before {@code cutoff}, oldest first. */
+    @Query("SELECT e.id FROM EmailOutbox e WHERE e.status IN (com.taskreminder.app.enums.EmailStatus.SENT, " +
+            "com.taskreminder.app.enums.EmailStatus.DEAD) AND e.createdAt < :cutoff ORDER BY e.createdAt, e.id")
+    List<Long> findFinishedIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM EmailOutbox e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    long countByStatus(EmailStatus status);
+
+    @Query("SELECT e.status FROM EmailOutbox e WHERE e.type = :type AND e.recipient = :recipient ORDER BY e.id DESC")
+    List<EmailStatus> findLatestStatus(@Param("type") EmailType type,
+                                       @Param("recipient") String recipient,
+                                       Pageable pageable);
+}
@@ -0,0 +1,25 @@
+package com.taskreminder.app.repository;
+
+import com.taskreminder.app.entity.ExportJob;
+import com.taskreminder.app.enums.ExportJobState;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ExportJobRepository extends JpaRepository<ExportJob, Long> {
+
+    Optional<ExportJob> findByIdAndUserId(Long id, Integer userId);
+
+    List<ExportJob> findByOwnerNodeAndStateIn(String ownerNode, Collection<ExportJobState> states);
+
+    @Query("SELECT j FROM ExportJob j WHERE j.expiresAt < :now ORDER BY j.expiresAt")
+    List<ExportJob> findExpired(@Param("now") LocalDateTime now, Pageable pageable);
+}
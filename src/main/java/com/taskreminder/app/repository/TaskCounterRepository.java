@@ -0,0 +1,57 @@
+package com.taskreminder.app.repository;
+
+import com.taskreminder.app.entity.TaskCounter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskCounterRepository extends JpaRepository<TaskCounter, Integer> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM TaskCounter c WHERE c.userId IN :userIds")
+    List<TaskCounter> lockByUserIds(@Param("userIds") Collection<Integer> userIds);
+
+    @Query("SELECT c.userId FROM TaskCounter c WHERE c.userId > :afterId ORDER BY c.userId")
+    List<Integer> findUserIdsAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+    @Query("SELECT c.userId FROM TaskCounter c WHERE c.countedOn < :today AND c.userId > :afterId ORDER BY c.userId")
+    List<Integer> findUserIdsCountedBefore(@Param("today") LocalDate today,
+                                           @Param("afterId") Integer afterId,
+                                           Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE TaskCounter c SET c.counts.total = c.counts.total + :total, " +
+            "c.counts.pending = c.counts.pending + :pending, " +
+            "c.counts.inProgress = c.counts.inProgress + :inProgress, " +
+            "c.counts.completed = c.counts.completed + :completed, " +
+            "c.counts.highPriority = c.counts.highPriority + :highPriority, " +
+            "c.counts.mediumPriority = c.counts.mediumPriority + :mediumPriority, " +
+            "c.counts.lowPriority = c.counts.lowPriority + :lowPriority, " +
+            "c.counts.overdue = c.counts.overdue + :overdue, " +
+            "c.counts.dueToday = c.counts.dueToday + :dueToday, " +
+            "c.counts.trashed = c.counts.trashed + :trashed, " +
+            "c.updatedAt = :now WHERE c.userId = :userId")
+    int increment(@Param("userId") Integer userId,
+                  @Param("total") long total,
+                  @Param("pending") long pending,
+                  @Param("inProgress") long inProgress,
+                  @Param("completed") long completed,
+                  @Param("highPriority") long highPriority,
+                  @Param("mediumPriority") long mediumPriority,
+                  @Param("lowPriority") long lowPriority,
+                  @Param("overdue") long overdue,
+                  @Param("dueToday") long dueToday,
+                  @Param("trashed") long trashed,
+                  @Param("now") LocalDateTime now);
+}
@@ -1,22 +1,34 @@
 package com.taskreminder.app.repository;
 
+import com.taskreminder.app.dto.AgendaTaskView;
+import com.taskreminder.app.dto.ReminderMailView;
+import com.taskreminder.app.dto.ReminderScheduleView;
+import com.taskreminder.app.dto.TaskCountView;
+import com.taskreminder.app.dto.TaskSearchSource;
+import com.taskreminder.app.dto.TaskSummary;
+import com.taskreminder.app.dto.TrashedTaskView;
 import com.taskreminder.app.entity.Task;
 import com.taskreminder.app.enums.TaskPriority;
 import com.taskreminder.app.enums.TaskStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Integer> {
+public interface TaskRepository extends JpaRepository<Task, Integer>, JpaSpecificationExecutor<Task> {
 
     List<Task> findByUser_Id(Integer userId);
     Page<Task> findByUser_IdAndStatus(Integer userId, TaskStatus status, Pageable pageable);
@@ -46,10 +58,110 @@ public interface TaskRepository extends JpaRepository<Task, Integer> {
             TaskStatus status
     );
 
-    @Query("SELECT t FROM Task t WHERE t.reminderSent = false AND t.reminderTime IS NOT NULL AND t.reminderTime <= :now")
-    List<Task> findTasksForReminder(@Param("now") LocalDateTime now);
+    @Query(value = "SELECT Task_id FROM task " +
+            "WHERE reminder_sent = false AND deleted = false AND status <> 'COMPLETED' " +
+            "AND reminder_time IS NOT NULL AND reminder_time <= :now " +
+            "AND (reminder_lease_until IS NULL OR reminder_lease_until < :now) " +
+            "ORDER BY reminder_time, Task_id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Integer> lockClaimableReminderIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Query(value = "SELECT Task_id FROM task " +
+            "WHERE Task_id IN (:ids) AND reminder_sent = false AND deleted = false AND status <> 'COMPLETED' " +
+            "AND reminder_time IS NOT NULL AND reminder_time <= :now " +
+            "AND (reminder_lease_until IS NULL OR reminder_lease_until < :now) " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Integer> lockClaimableReminderIds(@Param("ids") List<Integer> ids, @Param("now") LocalDateTime now);
+
+    @Query("SELECT t.id AS id, t.title AS title, t.description AS description, t.dueDate AS dueDate, " +
+            "u.id AS userId, u.name AS userName, u.email AS userEmail FROM Task t JOIN t.user u " +
+            "WHERE t.id IN :ids ORDER BY t.reminderTime, t.id")
+    List<ReminderMailView> findReminderMailViews(@Param("ids") List<Integer> ids);
+
+    /** Due-today and overdue open tasks for a partition of users, the set-based form of the dashboard lists. */
+    @Query("SELECT u.id AS userId, u.name AS userName, u.email AS userEmail, t.title AS title, " +
+            "t.dueDate AS dueDate, t.priority AS priority FROM Task t JOIN t.user u " +
+            "WHERE u.id IN :userIds AND t.deleted = false " +
+            "AND t.status <> com.taskreminder.app.enums.TaskStatus.COMPLETED AND t.dueDate <= :today " +
+            "ORDER BY u.id, t.dueDate, t.id")
+    List<AgendaTaskView> findAgendaTasks(@Param("userIds") List<Integer> userIds, @Param("today") LocalDate today);
+
+    /** Task counts of a partition of users, one row per user, trash flag, status and priority. */
+    @Query("SELECT t.user.id AS userId, t.deleted AS deleted, t.status AS status, t.priority AS priority, " +
+            "COUNT(t) AS total, " +
+            "SUM(CASE WHEN t.dueDate < :today THEN 1 ELSE 0 END) AS overdue, " +
+            "SUM(CASE WHEN t.dueDate = :today THEN 1 ELSE 0 END) AS dueToday " +
+            "FROM Task t WHERE t.user.id IN :userIds GROUP BY t.user.id, t.deleted, t.status, t.priority")
+    List<TaskCountView> countByUsers(@Param("userIds") Collection<Integer> userIds, @Param("today") LocalDate today);
+
+    @Query("SELECT t.id AS id, t.reminderTime AS reminderTime FROM Task t " +
+            "WHERE t.reminderSent = false AND t.deleted = false " +
+            "AND t.status <> com.taskreminder.app.enums.TaskStatus.COMPLETED " +
+            "AND t.reminderTime >= :from AND t.reminderTime < :to AND t.id > :afterId ORDER BY t.id")
+    List<ReminderScheduleView> findReminderSchedule(@Param("from") LocalDateTime from,
+                                                    @Param("to") LocalDateTime to,
+                                                    @Param("afterId") Integer afterId,
+                                                    Pageable pageable);
+
+    @Query("SELECT t.id AS id, t.user.id AS userId, t.title AS title, t.description AS description " +
+            "FROM Task t WHERE t.id > :afterId ORDER BY t.id")
+    List<TaskSearchSource> findSearchSources(@Param("afterId") Integer afterId, Pageable pageable);
+
+    @Query("SELECT t.id AS id, t.user.id AS userId, t.title AS title, t.description AS description " +
+            "FROM Task t WHERE t.user.id = :userId AND t.id > :afterId ORDER BY t.id")
+    List<TaskSearchSource> findSearchSourcesForUser(@Param("userId") Integer userId,
+                                                    @Param("afterId") Integer afterId,
+                                                    Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.reminderClaimedBy = :nodeId, t.reminderLeaseUntil = :leaseUntil, " +
+            "t.version = t.version + 1 WHERE t.id IN :ids")
+    int claimReminders(@Param("ids") List<Integer> ids,
+                       @Param("nodeId") String nodeId,
+                       @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Query(value = "SELECT Task_id FROM task " +
+            "WHERE user_id IN (:userIds) AND reminder_sent = false AND deleted = false AND status <> 'COMPLETED' " +
+            "AND reminder_time IS NOT NULL AND reminder_time <= :until " +
+            "AND (reminder_lease_until IS NULL OR reminder_lease_until < :now) " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Integer> lockUpcomingReminderIds(@Param("userIds") Collection<Integer> userIds,
+                                          @Param("now") LocalDateTime now,
+                                          @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.reminderSent = true, t.version = t.version + 1 WHERE t.id IN :ids")
+    int markRemindersSent(@Param("ids") List<Integer> ids);
+
+    @Query(value = "SELECT Task_id FROM task WHERE Task_id IN (:ids) AND reminder_claimed_by = :nodeId FOR UPDATE",
+            nativeQuery = true)
+    List<Integer> lockClaimedReminderIds(@Param("ids") List<Integer> ids, @Param("nodeId") String nodeId);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.reminderSent = true, t.reminderClaimedBy = null, t.reminderLeaseUntil = null, " +
+            "t.version = t.version + 1 " +
+            "WHERE t.id IN :ids AND t.reminderClaimedBy = :nodeId")
+    int completeClaimedReminders(@Param("ids") List<Integer> ids, @Param("nodeId") String nodeId);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.reminderClaimedBy = null, t.reminderLeaseUntil = null, t.version = t.version + 1 " +
+            "WHERE t.id IN :ids AND t.reminderClaimedBy = :nodeId")
+    int releaseClaimedReminders(@Param("ids") List<Integer> ids, @Param("nodeId") String nodeId);
+
+    /** The oldest trash first, locked so that a restore waits for the purge instead of racing it. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id AS id, t.user.id AS userId FROM Task t " +
+            "WHERE t.deleted = true AND t.deletedAt < :cutoff ORDER BY t.deletedAt, t.id")
+    List<TrashedTaskView> lockTrashedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Integer> ids);
+
+    /** One statement however large the trash is; the row locks it takes make a racing restore wait. */
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.user.id = :userId AND t.deleted = true")
+    int deleteTrashedByUserId(@Param("userId") Integer userId);
 
-    List<Task> findByUser_IdAndDeletedTrue(Integer userId);
     List<Task> findByUser_IdAndDeletedFalse(Integer userId);
 
     Page<Task> findByUser_IdAndDeletedFalse(Integer userId, Pageable pageable);
@@ -68,20 +180,37 @@ public interface TaskRepository extends JpaRepository<Task, Integer> {
 
     Page<Task> findByUser_IdAndDeletedFalseAndStatusAndPriorityAndTitleContainingIgnoreCase(Integer userId, TaskStatus status, TaskPriority priority, String keyword, Pageable pageable);
 
-    List<Task> findByUser_IdAndDeletedFalseAndDueDateAndStatusNot(Integer userId, LocalDate dueDate, TaskStatus status);
+    long countByUser_IdAndDeletedFalseAndDueDateBetweenAndStatusNot(Integer userId, LocalDate start, LocalDate end, TaskStatus status);
 
-    List<Task> findByUser_IdAndDeletedFalseAndDueDateBetweenAndStatusNot(Integer userId, LocalDate start, LocalDate end, TaskStatus status);
+    Optional<Task> findByIdAndUserIdAndDeletedTrue(Integer id, Integer userId);
 
-    List<Task> findByUser_IdAndDeletedFalseAndDueDateBeforeAndStatusNot(Integer userId, LocalDate date, TaskStatus status);
+    List<Task> findByUser_IdAndIdIn(Integer userId, Collection<Integer> ids);
 
-    List<Task> findByUser_IdAndDeletedFalseAndStatus(Integer userId, TaskStatus status);
+    /** The user's tasks as {@link TaskSummary} rows, like the other list reads below: no owner, nothing managed. */
+    List<TaskSummary> findSummariesByUser_IdAndDeletedFalse(Integer userId);
 
-    Optional<Task> findByIdAndUserIdAndDeletedTrue(Integer id, Integer userId);
+    List<TaskSummary> findSummariesByUser_IdAndDeletedTrue(Integer userId);
+
+    List<TaskSummary> findSummariesByUser_IdAndDeletedFalseOrderByCreatedAtDescIdDesc(Integer userId, Pageable pageable);
+
+    List<TaskSummary> findSummariesByUser_IdAndDeletedFalseAndIdGreaterThanOrderById(Integer userId, Integer afterId, Pageable pageable);
+
+    List<TaskSummary> findSummariesByUser_IdAndDeletedFalseAndStatus(Integer userId, TaskStatus status);
+
+    List<TaskSummary> findSummariesByUser_IdAndDeletedFalseAndStatus(Integer userId, TaskStatus status, Pageable pageable);
+
+    List<TaskSummary> findSummariesByUser_IdAndDeletedFalseAndPriority(Integer userId, TaskPriority priority, Pageable pageable);
+
+    List<TaskSummary> findSummariesByUser_IdAndDeletedFalseAndDueDateAndStatusNot(Integer userId, LocalDate dueDate, TaskStatus status);
+
+    List<TaskSummary> findSummariesByUser_IdAndDeletedFalseAndDueDateBetweenAndStatusNot(Integer userId, LocalDate start, LocalDate end, TaskStatus status);
+
+    List<TaskSummary> findSummariesByUser_IdAndDeletedFalseAndDueDateBeforeAndStatusNot(Integer userId, LocalDate date, TaskStatus status);
+
+    List<TaskSummary> findSummariesByUser_IdAndDeletedFalseAndIdIn(Integer userId, Collection<Integer> ids);
 
-    @Query("SELECT t FROM Task t WHERE t.user.id = :userId AND t.deleted = false AND t.reminderSent = false AND t.reminderTime BETWEEN :now AND :future")
-    List<Task> findUpcomingRemindersForUser(@Param("userId") Integer userId,
-                                            @Param("now") LocalDateTime now,
-                                            @Param("future") LocalDateTime future);
+    List<TaskSummary> findSummariesByUser_IdAndDeletedFalseAndReminderSentFalseAndReminderTimeBetween(
+            Integer userId, LocalDateTime from, LocalDateTime to);
 
     @Query("SELECT t FROM Task t WHERE t.id = :taskId AND t.user.id = :userId")
     Optional<Task> findByIdAndUserIdIncludingDeleted(@Param("taskId") Integer taskId, @Param("userId") Integer userId);
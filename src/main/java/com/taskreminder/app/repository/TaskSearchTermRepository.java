@@ -0,0 +1,43 @@
+package com.taskreminder.app.repository;
+
+import com.taskreminder.app.dto.SearchPostingView;
+import com.taskreminder.app.entity.TaskSearchTerm;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskSearchTermRepository extends JpaRepository<TaskSearchTerm, TaskSearchTerm.Key> {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TaskSearchTerm s WHERE s.taskId IN :taskIds")
+    int deleteByTaskIds(@Param("taskIds") Collection<Integer> taskIds);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TaskSearchTerm s WHERE s.userId = :userId")
+    int deleteByUserId(@Param("userId") Integer userId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TaskSearchTerm s WHERE s.userId = :userId " +
+            "AND NOT EXISTS (SELECT t.id FROM Task t WHERE t.id = s.taskId)")
+    int deleteOrphansByUserId(@Param("userId") Integer userId);
+
+    @Query("SELECT s.taskId FROM TaskSearchTerm s")
+    List<Integer> findAnyTaskIds(Pageable pageable);
+
+    @Query("SELECT s.taskId AS taskId, s.term AS term, s.weight AS weight FROM TaskSearchTerm s " +
+            "WHERE s.userId = :userId AND s.term LIKE :pattern ESCAPE '" + TaskSpecifications.LIKE_ESCAPE + "'")
+    List<SearchPostingView> findPostings(@Param("userId") Integer userId,
+                                         @Param("pattern") String pattern,
+                                         Pageable pageable);
+}
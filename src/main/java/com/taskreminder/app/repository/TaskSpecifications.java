@@ -0,0 +1,213 @@
+package com.taskreminder.app.repository;
+
+import com.taskreminder.app.dto.SearchHits;
+import com.taskreminder.app.dto.TaskFilter;
+import com.taskreminder.app.entity.Task;
+import com.taskreminder.app.entity.TaskSearchTerm;
+import com.taskreminder.app.enums.TaskPriority;
+import com.taskreminder.app.enums.TaskSortField;
+import com.taskreminder.app.enums.TaskStatus;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Composable criteria for task queries.
+ * <p>
+ * {@link #matching} combines only the filters that are set into a single WHERE clause, so every
+ * combination runs as one statement instead of needing its own derived repository method. Values
+ * are always bound as parameters, which keeps the SQL text identical for a given combination and
+ * lets Hibernate's criteria plan cache and the driver's statement cache reuse it.
+ */
+public final class TaskSpecifications {
+
+    // Not a backslash, which MySQL would also read as an escape inside the string literal.
+    public static final char LIKE_ESCAPE = '!';
+
+    private TaskSpecifications() {
+    }
+
+    /** A user's non-deleted tasks restricted by every filter that is set. */
+    public static Specification<Task> matching(Integer userId, TaskFilter filter) {
+        return matching(userId, filter, null);
+    }
+
+    /**
+     * As {@link #matching(Integer, TaskFilter)}, but with the keyword already looked up in the
+     * search index as {@code hits}. A null {@code hits} falls back to a title LIKE on the keyword.
+     */
+    public static Specification<Task> matching(Integer userId, TaskFilter filter, SearchHits hits) {
+        List<Specification<Task>> specs = new ArrayList<>();
+        specs.add(ownedBy(userId));
+        specs.add(notDeleted());
+        if (filter.getStatus() != null) {
+            specs.add(hasStatus(filter.getStatus()));
+        }
+        if (filter.getPriority() != null) {
+            specs.add(hasPriority(filter.getPriority()));
+        }
+        if (hits != null) {
+            specs.add(hits.isOverflow() ? containsAllTerms(userId, hits.getTerms()) : idIn(hits.getScores().keySet()));
+        } else if (filter.getKeyword() != null && !filter.getKeyword().isBlank()) {
+            specs.add(titleContains(filter.getKeyword()));
+        }
+        if (filter.getDueFrom() != null || filter.getDueTo() != null) {
+            specs.add(dueBetween(filter.getDueFrom(), filter.getDueTo()));
+        }
+        if (filter.getHasReminder() != null) {
+            specs.add(hasReminder(filter.getHasReminder()));
+        }
+        if (filter.getCompletedFrom() != null || filter.getCompletedTo() != null) {
+            specs.add(completedBetween(filter.getCompletedFrom(), filter.getCompletedTo()));
+        }
+        return Specification.allOf(specs);
+    }
+
+    public static Specification<Task> ownedBy(Integer userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    public static Specification<Task> notDeleted() {
+        return (root, query, cb) -> cb.isFalse(root.get("deleted"));
+    }
+
+    public static Specification<Task> hasStatus(TaskStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Task> hasPriority(TaskPriority priority) {
+        return (root, query, cb) -> cb.equal(root.get("priority"), priority);
+    }
+
+    /**
+     * Case-insensitive substring match on the title, with LIKE wildcards in the keyword taken literally.
+     * The pattern is upper-cased here and bound as a parameter, never inlined into the SQL.
+     */
+    public static Specification<Task> titleContains(String keyword) {
+        String pattern = "%" + escapeLike(keyword).toUpperCase(Locale.ROOT) + "%";
+        return (root, query, cb) -> cb.like(cb.upper(root.get("title")), pattern, LIKE_ESCAPE);
+    }
+
+    public static Specification<Task> idIn(Collection<Integer> ids) {
+        return (root, query, cb) -> ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids);
+    }
+
+    /** Tasks with an indexed word starting with each of {@code terms}, evaluated as subqueries. */
+    public static Specification<Task> containsAllTerms(Integer userId, List<String> terms) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            for (String term : terms) {
+                Subquery<Integer> hits = query.subquery(Integer.class);
+                Root<TaskSearchTerm> posting = hits.from(TaskSearchTerm.class);
+                hits.select(posting.get("taskId"))
+                        .where(cb.equal(posting.get("userId"), userId), startsWith(cb, posting.get("term"), term));
+                predicates.add(root.get("id").in(hits));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Orders results by search relevance, best first. Only applies when the caller asked for no
+     * other sort, and leaves the count query of a paged read alone.
+     */
+    public static Specification<Task> rankedBy(List<String> terms) {
+        return (root, query, cb) -> {
+            if (!Long.class.equals(query.getResultType())) {
+                Subquery<Integer> score = query.subquery(Integer.class);
+                Root<TaskSearchTerm> posting = score.from(TaskSearchTerm.class);
+                Path<Integer> weight = posting.get("weight");
+                Predicate[] prefixes = terms.stream()
+                        .map(term -> startsWith(cb, posting.get("term"), term))
+                        .toArray(Predicate[]::new);
+                score.select(cb.sum(cb.<Integer>selectCase()
+                                .when(posting.get("term").in(terms), cb.prod(weight, 2))
+                                .otherwise(weight)))
+                        .where(cb.equal(posting.get("taskId"), root.get("id")), cb.or(prefixes));
+                query.orderBy(cb.desc(score), cb.asc(root.get("id")));
+            }
+            return cb.conjunction();
+        };
+    }
+
+    /**
+     * {@code path} starts with {@code prefix}, written as {@code LIKE 'prefix%'} rather than a
+     * {@code >= prefix AND < successor} range, which only holds under binary ordering. Without a
+     * leading wildcard the database still reads it as an index range scan.
+     */
+    private static Predicate startsWith(CriteriaBuilder cb, Path<String> path, String prefix) {
+        return cb.like(path, startsWithPattern(prefix), LIKE_ESCAPE);
+    }
+
+    /** A {@code LIKE} pattern, escaped with {@link #LIKE_ESCAPE}, matching strings that start with {@code prefix}. */
+    public static String startsWithPattern(String prefix) {
+        return escapeLike(prefix) + "%";
+    }
+
+    public static Specification<Task> dueBetween(LocalDate from, LocalDate to) {
+        return (root, query, cb) -> between(cb, root.get("dueDate"), from, to);
+    }
+
+    public static Specification<Task> hasReminder(boolean hasReminder) {
+        return (root, query, cb) -> hasReminder
+                ? cb.isNotNull(root.get("reminderTime"))
+                : cb.isNull(root.get("reminderTime"));
+    }
+
+    public static Specification<Task> completedBetween(LocalDate from, LocalDate to) {
+        return (root, query, cb) -> between(cb, root.get("completedAt"), from, to);
+    }
+
+    /**
+     * Rows strictly after {@code (value, id)} in the order {@code field, id}, both ascending or both
+     * descending. Relies on NULLs sorting low, as they do in MySQL and H2: first when ascending and
+     * last when descending.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Task> after(TaskSortField field, Object value, Integer id, boolean descending) {
+        return (root, query, cb) -> {
+            Path<Integer> idPath = root.get("id");
+            Predicate idAfter = descending ? cb.lessThan(idPath, id) : cb.greaterThan(idPath, id);
+            if (field == TaskSortField.ID) {
+                return idAfter;
+            }
+            Path<Comparable> key = root.get(field.getProperty());
+            if (value == null) {
+                Predicate sameKey = cb.and(cb.isNull(key), idAfter);
+                return descending ? sameKey : cb.or(sameKey, cb.isNotNull(key));
+            }
+            Comparable bound = (Comparable) value;
+            Predicate keyAfter = descending ? cb.lessThan(key, bound) : cb.greaterThan(key, bound);
+            Predicate sameKey = cb.and(cb.equal(key, bound), idAfter);
+            return descending ? cb.or(keyAfter, sameKey, cb.isNull(key)) : cb.or(keyAfter, sameKey);
+        };
+    }
+
+    private static Predicate between(CriteriaBuilder cb, Path<LocalDate> path, LocalDate from, LocalDate to) {
+        if (from != null && to != null) {
+            return cb.between(path, from, to);
+        }
+        return from != null ? cb.greaterThanOrEqualTo(path, from) : cb.lessThanOrEqualTo(path, to);
+    }
+
+    static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 4);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
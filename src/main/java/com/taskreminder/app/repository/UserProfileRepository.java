@@ -0,0 +1,7 @@
+package com.taskreminder.app.repository;
+
+import com.taskreminder.app.entity.UserProfile;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface UserProfileRepository extends JpaRepository<UserProfile, Integer> {
+}
@@ -1,10 +1,12 @@
 package com.taskreminder.app.repository;
 
 import com.taskreminder.app.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User,Integer> {
@@ -13,4 +15,7 @@ public interface UserRepository extends JpaRepository<User,Integer> {
     @Query("SELECT u.email FROM User u WHERE u.id = :userId")
     Optional<String> findEmailByUserId(@Param("userId") Integer userId);
 
+    @Query("SELECT u.id FROM User u WHERE u.verified = true AND u.id > :afterId ORDER BY u.id")
+    List<Integer> findVerifiedUserIdsAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
 }
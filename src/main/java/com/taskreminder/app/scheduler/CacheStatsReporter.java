@@ -0,0 +1,53 @@
+package com.taskreminder.app.scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Hit, miss and eviction counts of the second-level cache regions.
+ * <p>
+ * The regions publish the standard JCache {@code CacheStatistics} MBeans (see
+ * {@code application.conf}), so any JMX console can read them live. This logs the same figures
+ * every {@code stats-log-ms} for deployments without one.
+ */
+@Component
+public class CacheStatsReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheStatsReporter.class);
+
+    @Scheduled(fixedDelayString = "${app.cache.stats-log-ms:600000}",
+            initialDelayString = "${app.cache.stats-log-ms:600000}")
+    public void report() {
+        snapshot().forEach((cache, stats) -> log.info("Cache {}: {} hits, {} misses, {} puts, {} evictions, {}% hit rate",
+                cache, stats.get("CacheHits"), stats.get("CacheMisses"), stats.get("CachePuts"),
+                stats.get("CacheEvictions"), Math.round(stats.get("CacheHitPercentage").floatValue())));
+    }
+
+    /** Statistics of each cache region, by region name. */
+    public Map<String, Map<String, Number>> snapshot() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        Map<String, Map<String, Number>> regions = new TreeMap<>();
+        try {
+            for (ObjectName name : server.queryNames(new ObjectName("javax.cache:type=CacheStatistics,*"), null)) {
+                Map<String, Number> stats = new TreeMap<>();
+                for (String attribute : new String[]{"CacheHits", "CacheMisses", "CachePuts", "CacheEvictions",
+                        "CacheRemovals", "CacheHitPercentage"}) {
+                    stats.put(attribute, (Number) server.getAttribute(name, attribute));
+                }
+                regions.put(name.getKeyProperty("Cache"), stats);
+            }
+        } catch (JMException e) {
+            log.warn("Could not read cache statistics", e);
+        }
+        return regions;
+    }
+}
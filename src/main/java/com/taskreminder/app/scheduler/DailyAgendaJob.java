@@ -0,0 +1,148 @@
+package com.taskreminder.app.scheduler;
+
+import com.taskreminder.app.dto.AgendaEmail;
+import com.taskreminder.app.dto.AgendaTaskView;
+import com.taskreminder.app.entity.AgendaRun;
+import com.taskreminder.app.repository.TaskRepository;
+import com.taskreminder.app.repository.UserRepository;
+import com.taskreminder.app.service.AgendaService;
+import com.taskreminder.app.service.EmailService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends every verified user with open work a "today's tasks" email each morning.
+ * <p>
+ * Users are walked in id order in partitions of {@code partition-size}. Each partition costs one
+ * id query and one task query covering due-today and overdue tasks for all of its users; the
+ * emails are rendered on a bounded pool and committed to the outbox together with the run's
+ * checkpoint (see {@link AgendaService}). The job polls rather than firing once on a cron, so a
+ * run cut short by a restart is picked up again on the next poll.
+ */
+@Component
+public class DailyAgendaJob {
+
+    private static final Logger log = LoggerFactory.getLogger(DailyAgendaJob.class);
+
+    @Autowired
+    private AgendaService agendaService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Value("${app.agenda.node-id:#{T(java.util.UUID).randomUUID().toString()}}")
+    private String nodeId;
+
+    @Value("${app.agenda.send-at:07:00}")
+    private LocalTime sendAt;
+
+    @Value("${app.agenda.partition-size:500}")
+    private int partitionSize;
+
+    @Value("${app.agenda.render-threads:4}")
+    private int renderThreads;
+
+    @Value("${app.agenda.lease-seconds:600}")
+    private long leaseSeconds;
+
+    private ThreadPoolExecutor renderer;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        // Full queue means rendering runs on the job thread, which throttles the partition loop.
+        renderer = new ThreadPoolExecutor(
+                renderThreads, renderThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(renderThreads * 4),
+                r -> {
+                    Thread t = new Thread(r, "agenda-render-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void stop() {
+        renderer.shutdownNow();
+    }
+
+    @Scheduled(fixedDelayString = "${app.agenda.poll-ms:300000}",
+            initialDelayString = "${app.agenda.initial-delay-ms:60000}")
+    public void poll() {
+        if (LocalTime.now().isBefore(sendAt)) {
+            return;
+        }
+        run(LocalDate.now());
+    }
+
+    public void run(LocalDate today) {
+        Duration lease = Duration.ofSeconds(leaseSeconds);
+        Optional<Integer> resumeAfter = agendaService.acquire(today, nodeId, lease);
+        if (resumeAfter.isEmpty()) {
+            return;
+        }
+
+        int afterId = resumeAfter.get();
+        if (afterId > 0) {
+            log.info("Resuming agenda run for {} after user {}", today, afterId);
+        }
+        while (true) {
+            List<Integer> userIds = userRepository.findVerifiedUserIdsAfter(afterId, PageRequest.of(0, partitionSize));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            int lastUserId = userIds.get(userIds.size() - 1);
+            List<AgendaEmail> emails = render(taskRepository.findAgendaTasks(userIds, today), today);
+            agendaService.commitPartition(today, nodeId, lastUserId, emails, lease);
+            afterId = lastUserId;
+        }
+
+        AgendaRun run = agendaService.complete(today, nodeId);
+        log.info("Agenda run for {} finished, {} emails queued", today, run.getEmailsQueued());
+    }
+
+    private List<AgendaEmail> render(List<AgendaTaskView> tasks, LocalDate today) {
+        Map<Integer, List<AgendaTaskView>> byUser = new LinkedHashMap<>();
+        for (AgendaTaskView task : tasks) {
+            byUser.computeIfAbsent(task.getUserId(), id -> new ArrayList<>()).add(task);
+        }
+
+        List<Future<AgendaEmail>> futures = new ArrayList<>(byUser.size());
+        for (List<AgendaTaskView> userTasks : byUser.values()) {
+            futures.add(renderer.submit(() -> emailService.renderDailyAgenda(userTasks, today)));
+        }
+        List<AgendaEmail> emails = new ArrayList<>(futures.size());
+        try {
+            for (Future<AgendaEmail> future : futures) {
+                emails.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Agenda rendering interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Agenda rendering failed", e.getCause());
+        }
+        return emails;
+    }
+}
@@ -0,0 +1,105 @@
+package com.taskreminder.app.scheduler;
+
+import com.taskreminder.app.entity.EmailOutbox;
+import com.taskreminder.app.enums.EmailStatus;
+import com.taskreminder.app.service.EmailOutboxService;
+import com.taskreminder.app.service.EmailService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the email outbox on a bounded worker pool, separate from request and scheduler threads.
+ * Each poll claims no more rows than there are free worker slots, so a slow SMTP server backs
+ * work up in the table rather than in memory.
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Value("${app.mail.outbox.node-id:#{T(java.util.UUID).randomUUID().toString()}}")
+    private String nodeId;
+
+    @Value("${app.mail.outbox.workers:4}")
+    private int workers;
+
+    @Value("${app.mail.outbox.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${app.mail.outbox.lease-seconds:300}")
+    private long leaseSeconds;
+
+    private ThreadPoolExecutor executor;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "mail-worker-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-ms:2000}")
+    public void poll() {
+        int capacity = workers + queueCapacity - inFlight.get();
+        List<EmailOutbox> batch = emailOutboxService.claimBatch(
+                nodeId, LocalDateTime.now(), capacity, Duration.ofSeconds(leaseSeconds));
+
+        for (EmailOutbox message : batch) {
+            inFlight.incrementAndGet();
+            try {
+                executor.execute(() -> deliver(message));
+            } catch (RejectedExecutionException e) {
+                inFlight.decrementAndGet();
+                emailOutboxService.release(message.getId(), nodeId);
+            }
+        }
+    }
+
+    private void deliver(EmailOutbox message) {
+        try {
+            emailService.deliver(message);
+            emailOutboxService.markSent(message, nodeId);
+            emailOutboxService.discardAttachment(message);
+        } catch (RuntimeException e) {
+            log.warn("Email {} to {} failed (attempt {})", message.getId(), message.getRecipient(),
+                    message.getAttempts() + 1, e);
+            if (emailOutboxService.markFailed(message, nodeId, e.getMessage()) == EmailStatus.DEAD) {
+                emailOutboxService.discardAttachment(message);
+            }
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+}
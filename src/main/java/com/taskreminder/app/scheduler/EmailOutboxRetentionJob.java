@@ -0,0 +1,56 @@
+package com.taskreminder.app.scheduler;
+
+import com.taskreminder.app.service.EmailOutboxService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Deletes sent and dead-lettered emails older than {@code retention-days} from the outbox.
+ * <p>
+ * Like {@link TrashRetentionJob} it works in chunks of {@code chunk-size} rows, each in its own
+ * short transaction. Pending and in-flight messages are never touched. A retention of zero or
+ * less keeps finished emails forever.
+ */
+@Component
+public class EmailOutboxRetentionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxRetentionJob.class);
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Value("${app.mail.outbox.retention-days:7}")
+    private int retentionDays;
+
+    @Value("${app.mail.outbox.chunk-size:500}")
+    private int chunkSize;
+
+    @Scheduled(cron = "${app.mail.outbox.purge-cron:0 45 3 * * *}")
+    public void nightly() {
+        purge(LocalDateTime.now());
+    }
+
+    /** Purges finished emails that expired by {@code now}. Returns how many rows were deleted. */
+    public int purge(LocalDateTime now) {
+        if (retentionDays <= 0) {
+            return 0;
+        }
+        LocalDateTime cutoff = now.minusDays(retentionDays);
+        int purged = 0;
+        while (true) {
+            int deleted = emailOutboxService.purgeFinishedBefore(cutoff, chunkSize);
+            purged += deleted;
+            if (deleted < chunkSize) {
+                break;
+            }
+        }
+        log.info("Purged {} outbox emails finished before {}", purged, cutoff);
+        return purged;
+    }
+}
@@ -0,0 +1,28 @@
+package com.taskreminder.app.scheduler;
+
+import com.taskreminder.app.service.ExportJobService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/** Deletes export jobs and files whose time to live has passed. */
+@Component
+public class ExportJobCleanupJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportJobCleanupJob.class);
+
+    @Autowired
+    private ExportJobService exportJobService;
+
+    @Scheduled(fixedDelayString = "${app.export.cleanup-ms:300000}")
+    public void cleanup() {
+        int purged = exportJobService.purgeExpired(LocalDateTime.now());
+        if (purged > 0) {
+            log.info("Deleted {} expired export jobs", purged);
+        }
+    }
+}
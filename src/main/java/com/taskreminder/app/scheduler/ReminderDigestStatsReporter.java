@@ -0,0 +1,31 @@
+package com.taskreminder.app.scheduler;
+
+import com.taskreminder.app.service.ReminderClaimService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * How many reminder emails this node has saved by coalescing reminders into digests.
+ * <p>
+ * The app has no metrics registry, so like {@link CacheStatsReporter} this logs the running
+ * totals every {@code stats-log-ms}.
+ */
+@Component
+public class ReminderDigestStatsReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(ReminderDigestStatsReporter.class);
+
+    @Autowired
+    private ReminderClaimService reminderClaimService;
+
+    @Scheduled(fixedDelayString = "${app.reminder.digest.stats-log-ms:600000}",
+            initialDelayString = "${app.reminder.digest.stats-log-ms:600000}")
+    public void report() {
+        log.info("Reminder digests: {} reminders sent in {} emails, {} emails saved since startup",
+                reminderClaimService.getRemindersQueued(), reminderClaimService.getEmailsQueued(),
+                reminderClaimService.getEmailsSaved());
+    }
+}
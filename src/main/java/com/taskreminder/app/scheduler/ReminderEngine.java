@@ -0,0 +1,164 @@
+package com.taskreminder.app.scheduler;
+
+import com.taskreminder.app.dto.ReminderMailView;
+import com.taskreminder.app.dto.ReminderScheduleView;
+import com.taskreminder.app.entity.Task;
+import com.taskreminder.app.enums.TaskStatus;
+import com.taskreminder.app.repository.TaskRepository;
+import com.taskreminder.app.service.ReminderClaimService;
+import com.taskreminder.app.service.ReminderPlanner;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fires reminders within about a second of their {@code reminderTime}.
+ * <p>
+ * Pending reminders for the next {@code horizon-hours} are kept in a {@link ReminderTimingWheel}
+ * that is loaded at startup, refreshed periodically, and updated through {@link ReminderPlanner}
+ * as tasks change. Due ids are claimed through {@link ReminderClaimService}, so the database
+ * decides whether a reminder is still due and which node sends it. Anything the wheel misses (reminders
+ * beyond the horizon, edits made on another node, backlog after a restart) is picked up by the
+ * slower {@link ReminderScheduler} sweep.
+ */
+@Component
+public class ReminderEngine implements ReminderPlanner {
+
+    private static final Logger log = LoggerFactory.getLogger(ReminderEngine.class);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ReminderClaimService reminderClaimService;
+
+    @Value("${app.reminder.node-id:#{T(java.util.UUID).randomUUID().toString()}}")
+    private String nodeId;
+
+    @Value("${app.reminder.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.reminder.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${app.reminder.wheel.horizon-hours:24}")
+    private long horizonHours;
+
+    @Value("${app.reminder.wheel.load-chunk-size:10000}")
+    private int loadChunkSize;
+
+    private ReminderTimingWheel wheel;
+
+    @PostConstruct
+    void init() {
+        wheel = new ReminderTimingWheel(toEpochSecond(LocalDateTime.now()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        reload();
+    }
+
+    /** Loads the next horizon of pending reminders, walking the table in id order. */
+    @Scheduled(fixedRateString = "${app.reminder.wheel.reload-ms:3600000}",
+            initialDelayString = "${app.reminder.wheel.reload-ms:3600000}")
+    public void reload() {
+        LocalDateTime from = LocalDateTime.now();
+        LocalDateTime to = from.plusHours(horizonHours);
+        int afterId = 0;
+        int loaded = 0;
+        while (true) {
+            List<ReminderScheduleView> chunk = taskRepository.findReminderSchedule(
+                    from, to, afterId, PageRequest.of(0, loadChunkSize));
+            synchronized (this) {
+                for (ReminderScheduleView view : chunk) {
+                    wheel.schedule(view.getId(), toEpochSecond(view.getReminderTime()));
+                }
+            }
+            loaded += chunk.size();
+            if (chunk.size() < loadChunkSize) {
+                break;
+            }
+            afterId = chunk.get(chunk.size() - 1).getId();
+        }
+        log.info("Loaded {} reminders due before {} into the reminder wheel", loaded, to);
+    }
+
+    @Scheduled(fixedRate = 1000)
+    public void tick() {
+        int[] due;
+        synchronized (this) {
+            due = wheel.advance(Instant.now().getEpochSecond());
+        }
+        for (int from = 0; from < due.length; from += batchSize) {
+            List<Integer> ids = new ArrayList<>(Math.min(batchSize, due.length - from));
+            for (int i = from; i < Math.min(from + batchSize, due.length); i++) {
+                ids.add(due[i]);
+            }
+            fire(ids);
+        }
+    }
+
+    private void fire(List<Integer> ids) {
+        List<ReminderMailView> batch = reminderClaimService.claimDue(
+                ids, nodeId, LocalDateTime.now(), Duration.ofSeconds(leaseSeconds));
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            reminderClaimService.handOff(batch, nodeId);
+        } catch (RuntimeException e) {
+            log.warn("Queueing {} reminders failed on node {}, leaving them to the sweep", batch.size(), nodeId, e);
+            reminderClaimService.release(batch, nodeId);
+        }
+    }
+
+    @Override
+    public void schedule(Task task) {
+        if (task == null || task.getId() == null) {
+            return;
+        }
+        LocalDateTime reminderTime = task.getReminderTime();
+        boolean pending = reminderTime != null
+                && !task.getReminderSent()
+                && !task.isDeleted()
+                && task.getStatus() != TaskStatus.COMPLETED
+                && reminderTime.isBefore(LocalDateTime.now().plusHours(horizonHours));
+        synchronized (this) {
+            if (pending) {
+                wheel.schedule(task.getId(), toEpochSecond(reminderTime));
+            } else {
+                wheel.cancel(task.getId());
+            }
+        }
+    }
+
+    @Override
+    public synchronized void cancel(Integer taskId) {
+        if (taskId != null) {
+            wheel.cancel(taskId);
+        }
+    }
+
+    public synchronized int pendingCount() {
+        return wheel.size();
+    }
+
+    private static long toEpochSecond(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+}
@@ -1,36 +1,90 @@
 package com.taskreminder.app.scheduler;
 
-import com.taskreminder.app.entity.Task;
-import com.taskreminder.app.repository.TaskRepository;
-import com.taskreminder.app.service.EmailService;
-import jakarta.transaction.Transactional;
+import com.taskreminder.app.dto.ReminderMailView;
+import com.taskreminder.app.service.ReminderClaimService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Component
 public class ReminderScheduler {
 
-    @Autowired
-    private TaskRepository taskRepository;
+    private static final Logger log = LoggerFactory.getLogger(ReminderScheduler.class);
 
     @Autowired
-    private EmailService emailService;
+    private ReminderClaimService reminderClaimService;
+
+    @Value("${app.reminder.node-id:#{T(java.util.UUID).randomUUID().toString()}}")
+    private String nodeId;
+
+    @Value("${app.reminder.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.reminder.sweep.max-per-second:100}")
+    private int maxPerSecond;
+
+    @Value("${app.reminder.lease-seconds:300}")
+    private long leaseSeconds;
 
-    @Scheduled(fixedRate = 60000)
-    @Transactional
+    /**
+     * Catch-up sweep. On-time delivery is handled by {@link ReminderEngine}; this picks up
+     * whatever it could not see, such as the backlog after a restart.
+     * <p>
+     * Due reminders are claimed oldest first in chunks of {@code batch-size}, each chunk in its
+     * own transaction, and the run is paced to {@code sweep.max-per-second} so that draining a
+     * large backlog does not crowd out the database or the mail workers.
+     */
+    @Scheduled(fixedRateString = "${app.reminder.sweep-ms:300000}")
     public void checkReminders(){
-        LocalDateTime now = LocalDateTime.now();
+        long started = System.nanoTime();
+        int claimed = 0;
+        while (true) {
+            List<ReminderMailView> batch = reminderClaimService.claimBatch(
+                    nodeId, LocalDateTime.now(), batchSize, Duration.ofSeconds(leaseSeconds));
+            if (batch.isEmpty()) {
+                return;
+            }
 
-        List<Task> tasks = taskRepository.findTasksForReminder(now);
-        for(Task t : tasks){
-            emailService.sendTaskReminder(t);
-            t.setReminderSent(true);
-            taskRepository.save(t);
+            try {
+                reminderClaimService.handOff(batch, nodeId);
+            } catch (RuntimeException e) {
+                // The outbox insert failed, most likely because the database is struggling;
+                // give the rows back and leave them for the next run instead of spinning.
+                log.warn("Queueing {} reminders failed on node {}, releasing claims", batch.size(), nodeId, e);
+                reminderClaimService.release(batch, nodeId);
+                return;
+            }
+
+            claimed += batch.size();
+            if (batch.size() < batchSize || !pace(started, claimed)) {
+                return;
+            }
+        }
+    }
+
+    /** Sleeps until {@code claimed} reminders are within the rate limit. False if interrupted. */
+    private boolean pace(long startedNanos, int claimed) {
+        if (maxPerSecond <= 0) {
+            return true;
+        }
+        long dueNanos = startedNanos + claimed * 1_000_000_000L / maxPerSecond;
+        long waitMs = (dueNanos - System.nanoTime()) / 1_000_000;
+        if (waitMs > 0) {
+            try {
+                Thread.sleep(waitMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
         }
+        return true;
     }
 
 }
@@ -0,0 +1,290 @@
+package com.taskreminder.app.scheduler;
+
+import java.util.Arrays;
+
+/**
+ * Hierarchical hashed timing wheel keyed by task id, with one-second resolution.
+ * <p>
+ * The layout follows the classic kernel timer wheel: 256 one-second root slots followed by
+ * three levels of 64 slots, each level 64 times coarser than the one below, for a range of
+ * 2^26 seconds (about two years). Entries in the coarser levels cascade down as the wheel
+ * turns, so adding, cancelling and expiring are all O(1) amortised.
+ * <p>
+ * Entries live in parallel primitive arrays (deadline, task id, next pointer) linked per
+ * slot, plus an open-addressing int-to-int index for cancellation, which keeps a pending
+ * reminder at roughly 24 bytes of heap. Cancelled entries are only unlinked lazily when
+ * their slot is next visited. Not thread-safe on its own; {@link ReminderEngine} guards it.
+ */
+public class ReminderTimingWheel {
+
+    private static final int ROOT_BITS = 8;
+    private static final int LEVEL_BITS = 6;
+    private static final int LEVELS = 3;
+    private static final int ROOT_SIZE = 1 << ROOT_BITS;
+    private static final int LEVEL_SIZE = 1 << LEVEL_BITS;
+    private static final int ROOT_MASK = ROOT_SIZE - 1;
+    private static final int LEVEL_MASK = LEVEL_SIZE - 1;
+
+    public static final long MAX_DELAY_SECONDS = 1L << (ROOT_BITS + LEVELS * LEVEL_BITS);
+
+    private static final int NONE = -1;
+    private static final int CANCELLED = 0;
+
+    private final long epochBase;
+    private final int[] heads = new int[ROOT_SIZE + LEVELS * LEVEL_SIZE];
+
+    private int[] deadlines;
+    private int[] taskIds;
+    private int[] next;
+    private int allocated;
+    private int freeHead = NONE;
+
+    private final TaskIndex index = new TaskIndex();
+
+    /** The next second to be processed; everything before it has already fired. */
+    private long currentTick;
+
+    public ReminderTimingWheel(long nowEpochSecond) {
+        this(nowEpochSecond, 1024);
+    }
+
+    public ReminderTimingWheel(long nowEpochSecond, int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        this.epochBase = nowEpochSecond;
+        this.currentTick = nowEpochSecond;
+        this.deadlines = new int[capacity];
+        this.taskIds = new int[capacity];
+        this.next = new int[capacity];
+        Arrays.fill(heads, NONE);
+    }
+
+    /**
+     * Schedules (or reschedules) a task. Deadlines already in the past fire on the next
+     * {@link #advance}. Returns {@code false} when the deadline is beyond the wheel's range.
+     */
+    public boolean schedule(int taskId, long epochSecond) {
+        if (taskId <= 0) {
+            throw new IllegalArgumentException("Task id must be positive");
+        }
+        if (epochSecond - currentTick >= MAX_DELAY_SECONDS) {
+            cancel(taskId);
+            return false;
+        }
+        cancel(taskId);
+
+        int entry = allocate();
+        deadlines[entry] = (int) (Math.max(epochSecond, currentTick - 1) - epochBase);
+        taskIds[entry] = taskId;
+        place(entry);
+        index.put(taskId, entry);
+        return true;
+    }
+
+    public boolean cancel(int taskId) {
+        int entry = index.remove(taskId);
+        if (entry == NONE) {
+            return false;
+        }
+        taskIds[entry] = CANCELLED;
+        return true;
+    }
+
+    public boolean contains(int taskId) {
+        return index.get(taskId) != NONE;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Turns the wheel up to and including {@code nowEpochSecond} and returns the ids of every
+     * task whose deadline has passed. Fired tasks are removed from the wheel.
+     */
+    public int[] advance(long nowEpochSecond) {
+        IntBuffer fired = new IntBuffer();
+        while (currentTick <= nowEpochSecond) {
+            int rootIndex = (int) (currentTick & ROOT_MASK);
+            if (rootIndex == 0) {
+                for (int level = 0; level < LEVELS; level++) {
+                    int levelIndex = (int) ((currentTick >> (ROOT_BITS + level * LEVEL_BITS)) & LEVEL_MASK);
+                    cascade(ROOT_SIZE + level * LEVEL_SIZE + levelIndex);
+                    if (levelIndex != 0) {
+                        break;
+                    }
+                }
+            }
+            currentTick++;
+            expire(rootIndex, fired);
+        }
+        return fired.toArray();
+    }
+
+    private void place(int entry) {
+        long expires = epochBase + deadlines[entry];
+        long delay = expires - currentTick;
+        int slot;
+        if (delay < 0) {
+            slot = (int) (currentTick & ROOT_MASK);
+        } else if (delay < ROOT_SIZE) {
+            slot = (int) (expires & ROOT_MASK);
+        } else {
+            int level = 0;
+            while (level < LEVELS - 1 && delay >= 1L << (ROOT_BITS + (level + 1) * LEVEL_BITS)) {
+                level++;
+            }
+            int shift = ROOT_BITS + level * LEVEL_BITS;
+            slot = ROOT_SIZE + level * LEVEL_SIZE + (int) ((expires >> shift) & LEVEL_MASK);
+        }
+        next[entry] = heads[slot];
+        heads[slot] = entry;
+    }
+
+    private void cascade(int slot) {
+        int entry = heads[slot];
+        heads[slot] = NONE;
+        while (entry != NONE) {
+            int following = next[entry];
+            if (taskIds[entry] == CANCELLED) {
+                release(entry);
+            } else {
+                place(entry);
+            }
+            entry = following;
+        }
+    }
+
+    private void expire(int slot, IntBuffer fired) {
+        int entry = heads[slot];
+        heads[slot] = NONE;
+        while (entry != NONE) {
+            int following = next[entry];
+            int taskId = taskIds[entry];
+            if (taskId != CANCELLED) {
+                index.remove(taskId);
+                fired.add(taskId);
+            }
+            release(entry);
+            entry = following;
+        }
+    }
+
+    private int allocate() {
+        if (freeHead != NONE) {
+            int entry = freeHead;
+            freeHead = next[entry];
+            return entry;
+        }
+        if (allocated == taskIds.length) {
+            int capacity = taskIds.length + (taskIds.length >> 1);
+            deadlines = Arrays.copyOf(deadlines, capacity);
+            taskIds = Arrays.copyOf(taskIds, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+        return allocated++;
+    }
+
+    private void release(int entry) {
+        taskIds[entry] = CANCELLED;
+        next[entry] = freeHead;
+        freeHead = entry;
+    }
+
+    /** Open-addressing task id to entry map with linear probing and backward-shift deletion. */
+    private static final class TaskIndex {
+
+        private int[] keys = new int[64];
+        private int[] values = new int[64];
+        private int size;
+
+        int get(int key) {
+            int mask = keys.length - 1;
+            for (int i = mix(key) & mask; keys[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return NONE;
+        }
+
+        void put(int key, int value) {
+            if ((size + 1) * 4 > keys.length * 3) {
+                rehash(keys.length << 1);
+            }
+            int mask = keys.length - 1;
+            int i = mix(key) & mask;
+            while (keys[i] != 0 && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == 0) {
+                size++;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        int remove(int key) {
+            int mask = keys.length - 1;
+            int i = mix(key) & mask;
+            while (keys[i] != key) {
+                if (keys[i] == 0) {
+                    return NONE;
+                }
+                i = (i + 1) & mask;
+            }
+            int removed = values[i];
+            size--;
+
+            int gap = i;
+            for (int j = (gap + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+                int home = mix(keys[j]) & mask;
+                if (((j - home) & mask) >= ((j - gap) & mask)) {
+                    keys[gap] = keys[j];
+                    values[gap] = values[j];
+                    gap = j;
+                }
+            }
+            keys[gap] = 0;
+            return removed;
+        }
+
+        int size() {
+            return size;
+        }
+
+        private void rehash(int capacity) {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new int[capacity];
+            values = new int[capacity];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+
+    private static final class IntBuffer {
+
+        private int[] data = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size << 1);
+            }
+            data[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+}
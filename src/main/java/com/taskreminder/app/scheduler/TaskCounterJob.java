@@ -0,0 +1,96 @@
+package com.taskreminder.app.scheduler;
+
+import com.taskreminder.app.repository.TaskCounterRepository;
+import com.taskreminder.app.service.TaskCounterCache;
+import com.taskreminder.app.service.TaskCounterService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Housekeeping for the per-user task counters.
+ * <p>
+ * Just after midnight the overdue and due-today counts of every counter still dated yesterday are
+ * recounted, so the first dashboard of the day does not pay for it. (A read never serves a stale
+ * day either way; it recounts that one user itself.) Separately, a periodic reconciliation
+ * recounts every counter and repairs any that drifted from the task table, for instance through a
+ * write that bypassed {@code TaskService}. Both walk the counters in user id partitions of
+ * {@code partition-size}, one transaction and one grouped count query per partition.
+ */
+@Component
+public class TaskCounterJob {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskCounterJob.class);
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    @Autowired
+    private TaskCounterRepository taskCounterRepository;
+
+    @Autowired
+    private TaskCounterCache taskCounterCache;
+
+    @Value("${app.counters.partition-size:500}")
+    private int partitionSize;
+
+    @Scheduled(cron = "${app.counters.rollover-cron:0 0 0 * * *}")
+    public void midnight() {
+        rollover(LocalDate.now());
+    }
+
+    @Scheduled(fixedDelayString = "${app.counters.reconcile-ms:3600000}",
+            initialDelayString = "${app.counters.reconcile-initial-delay-ms:600000}")
+    public void hourly() {
+        reconcile(LocalDate.now());
+    }
+
+    /** Recounts every counter last counted before {@code today}. Returns how many were rolled over. */
+    public int rollover(LocalDate today) {
+        int rolled = 0;
+        int afterId = 0;
+        while (true) {
+            List<Integer> userIds = taskCounterRepository.findUserIdsCountedBefore(
+                    today, afterId, PageRequest.of(0, partitionSize));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            taskCounterService.recount(userIds, today);
+            rolled += userIds.size();
+            afterId = userIds.get(userIds.size() - 1);
+        }
+        log.info("Rolled task counters over to {} for {} users", today, rolled);
+        return rolled;
+    }
+
+    /** Recounts every counter. Returns how many had drifted from the task table. */
+    public int reconcile(LocalDate today) {
+        int checked = 0;
+        int drifted = 0;
+        int afterId = 0;
+        while (true) {
+            List<Integer> userIds = taskCounterRepository.findUserIdsAfter(afterId, PageRequest.of(0, partitionSize));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            List<Integer> repaired = taskCounterService.recount(userIds, today);
+            if (!repaired.isEmpty()) {
+                log.warn("Repaired drifted task counters of users {}", repaired);
+                taskCounterCache.evict(repaired);
+                drifted += repaired.size();
+            }
+            checked += userIds.size();
+            afterId = userIds.get(userIds.size() - 1);
+        }
+        taskCounterCache.purgeExpired();
+        log.info("Reconciled {} task counters, {} had drifted", checked, drifted);
+        return drifted;
+    }
+}
@@ -0,0 +1,60 @@
+package com.taskreminder.app.scheduler;
+
+import com.taskreminder.app.service.TaskService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Permanently deletes tasks that have been in the trash longer than {@code retention-days}.
+ * <p>
+ * The purge runs in chunks of {@code chunk-size} tasks, oldest first, each in its own short
+ * transaction, so it never holds locks on more than one chunk of the task table. A retention of
+ * zero or less keeps trash forever.
+ */
+@Component
+public class TrashRetentionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(TrashRetentionJob.class);
+
+    @Autowired
+    private TaskService taskService;
+
+    @Value("${app.trash.retention-days:30}")
+    private int retentionDays;
+
+    @Value("${app.trash.chunk-size:500}")
+    private int chunkSize;
+
+    @Scheduled(cron = "${app.trash.purge-cron:0 30 3 * * *}")
+    public void nightly() {
+        purge(LocalDateTime.now());
+    }
+
+    /** Purges trash that expired by {@code now}. Returns how many tasks were deleted. */
+    public int purge(LocalDateTime now) {
+        if (retentionDays <= 0) {
+            return 0;
+        }
+        LocalDateTime cutoff = now.minusDays(retentionDays);
+        int purged = 0;
+        int chunks = 0;
+        while (true) {
+            int deleted = taskService.purgeTrashedBefore(cutoff, chunkSize);
+            purged += deleted;
+            if (deleted > 0) {
+                chunks++;
+            }
+            if (deleted < chunkSize) {
+                break;
+            }
+        }
+        log.info("Purged {} tasks trashed before {} in {} chunks", purged, cutoff, chunks);
+        return purged;
+    }
+}
@@ -0,0 +1,85 @@
+package com.taskreminder.app.service;
+
+import com.taskreminder.app.dto.AgendaEmail;
+import com.taskreminder.app.entity.AgendaRun;
+import com.taskreminder.app.enums.EmailType;
+import com.taskreminder.app.repository.AgendaRunRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Checkpointing for the daily agenda job. Each partition's emails are written to the outbox in
+ * the same transaction that advances the run's {@code lastUserId}, so a restarted run resumes
+ * after the last committed partition without sending anyone a second agenda.
+ * <p>
+ * Only one node works on a day's run at a time: the run row carries an owner and a lease, and
+ * a lapsed lease lets another node (or the same one after a restart) take over.
+ */
+@Service
+public class AgendaService {
+
+    @Autowired
+    private AgendaRunRepository agendaRunRepository;
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    /**
+     * Takes ownership of the run for {@code runDate}, creating it if needed. Returns the user id
+     * to resume after, or empty when the run is already finished or owned by a live node.
+     */
+    @Transactional
+    public Optional<Integer> acquire(LocalDate runDate, String nodeId, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        AgendaRun run = agendaRunRepository.lockByRunDate(runDate).orElse(null);
+        if (run == null) {
+            run = new AgendaRun(runDate);
+        } else if (run.isCompleted()
+                || (!nodeId.equals(run.getOwnerNode()) && run.getLeaseUntil() != null && run.getLeaseUntil().isAfter(now))) {
+            return Optional.empty();
+        }
+        run.setOwnerNode(nodeId);
+        run.setLeaseUntil(now.plus(lease));
+        agendaRunRepository.save(run);
+        return Optional.of(run.getLastUserId());
+    }
+
+    /** Queues a partition's emails and moves the checkpoint to {@code lastUserId} atomically. */
+    @Transactional
+    public void commitPartition(LocalDate runDate, String nodeId, int lastUserId,
+                                List<AgendaEmail> emails, Duration lease) {
+        AgendaRun run = lockOwned(runDate, nodeId);
+        for (AgendaEmail email : emails) {
+            emailOutboxService.enqueue(EmailType.DAILY_AGENDA, email.getTo(), email.getSubject(), email.getBody());
+        }
+        run.setLastUserId(lastUserId);
+        run.setEmailsQueued(run.getEmailsQueued() + emails.size());
+        run.setLeaseUntil(LocalDateTime.now().plus(lease));
+    }
+
+    @Transactional
+    public AgendaRun complete(LocalDate runDate, String nodeId) {
+        AgendaRun run = lockOwned(runDate, nodeId);
+        run.setCompleted(true);
+        run.setOwnerNode(null);
+        run.setLeaseUntil(null);
+        run.setFinishedAt(LocalDateTime.now());
+        return run;
+    }
+
+    private AgendaRun lockOwned(LocalDate runDate, String nodeId) {
+        AgendaRun run = agendaRunRepository.lockByRunDate(runDate)
+                .orElseThrow(() -> new IllegalStateException("No agenda run for " + runDate));
+        if (!nodeId.equals(run.getOwnerNode())) {
+            throw new IllegalStateException("Agenda run for " + runDate + " was taken over by " + run.getOwnerNode());
+        }
+        return run;
+    }
+}
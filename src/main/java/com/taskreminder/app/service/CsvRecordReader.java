@@ -0,0 +1,125 @@
+package com.taskreminder.app.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV one record at a time, as {@link TaskExportService} writes it: fields quoted
+ * when they hold commas, quotes or line breaks, quotes doubled inside them.
+ * <p>
+ * Only the current record is held in memory, and at most {@code maxRecordChars} of it; the rest
+ * of an oversized record is read past and the record is reported as a problem instead.
+ */
+final class CsvRecordReader {
+
+    private final Reader in;
+    private final int maxRecordChars;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private int line = 1;
+    private int recordLine;
+    private String problem;
+
+    CsvRecordReader(Reader in, int maxRecordChars) {
+        this.in = in;
+        this.maxRecordChars = maxRecordChars;
+    }
+
+    /** The next record's fields, or null at the end of the input. Blank lines are skipped. */
+    List<String> next() throws IOException {
+        while (true) {
+            recordLine = line;
+            problem = null;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean any = false;
+            int chars = 0;
+            while (true) {
+                int c = read();
+                if (c < 0) {
+                    if (!any) {
+                        return null;
+                    }
+                    if (quoted) {
+                        problem = "Unterminated quoted field";
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                }
+                any = true;
+                if (quoted) {
+                    if (c == '"') {
+                        if (peek() == '"') {
+                            read();
+                        } else {
+                            quoted = false;
+                            continue;
+                        }
+                    } else if (c == '\n') {
+                        line++;
+                    }
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    continue;
+                } else if (c == '\r') {
+                    continue;
+                } else if (c == '\n') {
+                    line++;
+                    break;
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                    continue;
+                }
+                if (++chars > maxRecordChars) {
+                    problem = "Row is longer than " + maxRecordChars + " characters";
+                } else {
+                    field.append((char) c);
+                }
+            }
+            if (fields.isEmpty() && field.isEmpty() && problem == null) {
+                continue;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    /** The line the last record returned by {@link #next()} started on, counting from 1. */
+    int recordLine() {
+        return recordLine;
+    }
+
+    /** Why the last record could not be read whole, or null if it was. */
+    String problem() {
+        return problem;
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int read = in.read(buffer);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
@@ -0,0 +1,166 @@
+package com.taskreminder.app.service;
+
+import com.taskreminder.app.entity.EmailOutbox;
+import com.taskreminder.app.enums.EmailStatus;
+import com.taskreminder.app.enums.EmailType;
+import com.taskreminder.app.repository.EmailOutboxRepository;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Durable queue of outgoing emails.
+ * <p>
+ * Callers only insert a row, inside whatever short transaction they already run, and return.
+ * {@link com.taskreminder.app.scheduler.EmailOutboxDispatcher} claims due rows and performs the
+ * SMTP round trips on its own worker pool; failed sends are retried with exponential backoff
+ * until {@code maxAttempts} is reached, after which the row is parked as {@link EmailStatus#DEAD}.
+ * An OTP email's body is cleared once it is sent or given up on, and finished rows are deleted by
+ * {@link com.taskreminder.app.scheduler.EmailOutboxRetentionJob}.
+ */
+@Service
+public class EmailOutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxService.class);
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Value("${app.mail.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.backoff-seconds:30}")
+    private long backoffSeconds;
+
+    @Value("${app.mail.outbox.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    @Value("${app.export.spool-dir:spool/exports}")
+    private String spoolDir;
+
+    @Transactional
+    public EmailOutbox enqueue(EmailType type, String to, String subject, String body) {
+        return emailOutboxRepository.save(new EmailOutbox(type, to, subject, body));
+    }
+
+    @Transactional
+    public EmailOutbox enqueue(EmailType type, String to, String subject, String body,
+                               String attachmentName, String attachmentType, Path attachmentFile) {
+        EmailOutbox message = new EmailOutbox(type, to, subject, body);
+        message.setAttachmentName(attachmentName);
+        message.setAttachmentType(attachmentType);
+        message.setAttachmentPath(spoolRoot().relativize(attachmentFile.toAbsolutePath()).toString());
+        return emailOutboxRepository.save(message);
+    }
+
+    @Transactional
+    public List<EmailOutbox> claimBatch(String nodeId, LocalDateTime now, int limit, Duration lease) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        List<Long> ids = emailOutboxRepository.lockDueIds(now, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        emailOutboxRepository.claim(ids, nodeId, now.plus(lease));
+        return emailOutboxRepository.findAllById(ids);
+    }
+
+    @Transactional
+    public void markSent(EmailOutbox message, String nodeId) {
+        if (emailOutboxRepository.markSent(message.getId(), nodeId, LocalDateTime.now()) > 0) {
+            clearOtpBody(message);
+        }
+    }
+
+    /** Records a failed send and returns the message's new status. */
+    @Transactional
+    public EmailStatus markFailed(EmailOutbox message, String nodeId, String error) {
+        int attempt = message.getAttempts() + 1;
+        EmailStatus status = attempt >= maxAttempts ? EmailStatus.DEAD : EmailStatus.PENDING;
+        LocalDateTime nextAttemptAt = LocalDateTime.now().plus(backoff(attempt));
+        emailOutboxRepository.markFailed(message.getId(), nodeId, status, nextAttemptAt, truncate(error));
+        if (status == EmailStatus.DEAD) {
+            clearOtpBody(message);
+        }
+        return status;
+    }
+
+    /**
+     * Deletes up to {@code limit} sent or dead messages created before {@code cutoff}, oldest
+     * first. Returns how many were deleted; fewer than {@code limit} means none are left.
+     */
+    @Transactional
+    public int purgeFinishedBefore(LocalDateTime cutoff, int limit) {
+        List<Long> ids = emailOutboxRepository.findFinishedIds(cutoff, PageRequest.of(0, limit));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return emailOutboxRepository.deleteByIds(ids);
+    }
+
+    // The code is no use to anyone once the email is out, so no copy of it is kept at rest.
+    private void clearOtpBody(EmailOutbox message) {
+        if (message.getType() == EmailType.OTP) {
+            emailOutboxRepository.clearBody(message.getId());
+        }
+    }
+
+    /** Where this node sees the spooled attachment of {@code message}, or null if it has none. */
+    public Path attachmentFile(EmailOutbox message) {
+        return message.getAttachmentPath() == null ? null : spoolRoot().resolve(message.getAttachmentPath());
+    }
+
+    /** Deletes the spooled attachment of a message that will not be sent again. */
+    public void discardAttachment(EmailOutbox message) {
+        if (message.getAttachmentPath() == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(attachmentFile(message));
+        } catch (IOException e) {
+            log.warn("Could not delete attachment {} of email {}", message.getAttachmentPath(), message.getId(), e);
+        }
+    }
+
+    @Transactional
+    public void release(Long id, String nodeId) {
+        emailOutboxRepository.release(id, nodeId);
+    }
+
+    /** Status of the most recent email of {@code type} queued for {@code recipient}, if any. */
+    public Optional<EmailStatus> latestStatus(EmailType type, String recipient) {
+        return emailOutboxRepository.findLatestStatus(type, recipient, PageRequest.of(0, 1))
+                .stream()
+                .findFirst();
+    }
+
+    private Path spoolRoot() {
+        return Paths.get(spoolDir).toAbsolutePath();
+    }
+
+    Duration backoff(int attempt) {
+        long factor = 1L << Math.min(attempt - 1, 20);
+        return Duration.ofSeconds(Math.min(backoffSeconds * factor, maxBackoffSeconds));
+    }
+
+    private String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+}
@@ -1,36 +1,40 @@
 package com.taskreminder.app.service;
 
-import com.taskreminder.app.entity.Task;
+import com.taskreminder.app.dto.AgendaEmail;
+import com.taskreminder.app.dto.AgendaTaskView;
+import com.taskreminder.app.dto.ReminderMailView;
+import com.taskreminder.app.entity.EmailOutbox;
 import com.taskreminder.app.entity.User;
+import com.taskreminder.app.enums.EmailType;
 import jakarta.activation.DataHandler;
 import jakarta.activation.DataSource;
+import jakarta.activation.FileDataSource;
+import jakarta.annotation.PostConstruct;
 import jakarta.mail.*;
 import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeBodyPart;
 import jakarta.mail.internet.MimeMessage;
 import jakarta.mail.internet.MimeMultipart;
-import jakarta.mail.util.ByteArrayDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.Properties;
+import java.util.List;
 
 @Service
 public class EmailService {
 
-    @Value("${spring.mail.host}")
-    private String host;
-
-    @Value("${spring.mail.port}")
-    private int port;
-
     @Value("${spring.mail.username}")
     private String username;
 
-    @Value("${spring.mail.password}")
-    private String password;
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private SmtpTransportPool smtpTransportPool;
 
     private static final DateTimeFormatter DATE_FMT =
             DateTimeFormatter.ofPattern("dd MMM yyyy");
@@ -38,16 +42,31 @@ public class EmailService {
     private static final DateTimeFormatter DATE_TIME_FMT =
             DateTimeFormatter.ofPattern("dd MMM yyyy, hh:mm a");
 
+    private EmailTemplate otpTemplate;
+    private EmailTemplate taskReminderTemplate;
+    private EmailTemplate taskDigestTemplate;
+    private EmailTemplate taskDigestItemTemplate;
+    private EmailTemplate agendaTemplate;
+    private EmailTemplate agendaSectionTemplate;
+    private EmailTemplate agendaItemTemplate;
+    private EmailTemplate taskExportTemplate;
+
+    @PostConstruct
+    void loadTemplates() {
+        otpTemplate = EmailTemplate.load("otp", "name", "otp");
+        taskReminderTemplate = EmailTemplate.load("task-reminder", "name", "title", "dueDate", "description");
+        taskDigestTemplate = EmailTemplate.load("task-digest", "name", "items");
+        taskDigestItemTemplate = EmailTemplate.load("task-digest-item", "title", "dueDate", "description");
+        agendaTemplate = EmailTemplate.load("daily-agenda", "name", "sections");
+        agendaSectionTemplate = EmailTemplate.load("daily-agenda-section", "heading", "color", "items");
+        agendaItemTemplate = EmailTemplate.load("daily-agenda-item", "title", "priority", "note");
+        taskExportTemplate = EmailTemplate.load("task-export", "name", "exportType", "taskCount", "date");
+    }
+
 
     public void sendEmail(String to, String subject, String body) {
-        Properties props = new Properties();
-        props.put("mail.smtp.auth", "true");
-        props.put("mail.smtp.starttls.enable", "true");
-        props.put("mail.smtp.host", host);
-        props.put("mail.smtp.port", String.valueOf(port));
-        Session session = Session.getInstance(props, getPasswordAuthentication());
         try {
-            Message message = new MimeMessage(session);
+            Message message = new MimeMessage(smtpTransportPool.getSession());
             message.setFrom(new InternetAddress(username));
             message.setRecipients(
                     Message.RecipientType.TO, InternetAddress.parse(to)
@@ -55,83 +74,107 @@ public class EmailService {
             message.setSubject(subject);
             message.setContent(body, "text/html; charset=utf-8");
 
-            Transport.send(message);
+            smtpTransportPool.send(message);
 
         }catch (MessagingException e) {
             throw new RuntimeException("Failed to send email.", e);
         }
     }
 
-    private Authenticator getPasswordAuthentication() {
-        return new Authenticator() {
-            @Override
-            protected PasswordAuthentication getPasswordAuthentication(){
-                return new PasswordAuthentication(username,password);
-            }
-        };
+    public void deliver(EmailOutbox message) {
+        if (message.getAttachmentPath() != null) {
+            sendAttachmentEmail(message.getRecipient(), message.getSubject(), message.getBody(),
+                    message.getAttachmentName(),
+                    fileSource(emailOutboxService.attachmentFile(message), message.getAttachmentType()));
+        } else {
+            sendEmail(message.getRecipient(), message.getSubject(), message.getBody());
+        }
     }
 
-    public void sendOtpEmail(User user, String otp) {
+    public void queueOtpEmail(User user, String otp) {
         String subject = "OTP Verification for Task Reminder App";
         String body = buildOtpHtml(user, otp);
-        sendEmail(user.getEmail(), subject, body);
+        emailOutboxService.enqueue(EmailType.OTP, user.getEmail(), subject, body);
     }
 
     private String buildOtpHtml(User user, String otp) {
-        return "<!DOCTYPE html>" +
-                "<html>" +
-                "<body style='font-family: Arial, sans-serif; background-color:#f4f4f4; padding:20px;'>" +
-                "  <div style='background:#ffffff; padding:20px; border-radius:8px;'>" +
-                "    <h2>Welcome to Task Reminder App 🎉</h2>" +
-                "    <p>Hey <strong>" + user.getName() + "</strong>,</p>" +
-                "    <p>Please use the OTP below to verify your account:</p>" +
-                "    <h1 style='color:#2d89ef; letter-spacing:4px;'>" + otp + "</h1>" +
-                "    <p>This OTP is valid for a limited time.</p>" +
-                "    <p style='font-size:12px; color:#777;'>Do not share this OTP with anyone.</p>" +
-                "  </div>" +
-                "</body>" +
-                "</html>";
+        return otpTemplate.render(user.getName(), otp);
     }
 
-    public void sendTaskReminder(Task task) {
-        String subject = "Task Reminder: " + task.getTitle();
-        String body = buildTaskReminderHtml(task);
-        sendEmail(task.getUser().getEmail(), subject, body);
+    /** Queues one email for a single user's due reminders, as a digest when there are several. */
+    public void queueTaskReminders(List<ReminderMailView> tasks) {
+        ReminderMailView first = tasks.get(0);
+        if (tasks.size() == 1) {
+            String subject = "Task Reminder: " + first.getTitle();
+            emailOutboxService.enqueue(EmailType.TASK_REMINDER, first.getUserEmail(), subject,
+                    buildTaskReminderHtml(first));
+        } else {
+            String subject = "Task Reminders: " + tasks.size() + " tasks need your attention";
+            emailOutboxService.enqueue(EmailType.TASK_REMINDER, first.getUserEmail(), subject,
+                    buildTaskDigestHtml(tasks));
+        }
     }
 
-    private String buildTaskReminderHtml(Task task) {
-        return "<!DOCTYPE html>" +
-                "<html>" +
-                "<body style='font-family: Arial, sans-serif; background-color:#f4f4f4; padding:20px;'>" +
-                "  <div style='background:#ffffff; padding:20px; border-radius:8px;'>" +
-                "    <h2>Task Reminder ⏰</h2>" +
-                "    <p>Hi <strong>" + task.getUser().getName() + "</strong>,</p>" +
-                "    <p>This is a reminder for your upcoming task:</p>" +
-                "    <ul>" +
-                "      <li><strong>Title:</strong> " + task.getTitle() + "</li>" +
-                "      <li><strong>Due At:</strong> " + task.getDueDate().format(DATE_FMT) + "</li>" +
-                "      <li><strong>Description:</strong> " + task.getDescription() + "</li>" +
-                "    </ul>" +
-                "    <p style='font-size:12px; color:#777;'>Make sure to complete it on time!</p>" +
-                "  </div>" +
-                "</body>" +
-
-                "</html>";
+    private String buildTaskReminderHtml(ReminderMailView task) {
+        return taskReminderTemplate.render(
+                task.getUserName(), task.getTitle(), task.getDueDate().format(DATE_FMT), task.getDescription());
     }
 
+    private String buildTaskDigestHtml(List<ReminderMailView> tasks) {
+        StringBuilder items = new StringBuilder(tasks.size() * 160);
+        for (ReminderMailView task : tasks) {
+            taskDigestItemTemplate.appendTo(items,
+                    task.getTitle(), task.getDueDate().format(DATE_FMT), task.getDescription());
+        }
+        return taskDigestTemplate.render(tasks.get(0).getUserName(), items);
+    }
 
-    public void sendCsvAttachmentEmail(String to, String subject, String body, String csvData) {
+    /** Renders one user's morning agenda; {@code tasks} are that user's due and overdue tasks. */
+    public AgendaEmail renderDailyAgenda(List<AgendaTaskView> tasks, LocalDate today) {
+        AgendaTaskView first = tasks.get(0);
+        StringBuilder dueToday = new StringBuilder();
+        StringBuilder overdue = new StringBuilder();
+        for (AgendaTaskView task : tasks) {
+            if (task.getDueDate().isBefore(today)) {
+                agendaItemTemplate.appendTo(overdue, task.getTitle(), task.getPriority(),
+                        " \u2014 was due " + task.getDueDate().format(DATE_FMT));
+            } else {
+                agendaItemTemplate.appendTo(dueToday, task.getTitle(), task.getPriority(), null);
+            }
+        }
+        StringBuilder sections = new StringBuilder();
+        if (!dueToday.isEmpty()) {
+            agendaSectionTemplate.appendTo(sections, "Due today:", "#333", dueToday);
+        }
+        if (!overdue.isEmpty()) {
+            agendaSectionTemplate.appendTo(sections, "Overdue:", "#c0392b", overdue);
+        }
+        String subject = "Your tasks for " + today.format(DATE_FMT);
+        String body = agendaTemplate.render(first.getUserName(), sections);
+        return new AgendaEmail(first.getUserId(), first.getUserEmail(), subject, body);
+    }
 
-        Properties props = new Properties();
-        props.put("mail.smtp.auth", "true");
-        props.put("mail.smtp.starttls.enable", "true");
-        props.put("mail.smtp.host", host);
-        props.put("mail.smtp.port", String.valueOf(port));
+    /** Queues an export that was spooled to {@code file}; the file is deleted once the email is done with. */
+    public void queueExportEmail(User user, String exportType, long taskCount,
+                                 String fileName, String contentType, Path file) {
+        String subject = "Your Tasks Export - TimeIt";
+        String body = taskExportTemplate.render(user.getName(), exportType, taskCount, LocalDate.now().format(DATE_FMT));
+        emailOutboxService.enqueue(EmailType.TASK_EXPORT, user.getEmail(), subject, body, fileName, contentType, file);
+    }
 
-        Session session = Session.getInstance(props, getPasswordAuthentication());
+    private static DataSource fileSource(Path file, String contentType) {
+        return new FileDataSource(file.toFile()) {
+            @Override
+            public String getContentType() {
+                return contentType;
+            }
+        };
+    }
 
+    /** Sends {@code source} as an attachment; it is read while the message is written to the server. */
+    private void sendAttachmentEmail(String to, String subject, String body, String fileName, DataSource source) {
         try {
-            MimeMessage message = new MimeMessage(session);
+            MimeMessage message = new MimeMessage(smtpTransportPool.getSession());
             message.setFrom(new InternetAddress(username));
             message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(to));
             message.setSubject(subject);
@@ -140,9 +183,8 @@ public class EmailService {
             textPart.setContent(body, "text/html; charset=utf-8");
 
             MimeBodyPart attachmentPart = new MimeBodyPart();
-            DataSource source = new ByteArrayDataSource(csvData, "text/csv");
             attachmentPart.setDataHandler(new DataHandler(source));
-            attachmentPart.setFileName("tasks.csv");
+            attachmentPart.setFileName(fileName);
 
             MimeMultipart multipart = new MimeMultipart();
             multipart.addBodyPart(textPart);
@@ -150,12 +192,10 @@ public class EmailService {
 
             message.setContent(multipart);
 
-            Transport.send(message);
+            smtpTransportPool.send(message);
 
         } catch (MessagingException e) {
-            throw new RuntimeException("Failed to send CSV email", e);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+            throw new RuntimeException("Failed to send attachment email", e);
         }
     }
 
@@ -0,0 +1,173 @@
+package com.taskreminder.app.service;
+
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An email body template compiled once into literal segments and parameter slots.
+ * <p>
+ * {@code {{name}}} inserts a value HTML-escaped and {@code {{{name}}}} inserts it as is, for
+ * fragments rendered by another template. Placeholders are resolved against the parameter names
+ * given to {@link #compile} when the template is loaded, so a typo fails at startup rather than
+ * in a sent email. Rendering writes into a per-thread buffer that is reused across messages.
+ * <p>
+ * Template files should spell non-Latin-1 characters (emoji and the like) as HTML entities, so
+ * that rendered bodies stay Latin-1 end to end; see {@link #escape}.
+ */
+public final class EmailTemplate {
+
+    private static final int INITIAL_BUFFER = 4 * 1024;
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_BUFFER));
+
+    private final String name;
+    private final int parameterCount;
+    /** {@code literals[i]} precedes slot {@code i}; the last literal closes the template. */
+    private final String[] literals;
+    private final int[] slots;
+    private final boolean[] raw;
+
+    private EmailTemplate(String name, int parameterCount, String[] literals, int[] slots, boolean[] raw) {
+        this.name = name;
+        this.parameterCount = parameterCount;
+        this.literals = literals;
+        this.slots = slots;
+        this.raw = raw;
+    }
+
+    /** Loads and compiles {@code email/<name>.html} from the classpath. */
+    public static EmailTemplate load(String name, String... parameters) {
+        try (InputStream in = new ClassPathResource("email/" + name + ".html").getInputStream()) {
+            return compile(name, new String(in.readAllBytes(), StandardCharsets.UTF_8), parameters);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Email template " + name + " could not be read", e);
+        }
+    }
+
+    public static EmailTemplate compile(String name, String source, String... parameters) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        List<Boolean> raw = new ArrayList<>();
+
+        int pos = 0;
+        while (true) {
+            int open = source.indexOf("{{", pos);
+            if (open < 0) {
+                break;
+            }
+            boolean isRaw = source.startsWith("{{{", open);
+            String close = isRaw ? "}}}" : "}}";
+            int start = open + (isRaw ? 3 : 2);
+            int end = source.indexOf(close, start);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder in email template " + name + " at " + open);
+            }
+            String placeholder = source.substring(start, end).trim();
+            int index = Arrays.asList(parameters).indexOf(placeholder);
+            if (index < 0) {
+                throw new IllegalArgumentException("Unknown placeholder {{" + placeholder + "}} in email template " + name);
+            }
+            literals.add(source.substring(pos, open));
+            slots.add(index);
+            raw.add(isRaw);
+            pos = end + close.length();
+        }
+        literals.add(source.substring(pos));
+
+        int[] slotArray = slots.stream().mapToInt(Integer::intValue).toArray();
+        boolean[] rawArray = new boolean[raw.size()];
+        for (int i = 0; i < rawArray.length; i++) {
+            rawArray[i] = raw.get(i);
+        }
+        return new EmailTemplate(name, parameters.length, literals.toArray(String[]::new), slotArray, rawArray);
+    }
+
+    /** Renders the template with {@code values} given in the order of the compiled parameter names. */
+    public String render(Object... values) {
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        appendTo(out, values);
+        String rendered = out.toString();
+        if (out.capacity() > MAX_RETAINED_BUFFER) {
+            BUFFER.set(new StringBuilder(INITIAL_BUFFER));
+        }
+        return rendered;
+    }
+
+    /** Renders into {@code out}, for fragments that are assembled into a larger template. */
+    public void appendTo(StringBuilder out, Object... values) {
+        if (values.length != parameterCount) {
+            throw new IllegalArgumentException("Email template " + name + " takes " + parameterCount
+                    + " values but got " + values.length);
+        }
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]);
+            Object value = values[slots[i]];
+            if (value == null) {
+                continue;
+            }
+            if (raw[i]) {
+                out.append(value);
+            } else {
+                escape(value instanceof CharSequence chars ? chars : value.toString(), out);
+            }
+        }
+        out.append(literals[slots.length]);
+    }
+
+    /**
+     * Escapes HTML metacharacters and writes anything outside Latin-1 as a numeric entity. Keeping
+     * the output Latin-1 lets the buffer and the rendered string stay at one byte per character.
+     */
+    static void escape(CharSequence value, StringBuilder out) {
+        int length = value.length();
+        int first = 0;
+        while (first < length && !needsEscape(value.charAt(first))) {
+            first++;
+        }
+        if (first == length) {
+            // Common case, appended in one copy.
+            out.append(value);
+            return;
+        }
+        out.append(value, 0, first);
+        int run = first;
+        for (int i = first; i < length; i++) {
+            char c = value.charAt(i);
+            if (!needsEscape(c)) {
+                continue;
+            }
+            String entity = switch (c) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+            if (entity != null) {
+                out.append(value, run, i).append(entity);
+                run = i + 1;
+            } else if (c > 0xFF) {
+                int codePoint = Character.codePointAt(value, i);
+                out.append(value, run, i).append("&#").append(codePoint).append(';');
+                i += Character.charCount(codePoint) - 1;
+                run = i + 1;
+            }
+        }
+        out.append(value, run, length);
+    }
+
+    private static boolean needsEscape(char c) {
+        return c > 0xFF || c == '&' || c == '<' || c == '>' || c == '"' || c == '\'';
+    }
+}
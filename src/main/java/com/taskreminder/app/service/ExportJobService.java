@@ -0,0 +1,300 @@
+package com.taskreminder.app.service;
+
+import com.taskreminder.app.entity.ExportJob;
+import com.taskreminder.app.entity.User;
+import com.taskreminder.app.enums.ExportFormat;
+import com.taskreminder.app.enums.ExportJobState;
+import com.taskreminder.app.repository.ExportJobRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Runs task exports in the background, off the request threads.
+ * <p>
+ * A submitted job is stored as {@link ExportJobState#QUEUED} and handed to a pool of
+ * {@code workers} threads with room for {@code queue-capacity} waiting jobs; when both are full
+ * the submit is refused rather than queued in memory without bound. A worker writes the file
+ * under {@code spool-dir/jobs}, which every node mounts from the same shared location so that any
+ * node can serve the download, or for an emailed export hands it to the email outbox. Finished
+ * files are kept for {@code file-ttl-minutes} and then deleted with their job.
+ * <p>
+ * The waiting queue lives only in this node's memory, so on startup the jobs this node left
+ * queued or running are started again. That is why {@code node-id} has no random default, unlike
+ * the lease-based node ids: it must be configured, and stay the same across restarts of a node.
+ */
+@Service
+public class ExportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportJobService.class);
+
+    @Autowired
+    private ExportJobRepository exportJobRepository;
+
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private UserService userService;
+
+    @Value("${app.export.node-id}")
+    private String nodeId;
+
+    @Value("${app.export.workers:2}")
+    private int workers;
+
+    @Value("${app.export.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${app.export.file-ttl-minutes:60}")
+    private long fileTtlMinutes;
+
+    @Value("${app.export.spool-dir:spool/exports}")
+    private String spoolDir;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() {
+        if (nodeId == null || nodeId.isBlank()) {
+            throw new IllegalStateException("app.export.node-id must be set to a stable id for this node");
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "export-worker-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /** Stores and starts a job; empty when the pool is saturated and the caller should try later. */
+    public Optional<ExportJob> submit(Integer userId, ExportFormat format, boolean gzip, boolean email) {
+        LocalDateTime now = LocalDateTime.now();
+        ExportJob job = exportJobRepository.save(
+                new ExportJob(userId, format, gzip, email, nodeId, now, now.plus(ttl())));
+        try {
+            executor.execute(() -> run(job.getId()));
+            return Optional.of(job);
+        } catch (RejectedExecutionException e) {
+            exportJobRepository.delete(job);
+            return Optional.empty();
+        }
+    }
+
+    /** Starts again the jobs this node had queued or running when it last stopped. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        List<ExportJob> interrupted = exportJobRepository.findByOwnerNodeAndStateIn(
+                nodeId, List.of(ExportJobState.QUEUED, ExportJobState.RUNNING));
+        for (ExportJob job : interrupted) {
+            job.setState(ExportJobState.QUEUED);
+            job.setExpiresAt(LocalDateTime.now().plus(ttl()));
+            exportJobRepository.save(job);
+            try {
+                executor.execute(() -> run(job.getId()));
+            } catch (RejectedExecutionException e) {
+                job.setState(ExportJobState.FAILED);
+                job.setError("Export queue was full after a restart");
+                job.setFinishedAt(LocalDateTime.now());
+                exportJobRepository.save(job);
+            }
+        }
+        if (!interrupted.isEmpty()) {
+            log.info("Restarted {} interrupted export jobs", interrupted.size());
+        }
+    }
+
+    public Optional<ExportJob> find(Long id, Integer userId) {
+        return exportJobRepository.findByIdAndUserId(id, userId);
+    }
+
+    /** The finished file of a download job, if it has not been deleted yet. */
+    public Optional<Path> file(ExportJob job) {
+        if (job.getState() != ExportJobState.DONE || job.getFilePath() == null) {
+            return Optional.empty();
+        }
+        Path path = resolve(job.getFilePath());
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    /**
+     * Deletes jobs past their expiry and their files, and any job file on this node older than
+     * the time to live, whichever node's job it was. Returns how many jobs were deleted.
+     */
+    public int purgeExpired(LocalDateTime now) {
+        int purged = 0;
+        while (true) {
+            List<ExportJob> expired = exportJobRepository.findExpired(now, PageRequest.of(0, 100));
+            if (expired.isEmpty()) {
+                break;
+            }
+            for (ExportJob job : expired) {
+                deleteFile(resolve(job.getFilePath()));
+            }
+            exportJobRepository.deleteAllInBatch(expired);
+            purged += expired.size();
+        }
+        sweepOrphans(now);
+        return purged;
+    }
+
+    private void run(Long jobId) {
+        Optional<ExportJob> queued = exportJobRepository.findById(jobId);
+        if (queued.isEmpty()) {
+            return;
+        }
+        ExportJob job = queued.get();
+        job.setState(ExportJobState.RUNNING);
+        job.setExpiresAt(LocalDateTime.now().plus(ttl()));
+        exportJobRepository.save(job);
+        Path file = null;
+        try {
+            file = createJobFile(job);
+            long rows;
+            try (OutputStream out = Files.newOutputStream(file)) {
+                rows = write(job, out);
+            }
+            job.setRowCount(rows);
+            job.setSizeBytes(Files.size(file));
+            if (job.isEmail()) {
+                queueEmail(job, file);
+            } else {
+                job.setFilePath(spoolRoot().relativize(file.toAbsolutePath()).toString());
+            }
+            job.setState(ExportJobState.DONE);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Export job {} of user {} failed", job.getId(), job.getUserId(), e);
+            if (file != null) {
+                deleteFile(file);
+            }
+            job.setState(ExportJobState.FAILED);
+            job.setError(truncate(e.getMessage()));
+        }
+        LocalDateTime finishedAt = LocalDateTime.now();
+        job.setFinishedAt(finishedAt);
+        job.setExpiresAt(finishedAt.plus(ttl()));
+        try {
+            exportJobRepository.save(job);
+        } catch (RuntimeException e) {
+            // The job ran past its time to live and was cleaned up meanwhile.
+            log.warn("Export job {} disappeared before it finished", jobId, e);
+            deleteFile(resolve(job.getFilePath()));
+        }
+    }
+
+    private long write(ExportJob job, OutputStream out) throws IOException {
+        if (!job.isGzip()) {
+            return taskExportService.write(job.getUserId(), job.getFormat(), out);
+        }
+        GZIPOutputStream zipped = new GZIPOutputStream(out, 8192);
+        long rows = taskExportService.write(job.getUserId(), job.getFormat(), zipped);
+        zipped.finish();
+        return rows;
+    }
+
+    private void queueEmail(ExportJob job, Path file) {
+        User user = userService.getUserById(job.getUserId())
+                .orElseThrow(() -> new IllegalStateException("User not found"));
+        emailService.queueExportEmail(user, job.getFormat().name(), job.getRowCount(), job.getFileName(),
+                job.isGzip() ? "application/gzip" : job.getFormat().getContentType(), file);
+    }
+
+    private Path createJobFile(ExportJob job) throws IOException {
+        if (job.isEmail()) {
+            // The outbox owns the file from here on and deletes it once the email is sent.
+            return taskExportService.createSpoolFile(job.getFormat());
+        }
+        Path dir = jobDir();
+        Files.createDirectories(dir);
+        return Files.createTempFile(dir, "job-" + job.getId() + "-", "." + job.getFormat().getExtension());
+    }
+
+    private void sweepOrphans(LocalDateTime now) {
+        Path dir = jobDir();
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        long cutoff = now.minus(ttl()).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toMillis() < cutoff) {
+                    deleteFile(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not sweep export files in {}", dir, e);
+        }
+    }
+
+    private void deleteFile(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete export file {}", path, e);
+        }
+    }
+
+    private Path jobDir() {
+        return spoolRoot().resolve("jobs");
+    }
+
+    private Path spoolRoot() {
+        return Paths.get(spoolDir).toAbsolutePath();
+    }
+
+    /** A stored file path, relative to the shared spool directory. */
+    private Path resolve(String filePath) {
+        return filePath == null ? null : spoolRoot().resolve(filePath);
+    }
+
+    private Duration ttl() {
+        return Duration.ofMinutes(fileTtlMinutes);
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+}
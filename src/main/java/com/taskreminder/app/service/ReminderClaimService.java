@@ -0,0 +1,145 @@
+package com.taskreminder.app.service;
+
+import com.taskreminder.app.dto.ReminderMailView;
+import com.taskreminder.app.repository.TaskRepository;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Hands out due reminders to scheduler nodes in bounded batches.
+ * <p>
+ * A claim locks the due rows with {@code FOR UPDATE SKIP LOCKED}, stamps them with the
+ * claiming node and a lease expiry, and commits straight away, so concurrent nodes never
+ * pick up the same reminder. Rows whose lease runs out (for example because the node died
+ * mid-batch) become claimable again.
+ * <p>
+ * Batches are returned as {@link ReminderMailView} projections rather than entities, so a
+ * large backlog never builds up in the persistence context.
+ */
+@Service
+public class ReminderClaimService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReminderClaimService.class);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Value("${app.reminder.digest.window-seconds:0}")
+    private long digestWindowSeconds;
+
+    private final AtomicLong remindersQueued = new AtomicLong();
+
+    private final AtomicLong emailsQueued = new AtomicLong();
+
+    @Transactional
+    public List<ReminderMailView> claimBatch(String nodeId, LocalDateTime now, int batchSize, Duration lease) {
+        List<Integer> ids = taskRepository.lockClaimableReminderIds(now, batchSize);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        taskRepository.claimReminders(ids, nodeId, now.plus(lease));
+        return taskRepository.findReminderMailViews(ids);
+    }
+
+    /**
+     * Claims specific reminders the in-memory engine believes are due. The database stays the
+     * source of truth: rows that were already sent, moved, or claimed by another node are skipped.
+     */
+    @Transactional
+    public List<ReminderMailView> claimDue(List<Integer> taskIds, String nodeId, LocalDateTime now, Duration lease) {
+        List<Integer> ids = taskRepository.lockClaimableReminderIds(taskIds, now);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        taskRepository.claimReminders(ids, nodeId, now.plus(lease));
+        return taskRepository.findReminderMailViews(ids);
+    }
+
+    /**
+     * Writes the reminder emails to the outbox and marks the tasks as reminded in one
+     * transaction, so a reminder is queued exactly once or not at all.
+     * <p>
+     * Reminders are coalesced per user, so each user gets a single email for the batch. Setting
+     * {@code digest.window-seconds} above zero also pulls forward the users' reminders due within
+     * that many seconds, trading punctuality for fewer emails; it is off by default.
+     */
+    @Transactional
+    public void handOff(List<ReminderMailView> batch, String nodeId) {
+        // Rows missing here had their lease expire and now belong to another node.
+        Set<Integer> owned = new HashSet<>(taskRepository.lockClaimedReminderIds(ids(batch), nodeId));
+        if (owned.isEmpty()) {
+            return;
+        }
+        taskRepository.completeClaimedReminders(List.copyOf(owned), nodeId);
+
+        List<ReminderMailView> due = new ArrayList<>();
+        for (ReminderMailView t : batch) {
+            if (owned.contains(t.getId())) {
+                due.add(t);
+            }
+        }
+        due.addAll(pullForward(due));
+
+        Map<Integer, List<ReminderMailView>> byUser = due.stream()
+                .collect(Collectors.groupingBy(ReminderMailView::getUserId, LinkedHashMap::new, Collectors.toList()));
+        byUser.values().forEach(emailService::queueTaskReminders);
+
+        remindersQueued.addAndGet(due.size());
+        emailsQueued.addAndGet(byUser.size());
+        if (due.size() > byUser.size()) {
+            log.debug("Coalesced {} reminders into {} emails", due.size(), byUser.size());
+        }
+    }
+
+    /** Claims the users' reminders that fall due within the digest window so they share an email. */
+    private List<ReminderMailView> pullForward(List<ReminderMailView> due) {
+        if (digestWindowSeconds <= 0) {
+            return List.of();
+        }
+        Set<Integer> userIds = due.stream().map(ReminderMailView::getUserId).collect(Collectors.toSet());
+        LocalDateTime now = LocalDateTime.now();
+        List<Integer> ids = taskRepository.lockUpcomingReminderIds(userIds, now, now.plusSeconds(digestWindowSeconds));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        taskRepository.markRemindersSent(ids);
+        return taskRepository.findReminderMailViews(ids);
+    }
+
+    /** Reminders this node has written to the outbox since startup. */
+    public long getRemindersQueued() {
+        return remindersQueued.get();
+    }
+
+    /** Reminder emails this node has written to the outbox since startup, a digest counting once. */
+    public long getEmailsQueued() {
+        return emailsQueued.get();
+    }
+
+    /** Emails this node avoided by coalescing reminders into digests. */
+    public long getEmailsSaved() {
+        return remindersQueued.get() - emailsQueued.get();
+    }
+
+    @Transactional
+    public void release(List<ReminderMailView> batch, String nodeId) {
+        taskRepository.releaseClaimedReminders(ids(batch), nodeId);
+    }
+
+    private static List<Integer> ids(List<ReminderMailView> batch) {
+        return batch.stream().map(ReminderMailView::getId).toList();
+    }
+}
@@ -0,0 +1,16 @@
+package com.taskreminder.app.service;
+
+import com.taskreminder.app.entity.Task;
+
+/**
+ * Receives task changes that affect when a reminder should fire. {@link TaskService} calls it
+ * after every save so that an in-memory schedule can follow edits made on this node; the
+ * implementation lives in the scheduler layer.
+ */
+public interface ReminderPlanner {
+
+    /** Schedules the task's reminder, or drops it if the task no longer needs one. */
+    void schedule(Task task);
+
+    void cancel(Integer taskId);
+}
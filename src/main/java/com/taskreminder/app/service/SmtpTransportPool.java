@@ -0,0 +1,244 @@
+package com.taskreminder.app.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a small pool of authenticated SMTP connections open so that each message does not pay
+ * for a TCP connect, STARTTLS handshake and AUTH round trip.
+ * <p>
+ * A connection is reused for up to {@code max-messages-per-connection} messages and then
+ * retired, since most providers cap messages per session. Connections that sat idle for longer
+ * than {@code validate-after-ms} are checked with a NOOP before use, idle ones are closed by
+ * {@link #evictIdle()}, and a connection that fails mid-send is discarded and the message is
+ * retried once on a fresh one.
+ */
+@Component
+public class SmtpTransportPool {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpTransportPool.class);
+
+    @Value("${spring.mail.host}")
+    private String host;
+
+    @Value("${spring.mail.port}")
+    private int port;
+
+    @Value("${spring.mail.username}")
+    private String username;
+
+    @Value("${spring.mail.password}")
+    private String password;
+
+    @Value("${spring.mail.properties.mail.smtp.starttls.enable:true}")
+    private boolean startTls;
+
+    @Value("${app.mail.pool.max-connections:4}")
+    private int maxConnections;
+
+    @Value("${app.mail.pool.max-messages-per-connection:100}")
+    private int maxMessagesPerConnection;
+
+    @Value("${app.mail.pool.idle-timeout-ms:60000}")
+    private long idleTimeoutMs;
+
+    @Value("${app.mail.pool.validate-after-ms:5000}")
+    private long validateAfterMs;
+
+    @Value("${app.mail.pool.borrow-timeout-ms:30000}")
+    private long borrowTimeoutMs;
+
+    @Value("${app.mail.pool.timeout-ms:10000}")
+    private long timeoutMs;
+
+    private Session session;
+
+    private Semaphore permits;
+
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+
+    private final AtomicLong opened = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        Properties props = new Properties();
+        props.put("mail.smtp.auth", "true");
+        props.put("mail.smtp.starttls.enable", String.valueOf(startTls));
+        props.put("mail.smtp.host", host);
+        props.put("mail.smtp.port", String.valueOf(port));
+        props.put("mail.smtp.connectiontimeout", String.valueOf(timeoutMs));
+        props.put("mail.smtp.timeout", String.valueOf(timeoutMs));
+        props.put("mail.smtp.writetimeout", String.valueOf(timeoutMs));
+        session = Session.getInstance(props, new Authenticator() {
+            @Override
+            protected PasswordAuthentication getPasswordAuthentication() {
+                return new PasswordAuthentication(username, password);
+            }
+        });
+        permits = new Semaphore(maxConnections, true);
+    }
+
+    /** The shared session that messages sent through this pool should be built with. */
+    public Session getSession() {
+        return session;
+    }
+
+    public void send(Message message) throws MessagingException {
+        acquirePermit();
+        try {
+            PooledConnection connection = borrow();
+            try {
+                connection.send(message);
+            } catch (MessagingException e) {
+                release(connection, e);
+                if (isRecipientRejection(e)) {
+                    throw e;
+                }
+                log.debug("Pooled SMTP connection failed, retrying on a new one", e);
+                connection = open();
+                try {
+                    connection.send(message);
+                } catch (MessagingException | RuntimeException retryFailure) {
+                    release(connection, retryFailure);
+                    throw retryFailure;
+                }
+            } catch (RuntimeException e) {
+                close(connection);
+                throw e;
+            }
+            giveBack(connection);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /** Closes connections that have not been used for {@code idle-timeout-ms}. */
+    @Scheduled(fixedDelayString = "${app.mail.pool.evict-ms:30000}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMs;
+        List<PooledConnection> expired = new ArrayList<>();
+        for (PooledConnection connection : idle) {
+            if (connection.lastUsed < cutoff && idle.remove(connection)) {
+                expired.add(connection);
+            }
+        }
+        expired.forEach(this::close);
+    }
+
+    public int idleCount() {
+        return idle.size();
+    }
+
+    /** Total SMTP connections opened since startup. */
+    public long openedCount() {
+        return opened.get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        PooledConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            close(connection);
+        }
+    }
+
+    private void acquirePermit() throws MessagingException {
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new MessagingException("Timed out waiting for an SMTP connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted waiting for an SMTP connection", e);
+        }
+    }
+
+    private static boolean isRecipientRejection(MessagingException e) {
+        if (!(e instanceof SendFailedException failed)) {
+            return false;
+        }
+        // A dropped connection also surfaces as SendFailedException, but without addresses.
+        Address[] invalid = failed.getInvalidAddresses();
+        return invalid != null && invalid.length > 0;
+    }
+
+    /**
+     * Hands a connection back after a failed send: the server refusing the addresses leaves it
+     * usable, anything else means it is broken and is closed.
+     */
+    private void release(PooledConnection connection, Exception failure) {
+        if (failure instanceof MessagingException e && isRecipientRejection(e)) {
+            giveBack(connection);
+        } else {
+            close(connection);
+        }
+    }
+
+    private PooledConnection borrow() throws MessagingException {
+        PooledConnection connection;
+        // Most recently used first, so surplus connections age out at the back of the deque.
+        while ((connection = idle.pollFirst()) != null) {
+            long idleFor = System.currentTimeMillis() - connection.lastUsed;
+            if (idleFor < validateAfterMs || connection.transport.isConnected()) {
+                return connection;
+            }
+            close(connection);
+        }
+        return open();
+    }
+
+    private PooledConnection open() throws MessagingException {
+        Transport transport = session.getTransport("smtp");
+        transport.connect();
+        opened.incrementAndGet();
+        return new PooledConnection(transport);
+    }
+
+    private void giveBack(PooledConnection connection) {
+        if (connection.sent >= maxMessagesPerConnection) {
+            close(connection);
+        } else {
+            idle.offerFirst(connection);
+        }
+    }
+
+    private void close(PooledConnection connection) {
+        try {
+            connection.transport.close();
+        } catch (MessagingException e) {
+            log.debug("Closing SMTP connection failed", e);
+        }
+    }
+
+    private static final class PooledConnection {
+
+        private final Transport transport;
+        private int sent;
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        private PooledConnection(Transport transport) {
+            this.transport = transport;
+        }
+
+        private void send(Message message) throws MessagingException {
+            message.saveChanges();
+            transport.sendMessage(message, message.getAllRecipients());
+            sent++;
+            lastUsed = System.currentTimeMillis();
+        }
+    }
+}
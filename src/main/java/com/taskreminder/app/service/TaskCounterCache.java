@@ -0,0 +1,105 @@
+package com.taskreminder.app.service;
+
+import com.taskreminder.app.entity.TaskCounts;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory mirror of {@code task_counter}, so repeated dashboard and sidebar reads of the same
+ * user cost no query at all.
+ * <p>
+ * A write on this node drops the writer's entry once its transaction commits. Writes on other
+ * nodes are picked up when the entry expires after {@code mirror-ttl-seconds}, and an entry
+ * counted on an earlier day is never served.
+ */
+@Component
+public class TaskCounterCache {
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    @Value("${app.counters.mirror-ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${app.counters.mirror-max-entries:100000}")
+    private int maxEntries;
+
+    private final Map<Integer, Entry> mirror = new ConcurrentHashMap<>();
+
+    public TaskCounts get(Integer userId) {
+        LocalDate today = LocalDate.now();
+        long now = System.currentTimeMillis();
+        Entry entry = mirror.get(userId);
+        if (entry != null && entry.countedOn.equals(today) && entry.expiresAt > now) {
+            return entry.counts;
+        }
+        TaskCounts counts;
+        try {
+            counts = taskCounterService.load(userId, today);
+        } catch (DataIntegrityViolationException e) {
+            // Another request created the row first; read that one.
+            counts = taskCounterService.load(userId, today);
+        }
+        if (mirror.size() < maxEntries) {
+            mirror.put(userId, new Entry(counts, today, now + ttlSeconds * 1000));
+        }
+        return counts;
+    }
+
+    /**
+     * Records a task write: {@code before} and {@code after} are what the task contributed to its
+     * owner's counts on either side of it, null for a task being created or deleted.
+     */
+    public void record(Integer userId, TaskCounts before, TaskCounts after) {
+        TaskCounts delta = (after != null ? after : new TaskCounts()).minus(before != null ? before : new TaskCounts());
+        if (delta.isZero()) {
+            return;
+        }
+        taskCounterService.increment(userId, delta);
+        evictAfterCommit(userId);
+    }
+
+    public void evict(Collection<Integer> userIds) {
+        userIds.forEach(mirror::remove);
+    }
+
+    /** Drops entries past their time to live, which would otherwise stay until overwritten. */
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        mirror.values().removeIf(entry -> entry.expiresAt <= now);
+    }
+
+    private void evictAfterCommit(Integer userId) {
+        mirror.remove(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Also after commit, in case a read on another thread reloaded the old row meanwhile.
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    mirror.remove(userId);
+                }
+            });
+        }
+    }
+
+    private static final class Entry {
+        private final TaskCounts counts;
+        private final LocalDate countedOn;
+        private final long expiresAt;
+
+        private Entry(TaskCounts counts, LocalDate countedOn, long expiresAt) {
+            this.counts = counts;
+            this.countedOn = countedOn;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
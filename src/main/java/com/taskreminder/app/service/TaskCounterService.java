@@ -0,0 +1,83 @@
+package com.taskreminder.app.service;
+
+import com.taskreminder.app.entity.TaskCounter;
+import com.taskreminder.app.entity.TaskCounts;
+import com.taskreminder.app.repository.TaskCounterRepository;
+import com.taskreminder.app.repository.TaskRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Database side of the per-user task counters in {@code task_counter}.
+ * <p>
+ * Task writes add their difference to the owner's row with a single relative {@code UPDATE}, in
+ * the writer's transaction, so a rolled-back write leaves the counts alone and concurrent writers
+ * never lose each other's changes. Recounts lock the counter rows before counting tasks: a writer
+ * still holding a row either commits first and is counted, or waits and applies its delta on top.
+ * A user without a row gets one from a recount on first read; {@link TaskCounterCache} fronts the
+ * reads.
+ */
+@Service
+public class TaskCounterService {
+
+    @Autowired
+    private TaskCounterRepository taskCounterRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    /**
+     * Adds {@code delta} to a user's counters. Has no effect for a user without a row yet, whose
+     * first read recounts from the tasks anyway.
+     */
+    @Transactional
+    public void increment(Integer userId, TaskCounts delta) {
+        taskCounterRepository.increment(userId, delta.getTotal(), delta.getPending(), delta.getInProgress(),
+                delta.getCompleted(), delta.getHighPriority(), delta.getMediumPriority(), delta.getLowPriority(),
+                delta.getOverdue(), delta.getDueToday(), delta.getTrashed(), LocalDateTime.now());
+    }
+
+    /** A user's counts as of {@code today}, creating or rolling over the row when needed. */
+    @Transactional
+    public TaskCounts load(Integer userId, LocalDate today) {
+        TaskCounter counter = taskCounterRepository.findById(userId).orElse(null);
+        if (counter != null && today.equals(counter.getCountedOn())) {
+            return counter.getCounts();
+        }
+        recount(List.of(userId), today);
+        return taskCounterRepository.findById(userId).map(TaskCounter::getCounts).orElseGet(TaskCounts::new);
+    }
+
+    /**
+     * Recounts a partition of users from their tasks and writes the result, creating missing rows.
+     * Returns the users whose stored counts for {@code today} were wrong; rows counted on an
+     * earlier day are expected to differ and are only rolled over.
+     */
+    @Transactional
+    public List<Integer> recount(List<Integer> userIds, LocalDate today) {
+        List<TaskCounter> counters = taskCounterRepository.lockByUserIds(userIds);
+        Map<Integer, TaskCounts> actual = TaskCounts.fold(taskRepository.countByUsers(userIds, today));
+
+        List<Integer> drifted = new ArrayList<>();
+        List<Integer> missing = new ArrayList<>(userIds);
+        for (TaskCounter counter : counters) {
+            missing.remove(counter.getUserId());
+            TaskCounts counts = actual.getOrDefault(counter.getUserId(), new TaskCounts());
+            if (today.equals(counter.getCountedOn()) && !counts.equals(counter.getCounts())) {
+                drifted.add(counter.getUserId());
+            }
+            counter.recounted(counts, today);
+        }
+        for (Integer userId : missing) {
+            taskCounterRepository.save(new TaskCounter(userId, actual.getOrDefault(userId, new TaskCounts()), today));
+        }
+        return drifted;
+    }
+}
@@ -0,0 +1,133 @@
+package com.taskreminder.app.service;
+
+import com.taskreminder.app.dto.TaskSummary;
+import com.taskreminder.app.enums.ExportFormat;
+import com.taskreminder.app.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Writes a user's tasks as CSV, newline-delimited JSON or an XLSX workbook straight to an output
+ * stream.
+ * <p>
+ * Tasks are read in id order, {@code chunk-size} summaries per keyset query, and each chunk is
+ * flushed before the next is read, so memory stays flat however many tasks the user has.
+ */
+@Service
+public class TaskExportService {
+
+    static final String CSV_HEADER = "ID,Title,Description,Status,Priority,Due Date,Created At,Completed At";
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Value("${app.export.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.export.spool-dir:spool/exports}")
+    private String spoolDir;
+
+    /** Writes every task outside the trash to {@code out}, which is left open. Returns the rows written. */
+    public long write(Integer userId, ExportFormat format, OutputStream out) throws IOException {
+        if (format == ExportFormat.XLSX) {
+            XlsxTaskWriter xlsx = new XlsxTaskWriter(out);
+            long rows = forEachChunk(userId, chunk -> {
+                for (TaskSummary task : chunk) {
+                    xlsx.row(task);
+                }
+                xlsx.flush();
+            });
+            xlsx.finish();
+            return rows;
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        long rows = forEachChunk(userId, chunk -> {
+            for (TaskSummary task : chunk) {
+                writer.write(format == ExportFormat.CSV ? csvRow(task) : jsonMapper.writeValueAsString(task));
+                writer.write('\n');
+            }
+            writer.flush();
+        });
+        return rows;
+    }
+
+    /** A new, empty file under the shared spool directory for an export that is sent on later, from any node. */
+    public Path createSpoolFile(ExportFormat format) throws IOException {
+        Path dir = Paths.get(spoolDir);
+        Files.createDirectories(dir);
+        return Files.createTempFile(dir, "tasks-", "." + format.getExtension());
+    }
+
+    private long forEachChunk(Integer userId, ChunkWriter chunkWriter) throws IOException {
+        long rows = 0;
+        int afterId = 0;
+        while (true) {
+            List<TaskSummary> chunk = taskRepository.findSummariesByUser_IdAndDeletedFalseAndIdGreaterThanOrderById(
+                    userId, afterId, PageRequest.of(0, chunkSize));
+            chunkWriter.write(chunk);
+            rows += chunk.size();
+            if (chunk.size() < chunkSize) {
+                return rows;
+            }
+            afterId = chunk.get(chunk.size() - 1).getId();
+        }
+    }
+
+    private interface ChunkWriter {
+        void write(List<TaskSummary> chunk) throws IOException;
+    }
+
+    private static String csvRow(TaskSummary task) {
+        return task.getId() + "," +
+                csvEscape(task.getTitle()) + "," +
+                csvEscape(task.getDescription()) + "," +
+                cell(task.getStatus()) + "," +
+                cell(task.getPriority()) + "," +
+                cell(task.getDueDate()) + "," +
+                cell(task.getCreatedAt()) + "," +
+                cell(task.getCompletedAt());
+    }
+
+    /** A missing value is an empty cell, which the import reads back as missing. */
+    private static String cell(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    static String csvEscape(String value) {
+        if (value == null) {
+            return "";
+        }
+
+        boolean hasSpecialChar =
+                value.contains(",") ||
+                        value.contains("\"") ||
+                        value.contains("\n") ||
+                        value.contains("\r");
+
+        String escaped = value.replace("\"", "\"\"");
+
+        return hasSpecialChar ? "\"" + escaped + "\"" : escaped;
+    }
+}
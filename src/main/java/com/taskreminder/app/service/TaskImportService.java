@@ -0,0 +1,235 @@
+package com.taskreminder.app.service;
+
+import com.taskreminder.app.dto.TaskImportError;
+import com.taskreminder.app.dto.TaskImportReport;
+import com.taskreminder.app.entity.Task;
+import com.taskreminder.app.enums.TaskPriority;
+import com.taskreminder.app.enums.TaskStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Creates tasks from a CSV file in the layout {@link TaskExportService} writes.
+ * <p>
+ * Columns are found by their header names, so the ID, Created At and Completed At columns of an
+ * export, and any column this import does not know, are ignored. The file is parsed a record at
+ * a time and valid rows are saved {@code batch-size} at a time through
+ * {@link TaskService#addTasks}, one transaction per batch; memory holds one batch and at most
+ * {@code max-errors} error messages however long the file is. A bad row is reported by its line
+ * number and skipped; it does not stop the rows around it from being saved. A batch the database
+ * refuses is saved again row by row, so that only the rows it refuses are reported.
+ * <p>
+ * An empty Due Date or Priority cell, as an export writes for a task without one, imports as
+ * missing.
+ */
+@Service
+public class TaskImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImportService.class);
+
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Value("${app.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.import.max-rows:1000000}")
+    private long maxRows;
+
+    @Value("${app.import.max-errors:1000}")
+    private int maxErrors;
+
+    @Value("${app.import.max-row-chars:10000}")
+    private int maxRowChars;
+
+    /**
+     * Imports every valid row of {@code in} for the user. Throws IllegalArgumentException when the
+     * header lacks a required column, before anything is saved.
+     */
+    public TaskImportReport importCsv(Integer userId, InputStream in) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new InputStreamReader(in, StandardCharsets.UTF_8), maxRowChars);
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new IllegalArgumentException("The file is empty");
+        }
+        Columns columns = new Columns(header);
+
+        Progress progress = new Progress();
+        List<Task> batch = new ArrayList<>(batchSize);
+        List<Integer> batchLines = new ArrayList<>(batchSize);
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            int line = reader.recordLine();
+            if (++progress.rows > maxRows) {
+                progress.rows--;
+                progress.error(line, "Stopped after " + maxRows + " rows; split the file to import the rest");
+                break;
+            }
+            String problem = reader.problem();
+            Task task = null;
+            if (problem == null) {
+                try {
+                    task = columns.task(record);
+                } catch (IllegalArgumentException e) {
+                    problem = e.getMessage();
+                }
+            }
+            if (task == null) {
+                progress.failed++;
+                progress.error(line, problem);
+                continue;
+            }
+            batch.add(task);
+            batchLines.add(line);
+            if (batch.size() == batchSize) {
+                save(userId, batch, batchLines, progress);
+                batch = new ArrayList<>(batchSize);
+                batchLines.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            save(userId, batch, batchLines, progress);
+        }
+        return new TaskImportReport(progress.rows, progress.imported, progress.failed, progress.errors,
+                progress.truncated);
+    }
+
+    private void save(Integer userId, List<Task> batch, List<Integer> lines, Progress progress) {
+        try {
+            taskService.addTasks(batch, userId);
+            progress.imported += batch.size();
+        } catch (RuntimeException e) {
+            log.warn("Could not save an import batch of {} tasks for user {}; retrying row by row",
+                    batch.size(), userId, e);
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    taskService.addTasks(List.of(batch.get(i)), userId);
+                    progress.imported++;
+                } catch (RuntimeException rowFailure) {
+                    progress.failed++;
+                    progress.error(lines.get(i), "Could not be saved");
+                }
+            }
+        }
+    }
+
+    private final class Progress {
+        long rows;
+        long imported;
+        long failed;
+        final List<TaskImportError> errors = new ArrayList<>();
+        boolean truncated;
+
+        void error(long line, String message) {
+            if (errors.size() < maxErrors) {
+                errors.add(new TaskImportError(line, message));
+            } else {
+                truncated = true;
+            }
+        }
+    }
+
+    /** Where each column this import reads sits in the header. */
+    private static final class Columns {
+        private final int title;
+        private final int description;
+        private final int status;
+        private final int priority;
+        private final int dueDate;
+
+        Columns(List<String> header) {
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).strip();
+                if (i == 0 && name.startsWith("\uFEFF")) {
+                    name = name.substring(1);
+                }
+                positions.putIfAbsent(name.toLowerCase(Locale.ROOT), i);
+            }
+            title = required(positions, "Title");
+            description = positions.getOrDefault("description", -1);
+            status = positions.getOrDefault("status", -1);
+            priority = required(positions, "Priority");
+            dueDate = required(positions, "Due Date");
+        }
+
+        Task task(List<String> record) {
+            String title = text(record, this.title, "Title");
+            if (title == null) {
+                throw new IllegalArgumentException("Title is required");
+            }
+            String description = text(record, this.description, "Description");
+
+            String dueDateValue = value(record, this.dueDate);
+            LocalDate dueDate = null;
+            if (dueDateValue != null) {
+                try {
+                    dueDate = LocalDate.parse(dueDateValue);
+                } catch (DateTimeParseException e) {
+                    throw new IllegalArgumentException("Due Date '" + dueDateValue + "' is not a yyyy-MM-dd date");
+                }
+            }
+
+            String priorityValue = value(record, this.priority);
+            TaskPriority priority = priorityValue == null ? null
+                    : constant(TaskPriority.class, priorityValue, "Priority");
+
+            String statusValue = value(record, this.status);
+            TaskStatus status = statusValue == null ? TaskStatus.PENDING
+                    : constant(TaskStatus.class, statusValue, "Status");
+
+            return new Task(title, description, dueDate, status, priority);
+        }
+
+        private static int required(Map<String, Integer> positions, String name) {
+            Integer position = positions.get(name.toLowerCase(Locale.ROOT));
+            if (position == null) {
+                throw new IllegalArgumentException("The header has no '" + name + "' column");
+            }
+            return position;
+        }
+
+        private static String text(List<String> record, int column, String name) {
+            String value = value(record, column);
+            if (value != null && value.length() > MAX_TEXT_LENGTH) {
+                throw new IllegalArgumentException(name + " is longer than " + MAX_TEXT_LENGTH + " characters");
+            }
+            return value;
+        }
+
+        private static String value(List<String> record, int column) {
+            if (column < 0 || column >= record.size()) {
+                return null;
+            }
+            String value = record.get(column).strip();
+            return value.isEmpty() ? null : value;
+        }
+
+        private static <E extends Enum<E>> E constant(Class<E> type, String value, String name) {
+            try {
+                return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(name + " '" + value + "' is not one of "
+                        + Arrays.toString(type.getEnumConstants()));
+            }
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.taskreminder.app.service;
+
+import com.taskreminder.app.dto.SearchHits;
+import com.taskreminder.app.dto.SearchPostingView;
+import com.taskreminder.app.dto.TaskSearchSource;
+import com.taskreminder.app.entity.Task;
+import com.taskreminder.app.entity.TaskSearchTerm;
+import com.taskreminder.app.repository.TaskRepository;
+import com.taskreminder.app.repository.TaskSearchTermRepository;
+import com.taskreminder.app.repository.TaskSpecifications;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index over task titles and descriptions, stored per user in {@code task_search_term}.
+ * <p>
+ * Text is split into lower-cased words and each distinct word becomes one posting, keyed by
+ * {@code (user_id, term)} so that a query word is read as an index range of the words it
+ * prefixes. A task matches when every query word does, found by intersecting those posting lists,
+ * and is ranked by the summed weight of the postings hit: title words count {@value #TITLE_WEIGHT}
+ * times a description word, and a whole-word hit counts double a prefix hit.
+ * {@code TaskService} keeps the index in step with its writes; {@link #rebuildAll()} recreates it
+ * from the task table.
+ */
+@Service
+public class TaskSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchService.class);
+
+    static final int MIN_TERM_LENGTH = 2;
+    static final int MAX_TERM_LENGTH = 20;
+    static final int MAX_QUERY_TERMS = 8;
+    static final int TITLE_WEIGHT = 3;
+    static final int DESCRIPTION_WEIGHT = 1;
+
+    @Autowired
+    private TaskSearchTermRepository taskSearchTermRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Value("${app.search.rebuild-chunk-size:500}")
+    private int rebuildChunkSize;
+
+    @Value("${app.search.max-hits:5000}")
+    private int maxHits;
+
+    @Value("${app.search.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    /** Indexes an existing installation whose tasks predate the search index. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (!backfillOnStartup || !taskSearchTermRepository.findAnyTaskIds(PageRequest.of(0, 1)).isEmpty()) {
+            return;
+        }
+        if (taskRepository.count() > 0) {
+            rebuildAll();
+        }
+    }
+
+    /**
+     * Intersects the posting lists of {@code terms} for one user. Each term is one index range
+     * read of at most {@code max-hits} postings; past that the hits are reported as overflowing.
+     */
+    public SearchHits search(Integer userId, List<String> terms) {
+        Map<Integer, Integer> scores = null;
+        for (String term : terms) {
+            List<SearchPostingView> postings = taskSearchTermRepository.findPostings(
+                    userId, TaskSpecifications.startsWithPattern(term), PageRequest.of(0, maxHits + 1));
+            if (postings.size() > maxHits) {
+                return new SearchHits(terms, Map.of(), true);
+            }
+            Map<Integer, Integer> termScores = new HashMap<>();
+            for (SearchPostingView posting : postings) {
+                int weight = posting.getTerm().equals(term) ? 2 * posting.getWeight() : posting.getWeight();
+                termScores.merge(posting.getTaskId(), weight, Integer::sum);
+            }
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((taskId, score) -> score + termScores.get(taskId));
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        return new SearchHits(terms, scores, false);
+    }
+
+    @Transactional
+    public void index(Task task) {
+        taskSearchTermRepository.deleteByTaskIds(List.of(task.getId()));
+        taskSearchTermRepository.saveAll(postingsFor(task.getId(), task.getUser().getId(),
+                task.getTitle(), task.getDescription()));
+    }
+
+    /** Indexes tasks written together: one delete and one batch of inserts for all of them. */
+    @Transactional
+    public void index(Collection<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        taskSearchTermRepository.deleteByTaskIds(tasks.stream().map(Task::getId).toList());
+        List<TaskSearchTerm> postings = new ArrayList<>();
+        for (Task task : tasks) {
+            postings.addAll(postingsFor(task.getId(), task.getUser().getId(), task.getTitle(), task.getDescription()));
+        }
+        taskSearchTermRepository.saveAll(postings);
+    }
+
+    public void remove(Collection<Integer> taskIds) {
+        if (!taskIds.isEmpty()) {
+            taskSearchTermRepository.deleteByTaskIds(taskIds);
+        }
+    }
+
+    /** Drops one user's postings whose task no longer exists, e.g. after the trash was emptied. */
+    public void removeOrphans(Integer userId) {
+        taskSearchTermRepository.deleteOrphansByUserId(userId);
+    }
+
+    /** Drops and recreates one user's postings. */
+    public void rebuild(Integer userId) {
+        taskSearchTermRepository.deleteByUserId(userId);
+        int afterId = 0;
+        while (true) {
+            List<TaskSearchSource> chunk = taskRepository.findSearchSourcesForUser(
+                    userId, afterId, PageRequest.of(0, rebuildChunkSize));
+            taskSearchTermRepository.saveAll(postingsFor(chunk));
+            if (chunk.size() < rebuildChunkSize) {
+                return;
+            }
+            afterId = chunk.get(chunk.size() - 1).getId();
+        }
+    }
+
+    /** Reindexes every task in id order, one chunk per transaction. */
+    public void rebuildAll() {
+        int afterId = 0;
+        int indexed = 0;
+        while (true) {
+            List<TaskSearchSource> chunk = taskRepository.findSearchSources(afterId, PageRequest.of(0, rebuildChunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            try {
+                taskSearchTermRepository.deleteByTaskIds(chunk.stream().map(TaskSearchSource::getId).toList());
+                taskSearchTermRepository.saveAll(postingsFor(chunk));
+            } catch (DataAccessException e) {
+                // Another node rebuilding the same chunk; its postings are just as good.
+                log.warn("Search index rebuild of tasks after id {} failed", afterId, e);
+            }
+            indexed += chunk.size();
+            if (chunk.size() < rebuildChunkSize) {
+                break;
+            }
+            afterId = chunk.get(chunk.size() - 1).getId();
+        }
+        log.info("Rebuilt search index for {} tasks", indexed);
+    }
+
+    /** The distinct index terms of a search keyword, or an empty list if it has none to look up. */
+    public static List<String> queryTerms(String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            return List.of();
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        for (String word : words(keyword)) {
+            if (word.length() >= MIN_TERM_LENGTH && terms.size() < MAX_QUERY_TERMS) {
+                terms.add(truncate(word));
+            }
+        }
+        return List.copyOf(terms);
+    }
+
+    /** Term weights for one task's text. */
+    static Map<String, Integer> terms(String title, String description) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        addTerms(weights, title, TITLE_WEIGHT);
+        addTerms(weights, description, DESCRIPTION_WEIGHT);
+        return weights;
+    }
+
+    private static void addTerms(Map<String, Integer> weights, String text, int weight) {
+        if (text == null) {
+            return;
+        }
+        for (String word : words(text)) {
+            if (word.length() >= MIN_TERM_LENGTH) {
+                weights.merge(truncate(word), weight, Integer::sum);
+            }
+        }
+    }
+
+    /** Lower-cased runs of letters and digits. */
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    private static String truncate(String word) {
+        return word.length() > MAX_TERM_LENGTH ? word.substring(0, MAX_TERM_LENGTH) : word;
+    }
+
+    private static List<TaskSearchTerm> postingsFor(List<TaskSearchSource> sources) {
+        List<TaskSearchTerm> postings = new ArrayList<>();
+        for (TaskSearchSource source : sources) {
+            postings.addAll(postingsFor(source.getId(), source.getUserId(), source.getTitle(), source.getDescription()));
+        }
+        return postings;
+    }
+
+    private static List<TaskSearchTerm> postingsFor(Integer taskId, Integer userId, String title, String description) {
+        List<TaskSearchTerm> postings = new ArrayList<>();
+        terms(title, description).forEach((term, weight) -> postings.add(new TaskSearchTerm(taskId, term, userId, weight)));
+        return postings;
+    }
+}
@@ -1,19 +1,50 @@
 package com.taskreminder.app.service;
 
+import com.taskreminder.app.dto.BulkTaskResult;
+import com.taskreminder.app.dto.DashboardStats;
+import com.taskreminder.app.dto.SearchHits;
+import com.taskreminder.app.dto.TaskCursor;
+import com.taskreminder.app.dto.TaskFilter;
+import com.taskreminder.app.dto.TaskIdView;
+import com.taskreminder.app.dto.TaskOverview;
+import com.taskreminder.app.dto.TaskSlice;
+import com.taskreminder.app.dto.TaskSummary;
+import com.taskreminder.app.dto.TrashedTaskView;
 import com.taskreminder.app.entity.Task;
+import com.taskreminder.app.entity.TaskCounts;
 import com.taskreminder.app.entity.User;
 import com.taskreminder.app.repository.TaskRepository;
+import com.taskreminder.app.repository.TaskSpecifications;
 import com.taskreminder.app.enums.TaskPriority;
+import com.taskreminder.app.enums.TaskSortField;
 import com.taskreminder.app.enums.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 @Service
 public class TaskService {
@@ -24,12 +55,46 @@ public class TaskService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ReminderPlanner reminderPlanner;
+
+    @Autowired
+    private TaskSearchService taskSearchService;
+
+    @Autowired
+    private TaskCounterCache taskCounterCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private static final int SCROLL_CHUNK_SIZE = 500;
+    private static final int DASHBOARD_RECENT_TASKS = 5;
+    private static final int UPCOMING_DAYS = 7;
+
+    @Transactional
     public Task addTask(Task task) {
         if (task.getStatus() == null) {
             task.setStatus(TaskStatus.PENDING);
         }
         task.setCreatedAt(LocalDate.now());
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        taskCounterCache.record(saved.getUser().getId(), null, counts(saved));
+        reminderPlanner.schedule(saved);
+        taskSearchService.index(saved);
+        return saved;
+    }
+
+    /** Creates a task for {@code userId}, ignoring any id or trash state the request carried. */
+    @Transactional
+    public Task addTask(Task task, Integer userId) {
+        User user = userService.getUserById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        task.setId(null);
+        task.setUser(user);
+        task.setDeleted(false);
+        task.setDeletedAt(null);
+        task.setCompletedAt(task.getStatus() == TaskStatus.COMPLETED ? LocalDate.now() : null);
+        return addTask(task);
     }
 
 
@@ -39,24 +104,34 @@ public class TaskService {
                 .orElse(null);
     }
 
+    @Transactional
     public Task updateTask(Task task, Integer userId) {
         Task existing = findByIdAndUserId(task.getId(), userId);
         if (existing == null) {
             throw new RuntimeException("Task not found");
         }
+        TaskCounts before = counts(existing);
         task.setUser(existing.getUser());
         task.setCreatedAt(existing.getCreatedAt());
         task.setDeleted(existing.isDeleted());
+        task.setVersion(existing.getVersion());
 
-        if (task.getStatus() == TaskStatus.COMPLETED && existing.getStatus() != TaskStatus.COMPLETED) {
+        if (task.getStatus() != TaskStatus.COMPLETED) {
+            task.setCompletedAt(null);
+        } else if (existing.getStatus() != TaskStatus.COMPLETED) {
             task.setCompletedAt(LocalDate.now());
         } else {
             task.setCompletedAt(existing.getCompletedAt());
         }
 
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        taskCounterCache.record(userId, before, counts(saved));
+        reminderPlanner.schedule(saved);
+        taskSearchService.index(saved);
+        return saved;
     }
 
+    @Transactional
     public void moveToTrash(Integer id, Integer userId) {
         Task task = taskRepository.findByIdAndUserIdIncludingDeleted(id, userId)
                 .orElseThrow(() ->
@@ -66,14 +141,19 @@ public class TaskService {
             throw new IllegalStateException("Task is already in Trash");
         }
 
+        TaskCounts before = counts(task);
         task.setDeleted(true);
         task.setDeletedAt(LocalDateTime.now());
         taskRepository.save(task);
+        taskCounterCache.record(userId, before, counts(task));
+        reminderPlanner.cancel(task.getId());
     }
 
+    @Transactional
     public void restoreTask(Integer id, Integer userId) {
         Task task = taskRepository.findByIdAndUserIdIncludingDeleted(id, userId)
                 .orElseThrow(() -> new RuntimeException("Task not found or you do not have permission"));
+        TaskCounts before = counts(task);
 
         User user = userService.getUserById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -82,8 +162,11 @@ public class TaskService {
         task.setDeleted(false);
         task.setDeletedAt(null);
         taskRepository.save(task);
+        taskCounterCache.record(userId, before, counts(task));
+        reminderPlanner.schedule(task);
     }
 
+    @Transactional
     public void permanentDelete(Integer id, Integer userId) {
         Task task = taskRepository
                 .findByIdAndUserIdAndDeletedTrue(id, userId)
@@ -91,22 +174,55 @@ public class TaskService {
                         new RuntimeException("Task not found or you do not have permission"));
 
         taskRepository.delete(task);
+        taskCounterCache.record(userId, counts(task), null);
+        taskSearchService.remove(List.of(task.getId()));
     }
 
-    public List<Task> getTrashedTasks(Integer userId) {
-        return taskRepository.findByUser_IdAndDeletedTrue(userId);
+    public List<TaskSummary> getTrashedTasks(Integer userId) {
+        return taskRepository.findSummariesByUser_IdAndDeletedTrue(userId);
     }
 
+    @Transactional
     public void emptyTrash(Integer userId) {
-        List<Task> trashedTasks = taskRepository.findByUser_IdAndDeletedTrue(userId);
+        // Deleted by owner rather than by id, so no statement grows with the size of the trash.
+        int deleted = taskRepository.deleteTrashedByUserId(userId);
 
-        if (trashedTasks.isEmpty()) {
+        if (deleted == 0) {
             throw new RuntimeException("Trash is already empty");
         }
 
-        taskRepository.deleteAll(trashedTasks);
+        taskSearchService.removeOrphans(userId);
+        taskCounterCache.record(userId, TaskCounts.trashed(deleted), null);
     }
 
+    /**
+     * Permanently deletes up to {@code limit} tasks trashed before {@code cutoff}, oldest first.
+     * Returns how many were deleted; fewer than {@code limit} means none are left.
+     */
+    @Transactional
+    public int purgeTrashedBefore(LocalDateTime cutoff, int limit) {
+        List<TrashedTaskView> trashed = taskRepository.lockTrashedBefore(cutoff, PageRequest.of(0, limit));
+        if (trashed.isEmpty()) {
+            return 0;
+        }
+        return purge(trashed);
+    }
+
+    /**
+     * Deletes locked trash rows and their search postings with one statement each, however many
+     * there are, then takes them off their owners' trash counts.
+     */
+    private int purge(List<TrashedTaskView> trashed) {
+        List<Integer> ids = trashed.stream().map(TrashedTaskView::getId).toList();
+        taskSearchService.remove(ids);
+        int deleted = taskRepository.deleteByIds(ids);
+        Map<Integer, Long> perUser = trashed.stream()
+                .collect(Collectors.groupingBy(TrashedTaskView::getUserId, Collectors.counting()));
+        perUser.forEach((userId, count) -> taskCounterCache.record(userId, TaskCounts.trashed(count), null));
+        return deleted;
+    }
+
+    @Transactional
     public void markTask(Integer id, Integer userId) {
         Task task = findByIdAndUserId(id, userId);
         if (task == null) {
@@ -121,115 +237,311 @@ public class TaskService {
             throw new IllegalStateException("Task already completed");
         }
 
+        TaskCounts before = counts(task);
         task.setStatus(TaskStatus.COMPLETED);
         task.setCompletedAt(LocalDate.now());
         taskRepository.save(task);
+        taskCounterCache.record(userId, before, counts(task));
+        reminderPlanner.cancel(task.getId());
     }
 
-    public Page<Task> getPagedTasks(Integer userId, Pageable pageable, TaskStatus status, TaskPriority priority, String keyword) {
-        boolean hasStatus = status != null;
-        boolean hasPriority = priority != null;
-        boolean hasKeyword = keyword != null && !keyword.isBlank();
-
-        if (hasStatus && hasPriority && hasKeyword) {
-            return taskRepository.findByUser_IdAndDeletedFalseAndStatusAndPriorityAndTitleContainingIgnoreCase(
-                    userId, status, priority, keyword, pageable);
+    /**
+     * Creates {@code tasks} for one user in a single transaction. Ids come in blocks from
+     * {@code id_block}, so Hibernate sends the inserts, and their search postings, in JDBC batches.
+     */
+    @Transactional
+    public List<Task> addTasks(List<Task> tasks, Integer userId) {
+        User user = userService.getUserById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        LocalDate today = LocalDate.now();
+        for (Task task : tasks) {
+            task.setId(null);
+            task.setUser(user);
+            task.setDeleted(false);
+            task.setDeletedAt(null);
+            if (task.getStatus() == null) {
+                task.setStatus(TaskStatus.PENDING);
+            }
+            task.setCreatedAt(today);
+            task.setCompletedAt(task.getStatus() == TaskStatus.COMPLETED ? today : null);
+        }
+        List<Task> saved = taskRepository.saveAll(tasks);
+        TaskCounts added = new TaskCounts();
+        for (Task task : saved) {
+            added = added.plus(counts(task));
+            reminderPlanner.schedule(task);
         }
+        taskCounterCache.record(userId, null, added);
+        taskSearchService.index(saved);
+        return saved;
+    }
+
+    public List<TaskSummary> getTasksByIds(Integer userId, Collection<Integer> ids) {
+        return taskRepository.findSummariesByUser_IdAndDeletedFalseAndIdIn(userId, ids);
+    }
+
+    @Transactional
+    public BulkTaskResult updateStatus(Integer userId, Collection<Integer> ids, TaskStatus status) {
+        LocalDate today = LocalDate.now();
+        return updateAll(userId, ids, task -> !task.isDeleted() && task.getStatus() != status, task -> {
+            task.setCompletedAt(status == TaskStatus.COMPLETED ? today : null);
+            task.setStatus(status);
+        });
+    }
+
+    @Transactional
+    public BulkTaskResult updatePriority(Integer userId, Collection<Integer> ids, TaskPriority priority) {
+        return updateAll(userId, ids, task -> !task.isDeleted() && task.getPriority() != priority,
+                task -> task.setPriority(priority));
+    }
+
+    @Transactional
+    public BulkTaskResult moveToTrash(Integer userId, Collection<Integer> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        return updateAll(userId, ids, task -> !task.isDeleted(), task -> {
+            task.setDeleted(true);
+            task.setDeletedAt(now);
+        });
+    }
 
-        if (hasStatus && hasPriority) {
-            return taskRepository.findByUser_IdAndDeletedFalseAndStatusAndPriority(userId, status, priority, pageable);
+    @Transactional
+    public BulkTaskResult restoreTasks(Integer userId, Collection<Integer> ids) {
+        return updateAll(userId, ids, Task::isDeleted, task -> {
+            task.setDeleted(false);
+            task.setDeletedAt(null);
+        });
+    }
+
+    /**
+     * Loads the user's tasks among {@code ids} in one query and applies {@code change} to those it
+     * fits. The changed rows are flushed as one batch of updates; counters and reminders follow.
+     */
+    private BulkTaskResult updateAll(Integer userId, Collection<Integer> ids, Predicate<Task> applies,
+                                     Consumer<Task> change) {
+        Set<Integer> skipped = new LinkedHashSet<>(ids);
+        TaskCounts before = new TaskCounts();
+        TaskCounts after = new TaskCounts();
+        int updated = 0;
+        for (Task task : taskRepository.findByUser_IdAndIdIn(userId, skipped)) {
+            if (!applies.test(task)) {
+                continue;
+            }
+            before = before.plus(counts(task));
+            change.accept(task);
+            after = after.plus(counts(task));
+            reminderPlanner.schedule(task);
+            skipped.remove(task.getId());
+            updated++;
         }
+        taskCounterCache.record(userId, before, after);
+        return new BulkTaskResult(updated, List.copyOf(skipped));
+    }
+
+    private static TaskCounts counts(Task task) {
+        return TaskCounts.of(task, LocalDate.now());
+    }
 
-        if (hasStatus && hasKeyword) {
-            return taskRepository.findByUser_IdAndDeletedFalseAndStatusAndTitleContainingIgnoreCase(userId, status, keyword, pageable);
+    public Page<Task> getPagedTasks(Integer userId, Pageable pageable, TaskStatus status, TaskPriority priority, String keyword) {
+        return getPagedTasks(userId, new TaskFilter(status, priority, keyword), pageable);
+    }
+
+    public Page<Task> getPagedTasks(Integer userId, TaskFilter filter, Pageable pageable) {
+        SearchHits hits = search(userId, filter);
+        Specification<Task> spec = TaskSpecifications.matching(userId, filter, hits);
+        if (hits == null || pageable.getSort().isSorted()) {
+            return taskRepository.findAll(spec, pageable);
+        }
+        if (hits.isOverflow()) {
+            return taskRepository.findAll(spec.and(TaskSpecifications.rankedBy(hits.getTerms())), pageable);
         }
+        return rankedPage(spec, hits.getScores(), pageable);
+    }
 
-        if (hasPriority && hasKeyword) {
-            return taskRepository.findByUser_IdAndDeletedFalseAndPriorityAndTitleContainingIgnoreCase(userId, priority, keyword, pageable);
+    /** Orders the filtered search hits by score in memory and loads only the requested page. */
+    private Page<Task> rankedPage(Specification<Task> spec, Map<Integer, Integer> scores, Pageable pageable) {
+        if (scores.isEmpty()) {
+            return Page.empty(pageable);
         }
+        List<Integer> ids = taskRepository.findBy(spec, query -> query.as(TaskIdView.class).all())
+                .stream()
+                .map(TaskIdView::getId)
+                .sorted(Comparator.comparing((Integer id) -> scores.get(id)).reversed()
+                        .thenComparing(Comparator.naturalOrder()))
+                .toList();
+        List<Integer> pageIds = ids;
+        if (pageable.isPaged()) {
+            int from = (int) Math.min(pageable.getOffset(), ids.size());
+            pageIds = ids.subList(from, Math.min(from + pageable.getPageSize(), ids.size()));
+        }
+        Map<Integer, Task> tasks = new HashMap<>();
+        taskRepository.findAllById(pageIds).forEach(task -> tasks.put(task.getId(), task));
+        List<Task> content = pageIds.stream().map(tasks::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(content, pageable, ids.size());
+    }
 
-        if (hasStatus) {
-            return taskRepository.findByUser_IdAndDeletedFalseAndStatus(userId, status, pageable);
+    private SearchHits search(Integer userId, TaskFilter filter) {
+        List<String> terms = TaskSearchService.queryTerms(filter.getKeyword());
+        return terms.isEmpty() ? null : taskSearchService.search(userId, terms);
+    }
+
+    /**
+     * One page of the user's tasks by keyset pagination: the page after (or, for a backward token,
+     * before) the row named by {@code cursor}, or the first page when it is null. The query seeks
+     * straight to the boundary and reads {@code size + 1} rows to learn whether more follow, so it
+     * costs the same on any page and never runs a count.
+     */
+    public TaskSlice<Task> scrollTasks(Integer userId, TaskFilter filter, TaskSortField field, boolean descending,
+                                 String cursor, int size) {
+        TaskCursor position = cursor == null || cursor.isBlank() ? null : TaskCursor.decode(cursor);
+        if (position != null && (position.getField() != field || position.isDescending() != descending)) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
         }
+        boolean backward = position != null && position.isBackward();
+        // A backward page is read in reverse order from the boundary and flipped afterwards.
+        boolean readDescending = descending != backward;
 
-        if (hasPriority) {
-            return taskRepository.findByUser_IdAndDeletedFalseAndPriority(userId, priority, pageable);
+        Specification<Task> spec = TaskSpecifications.matching(userId, filter, search(userId, filter));
+        if (position != null) {
+            spec = spec.and(TaskSpecifications.after(field, field.parse(position.getValue()), position.getId(), readDescending));
+        }
+        List<Task> rows = findOrdered(spec, field, readDescending, size + 1);
+        boolean more = rows.size() > size;
+        List<Task> content = new ArrayList<>(more ? rows.subList(0, size) : rows);
+        if (backward) {
+            Collections.reverse(content);
+        }
+        if (content.isEmpty()) {
+            return new TaskSlice<>(content, null, null);
         }
 
-        if (hasKeyword) {
-            return taskRepository.findByUser_IdAndDeletedFalseAndTitleContainingIgnoreCase(userId, keyword, pageable);
+        boolean hasNext = backward || more;
+        boolean hasPrevious = backward ? more : position != null;
+        String next = hasNext ? cursorFor(content.get(content.size() - 1), field, descending, false) : null;
+        String previous = hasPrevious ? cursorFor(content.get(0), field, descending, true) : null;
+        return new TaskSlice<>(content, next, previous);
+    }
+
+    /**
+     * Hands every matching task to {@code consumer} in keyset-paginated chunks of {@code chunkSize}.
+     * Each chunk is detached once it has been copied into summaries, so a long walk does not pile up
+     * in an open-session-in-view persistence context.
+     */
+    public void forEachTaskChunk(Integer userId, TaskFilter filter, TaskSortField field, boolean descending,
+                                 int chunkSize, Consumer<List<TaskSummary>> consumer) {
+        Specification<Task> base = TaskSpecifications.matching(userId, filter, search(userId, filter));
+        Task last = null;
+        while (true) {
+            Specification<Task> spec = last == null
+                    ? base
+                    : base.and(TaskSpecifications.after(field, field.valueOf(last), last.getId(), descending));
+            List<Task> chunk = findOrdered(spec, field, descending, chunkSize);
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<TaskSummary> summaries = chunk.stream().map(TaskSummary::of).toList();
+            chunk.forEach(entityManager::detach);
+            consumer.accept(summaries);
+            if (chunk.size() < chunkSize) {
+                return;
+            }
+            last = chunk.get(chunk.size() - 1);
         }
+    }
+
+    public List<TaskSummary> getAllTasks(Integer userId, TaskFilter filter, TaskSortField field, boolean descending) {
+        List<TaskSummary> tasks = new ArrayList<>();
+        forEachTaskChunk(userId, filter, field, descending, SCROLL_CHUNK_SIZE, tasks::addAll);
+        return tasks;
+    }
+
+    private List<Task> findOrdered(Specification<Task> spec, TaskSortField field, boolean descending, int limit) {
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort sort = field == TaskSortField.ID
+                ? Sort.by(direction, "id")
+                : Sort.by(direction, field.getProperty(), "id");
+        return taskRepository.findBy(spec, query -> query.sortBy(sort).limit(limit).all());
+    }
+
+    private static String cursorFor(Task task, TaskSortField field, boolean descending, boolean backward) {
+        return new TaskCursor(field, descending, backward, task.getId(), field.format(field.valueOf(task))).encode();
+    }
 
-        return taskRepository.findByUser_IdAndDeletedFalse(userId, pageable);
+    /** Whether the user has any task outside the trash, answered from the task counters. */
+    public boolean hasTasks(Integer userId) {
+        return taskCounterCache.get(userId).getTotal() > 0;
     }
 
-    public List<Task> getAllTasksByUser(Integer userId) {
-        return taskRepository.findByUser_IdAndDeletedFalse(userId);
+    public List<TaskSummary> getAllTasksByUser(Integer userId) {
+        return taskRepository.findSummariesByUser_IdAndDeletedFalse(userId);
     }
 
-    public List<Task> getTasksDueToday(Integer userId) {
+    public List<TaskSummary> getTasksDueToday(Integer userId) {
         LocalDate today = LocalDate.now();
-        return taskRepository.findByUser_IdAndDeletedFalseAndDueDateAndStatusNot(userId, today, TaskStatus.COMPLETED);
+        return taskRepository.findSummariesByUser_IdAndDeletedFalseAndDueDateAndStatusNot(userId, today, TaskStatus.COMPLETED);
     }
 
-    public List<Task> getUpcomingTasks(Integer userId, int days) {
+    public List<TaskSummary> getUpcomingTasks(Integer userId, int days) {
         LocalDate today = LocalDate.now();
         LocalDate end = today.plusDays(days);
-        return taskRepository.findByUser_IdAndDeletedFalseAndDueDateBetweenAndStatusNot(userId, today, end, TaskStatus.COMPLETED);
+        return taskRepository.findSummariesByUser_IdAndDeletedFalseAndDueDateBetweenAndStatusNot(userId, today, end, TaskStatus.COMPLETED);
     }
 
-    public List<Task> getOverdueTasks(Integer userId) {
+    public List<TaskSummary> getOverdueTasks(Integer userId) {
         LocalDate today = LocalDate.now();
-        return taskRepository.findByUser_IdAndDeletedFalseAndDueDateBeforeAndStatusNot(userId, today, TaskStatus.COMPLETED);
+        return taskRepository.findSummariesByUser_IdAndDeletedFalseAndDueDateBeforeAndStatusNot(userId, today, TaskStatus.COMPLETED);
     }
 
-    public List<Task> getUpcomingReminders(Integer userId) {
+    /**
+     * The tasks page's stat cards and side panels. Counts come from the task counters; the
+     * upcoming count, the reminder panel and the calendar's full task list are loaded on first use.
+     */
+    public TaskOverview getOverview(Integer userId) {
+        LocalDate today = LocalDate.now();
+        return new TaskOverview(taskCounterCache.get(userId),
+                () -> taskRepository.countByUser_IdAndDeletedFalseAndDueDateBetweenAndStatusNot(
+                        userId, today, today.plusDays(UPCOMING_DAYS), TaskStatus.COMPLETED),
+                () -> getUpcomingReminders(userId),
+                () -> getAllTasksByUser(userId));
+    }
+
+    public List<TaskSummary> getUpcomingReminders(Integer userId) {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime future = now.plusHours(24);
-        return taskRepository.findUpcomingRemindersForUser(userId, now, future)
-                .stream()
-                .filter(task -> Boolean.FALSE.equals(task.isDeleted()))
-                .toList();
+        return taskRepository.findSummariesByUser_IdAndDeletedFalseAndReminderSentFalseAndReminderTimeBetween(
+                userId, now, future);
     }
 
-    public List<Task> getRecentTasks(Integer userId, int limit) {
-        return taskRepository.findByUser_IdAndDeletedFalse(userId)
-                .stream()
-                .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
-                .limit(limit)
-                .toList();
+    public List<TaskSummary> getRecentTasks(Integer userId, int limit) {
+        return taskRepository.findSummariesByUser_IdAndDeletedFalseOrderByCreatedAtDescIdDesc(userId, PageRequest.of(0, limit));
+    }
+
+    /** Dashboard counts from the user's task counters, plus the few recent tasks the dashboard lists. */
+    public DashboardStats getDashboardStats(Integer userId) {
+        return DashboardStats.of(taskCounterCache.get(userId), getRecentTasks(userId, DASHBOARD_RECENT_TASKS));
     }
 
-    public List<Task> getHighPriorityTasks(Integer userId) {
-        return taskRepository
-                .findByUser_IdAndDeletedFalseAndPriority(userId, TaskPriority.HIGH, PageRequest.of(0, 10))
-                .getContent();
+    public List<TaskSummary> getHighPriorityTasks(Integer userId) {
+        return taskRepository.findSummariesByUser_IdAndDeletedFalseAndPriority(userId, TaskPriority.HIGH, PageRequest.of(0, 10));
     }
 
-    public List<Task> getMediumPriorityTasks(Integer userId) {
-        return taskRepository
-                .findByUser_IdAndDeletedFalseAndPriority(userId, TaskPriority.MEDIUM, PageRequest.of(0, 10))
-                .getContent();
+    public List<TaskSummary> getMediumPriorityTasks(Integer userId) {
+        return taskRepository.findSummariesByUser_IdAndDeletedFalseAndPriority(userId, TaskPriority.MEDIUM, PageRequest.of(0, 10));
     }
 
-    public List<Task> getLowPriorityTasks(Integer userId) {
-        return taskRepository
-                .findByUser_IdAndDeletedFalseAndPriority(userId, TaskPriority.LOW, PageRequest.of(0, 10))
-                .getContent();
+    public List<TaskSummary> getLowPriorityTasks(Integer userId) {
+        return taskRepository.findSummariesByUser_IdAndDeletedFalseAndPriority(userId, TaskPriority.LOW, PageRequest.of(0, 10));
     }
 
-    public List<Task> getCompletedTasks(Integer userId) {
-        return taskRepository
-                .findByUser_IdAndDeletedFalseAndStatus(userId, TaskStatus.COMPLETED, PageRequest.of(0, 20))
-                .getContent();
+    public List<TaskSummary> getCompletedTasks(Integer userId) {
+        return taskRepository.findSummariesByUser_IdAndDeletedFalseAndStatus(userId, TaskStatus.COMPLETED, PageRequest.of(0, 20));
     }
 
-    public List<Task> getPendingTasks(Integer userId) {
-        return taskRepository.findByUser_IdAndDeletedFalseAndStatus(userId, TaskStatus.PENDING);
+    public List<TaskSummary> getPendingTasks(Integer userId) {
+        return taskRepository.findSummariesByUser_IdAndDeletedFalseAndStatus(userId, TaskStatus.PENDING);
     }
 
-    public List<Task> getInProgressTasks(Integer userId) {
-        return taskRepository.findByUser_IdAndDeletedFalseAndStatus(userId, TaskStatus.IN_PROGRESS);
+    public List<TaskSummary> getInProgressTasks(Integer userId) {
+        return taskRepository.findSummariesByUser_IdAndDeletedFalseAndStatus(userId, TaskStatus.IN_PROGRESS);
     }
 
 
@@ -2,7 +2,12 @@ package com.taskreminder.app.service;
 
 import com.taskreminder.app.dto.UpdateProfileRequest;
 import com.taskreminder.app.entity.User;
+import com.taskreminder.app.entity.UserProfile;
+import com.taskreminder.app.enums.EmailStatus;
+import com.taskreminder.app.enums.EmailType;
+import com.taskreminder.app.repository.UserProfileRepository;
 import com.taskreminder.app.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -23,9 +28,18 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
     @Autowired
     private BCryptPasswordEncoder passwordEncoder;
 
@@ -68,7 +82,7 @@ public class UserService {
         userRepository.save(user);
 
         try {
-            emailService.sendOtpEmail(user, otp);
+            emailService.queueOtpEmail(user, otp);
         } catch (Exception e) {
             return "Registration successful, but OTP email could not be sent. Please try resending OTP.";
         }
@@ -184,7 +198,7 @@ public class UserService {
         userRepository.save(user);
 
         try {
-            emailService.sendOtpEmail(user, otp);
+            emailService.queueOtpEmail(user, otp);
         } catch (Exception e) {
             return "OTP could not be sent. Please try again later";
         }
@@ -192,6 +206,20 @@ public class UserService {
         return "OTP resent successfully";
     }
 
+    /**
+     * Delivery state of the latest OTP email for {@code email}: PENDING, SENDING, SENT, FAILED once
+     * retries are exhausted, or NONE. OTP emails go through the outbox, so the verify pages poll
+     * this instead of the request waiting on SMTP.
+     */
+    public String getOtpDeliveryStatus(String email) {
+        if (email == null || email.isBlank()) {
+            return "NONE";
+        }
+        return emailOutboxService.latestStatus(EmailType.OTP, email)
+                .map(status -> status == EmailStatus.DEAD ? "FAILED" : status.name())
+                .orElse("NONE");
+    }
+
     private String generateOtp() {
         return String.valueOf((int) (Math.random() * 900000) + 100000);
     }
@@ -227,7 +255,7 @@ public class UserService {
         userRepository.save(user);
 
         try {
-            emailService.sendOtpEmail(user, otp);
+            emailService.queueOtpEmail(user, otp);
         } catch (Exception e) {
             return "OTP could not be sent. Please try again later";
         }
@@ -349,6 +377,11 @@ public class UserService {
         return userRepository.findById(userId);
     }
 
+    /** Name and picture of {@code userId}, usually from the second-level cache. */
+    public Optional<UserProfile> getProfile(Integer userId) {
+        return userProfileRepository.findById(userId);
+    }
+
     public void updateProfile(Integer userId, UpdateProfileRequest dto) {
 
         User user = getUserById(userId)
@@ -408,6 +441,7 @@ public class UserService {
             }
         }
         userRepository.save(user);
+        evictProfile(userId);
     }
 
     public void deleteProfileImage(Integer userId) {
@@ -430,9 +464,14 @@ public class UserService {
 
         user.setProfileImage("/images/profile.png");
         userRepository.save(user);
+        evictProfile(userId);
     }
 
 
+    private void evictProfile(Integer userId) {
+        entityManagerFactory.getCache().evict(UserProfile.class, userId);
+    }
+
     public String getEmailByUserId(Integer userId) {
         return userRepository.findEmailByUserId(userId)
                 .orElseThrow(() -> new RuntimeException("User email not found"));
@@ -0,0 +1,246 @@
+package com.taskreminder.app.service;
+
+import com.taskreminder.app.dto.TaskSummary;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes tasks as an XLSX workbook, row by row, straight into a zip stream.
+ * <p>
+ * Cells hold their text inline rather than in a shared strings table, which would have to be kept
+ * in memory and written after the sheet, so nothing here grows with the number of rows. Dates are
+ * real date cells. A sheet holds at most {@value #MAX_SHEET_ROWS} rows, header included, so larger
+ * exports continue on further sheets; the parts listing the sheets are written last, once their
+ * number is known. Text longer than a cell can hold is cut to {@value #MAX_CELL_CHARS} characters.
+ */
+final class XlsxTaskWriter {
+
+    /** Rows per sheet, the most Excel opens. */
+    static final int MAX_SHEET_ROWS = 1_048_576;
+
+    /** Characters per cell, the most Excel keeps. */
+    static final int MAX_CELL_CHARS = 32_767;
+
+    private static final String[] HEADER =
+            {"ID", "Title", "Description", "Status", "Priority", "Due Date", "Created At", "Completed At"};
+
+    // Spreadsheet day numbers count from here, skipping Excel's phantom 29 February 1900.
+    private static final LocalDate EPOCH = LocalDate.of(1899, 12, 30);
+
+    private static final String CONTENT_TYPES_START =
+            "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n" +
+            "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">" +
+            "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>" +
+            "<Default Extension=\"xml\" ContentType=\"application/xml\"/>" +
+            "<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>" +
+            "<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>";
+
+    private static final String CONTENT_TYPES_SHEET =
+            "<Override PartName=\"/xl/worksheets/sheet%d.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>";
+
+    private static final String ROOT_RELS =
+            "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n" +
+            "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">" +
+            "<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument\" Target=\"xl/workbook.xml\"/>" +
+            "</Relationships>";
+
+    private static final String WORKBOOK_START =
+            "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n" +
+            "<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" " +
+            "xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">" +
+            "<sheets>";
+
+    private static final String WORKBOOK_SHEET = "<sheet name=\"%s\" sheetId=\"%d\" r:id=\"rId%d\"/>";
+
+    // Sheets are relationships rId1 to rIdN, styles comes after them.
+    private static final String WORKBOOK_RELS_START =
+            "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n" +
+            "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">";
+
+    private static final String WORKBOOK_RELS_SHEET =
+            "<Relationship Id=\"rId%d\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\" Target=\"worksheets/sheet%d.xml\"/>";
+
+    private static final String WORKBOOK_RELS_STYLES =
+            "<Relationship Id=\"rId%d\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/styles\" Target=\"styles.xml\"/>";
+
+    // Style 1 is a date, style 2 the bold header.
+    private static final String STYLES =
+            "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n" +
+            "<styleSheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">" +
+            "<numFmts count=\"1\"><numFmt numFmtId=\"164\" formatCode=\"yyyy-mm-dd\"/></numFmts>" +
+            "<fonts count=\"2\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font>" +
+            "<font><b/><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>" +
+            "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill>" +
+            "<fill><patternFill patternType=\"gray125\"/></fill></fills>" +
+            "<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>" +
+            "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>" +
+            "<cellXfs count=\"3\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>" +
+            "<xf numFmtId=\"164\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>" +
+            "<xf numFmtId=\"0\" fontId=\"1\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyFont=\"1\"/></cellXfs>" +
+            "</styleSheet>";
+
+    private static final String SHEET_START =
+            "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n" +
+            "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">" +
+            "<sheetViews><sheetView workbookViewId=\"0\">" +
+            "<pane ySplit=\"1\" topLeftCell=\"A2\" activePane=\"bottomLeft\" state=\"frozen\"/>" +
+            "</sheetView></sheetViews>" +
+            "<cols><col min=\"1\" max=\"1\" width=\"8\" customWidth=\"1\"/>" +
+            "<col min=\"2\" max=\"2\" width=\"30\" customWidth=\"1\"/>" +
+            "<col min=\"3\" max=\"3\" width=\"50\" customWidth=\"1\"/>" +
+            "<col min=\"4\" max=\"5\" width=\"12\" customWidth=\"1\"/>" +
+            "<col min=\"6\" max=\"8\" width=\"13\" customWidth=\"1\"/></cols>" +
+            "<sheetData>";
+
+    private static final String SHEET_END = "</sheetData></worksheet>";
+
+    private final ZipOutputStream zip;
+    private final Writer writer;
+    private final int maxSheetRows;
+    private int sheets;
+    private int sheetRows;
+
+    XlsxTaskWriter(OutputStream out) throws IOException {
+        this(out, MAX_SHEET_ROWS);
+    }
+
+    XlsxTaskWriter(OutputStream out, int maxSheetRows) throws IOException {
+        if (maxSheetRows < 2) {
+            throw new IllegalArgumentException("A sheet needs room for the header and a row");
+        }
+        this.maxSheetRows = maxSheetRows;
+        zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+        part("_rels/.rels", ROOT_RELS);
+        part("xl/styles.xml", STYLES);
+        startSheet();
+    }
+
+    void row(TaskSummary task) throws IOException {
+        if (sheetRows == maxSheetRows) {
+            endSheet();
+            startSheet();
+        }
+        sheetRows++;
+        writer.write("<row><c><v>");
+        writer.write(String.valueOf(task.getId()));
+        writer.write("</v></c>");
+        text(task.getTitle(), "");
+        text(task.getDescription(), "");
+        text(task.getStatus() == null ? null : task.getStatus().name(), "");
+        text(task.getPriority() == null ? null : task.getPriority().name(), "");
+        date(task.getDueDate());
+        date(task.getCreatedAt());
+        date(task.getCompletedAt());
+        writer.write("</row>");
+    }
+
+    /** Pushes the rows written so far through to the output stream. */
+    void flush() throws IOException {
+        writer.flush();
+    }
+
+    /** Ends the last sheet, lists the sheets and ends the zip; the output stream itself is left open. */
+    void finish() throws IOException {
+        endSheet();
+
+        StringBuilder contentTypes = new StringBuilder(CONTENT_TYPES_START);
+        StringBuilder workbook = new StringBuilder(WORKBOOK_START);
+        StringBuilder workbookRels = new StringBuilder(WORKBOOK_RELS_START);
+        for (int sheet = 1; sheet <= sheets; sheet++) {
+            contentTypes.append(String.format(CONTENT_TYPES_SHEET, sheet));
+            workbook.append(String.format(WORKBOOK_SHEET, sheet == 1 ? "Tasks" : "Tasks " + sheet, sheet, sheet));
+            workbookRels.append(String.format(WORKBOOK_RELS_SHEET, sheet, sheet));
+        }
+        contentTypes.append("</Types>");
+        workbook.append("</sheets></workbook>");
+        workbookRels.append(String.format(WORKBOOK_RELS_STYLES, sheets + 1)).append("</Relationships>");
+        part("[Content_Types].xml", contentTypes.toString());
+        part("xl/workbook.xml", workbook.toString());
+        part("xl/_rels/workbook.xml.rels", workbookRels.toString());
+        zip.finish();
+    }
+
+    private void startSheet() throws IOException {
+        sheets++;
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheets + ".xml"));
+        writer.write(SHEET_START);
+        writer.write("<row>");
+        for (String name : HEADER) {
+            text(name, " s=\"2\"");
+        }
+        writer.write("</row>");
+        sheetRows = 1;
+    }
+
+    private void endSheet() throws IOException {
+        writer.write(SHEET_END);
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    private void part(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        writer.write(content);
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    private void text(String value, String style) throws IOException {
+        if (value == null || value.isEmpty()) {
+            writer.write("<c/>");
+            return;
+        }
+        writer.write("<c t=\"inlineStr\"");
+        writer.write(style);
+        writer.write("><is><t xml:space=\"preserve\">");
+        escape(clamp(value));
+        writer.write("</t></is></c>");
+    }
+
+    private static String clamp(String value) {
+        if (value.length() <= MAX_CELL_CHARS) {
+            return value;
+        }
+        // Never split a surrogate pair.
+        int end = Character.isHighSurrogate(value.charAt(MAX_CELL_CHARS - 1)) ? MAX_CELL_CHARS - 1 : MAX_CELL_CHARS;
+        return value.substring(0, end);
+    }
+
+    private void date(LocalDate value) throws IOException {
+        if (value == null) {
+            writer.write("<c/>");
+            return;
+        }
+        writer.write("<c s=\"1\"><v>");
+        writer.write(String.valueOf(ChronoUnit.DAYS.between(EPOCH, value)));
+        writer.write("</v></c>");
+    }
+
+    private void escape(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> writer.write("&amp;");
+                case '<' -> writer.write("&lt;");
+                case '>' -> writer.write("&gt;");
+                case '"' -> writer.write("&quot;");
+                default -> {
+                    // XML 1.0 has no way to write other control characters, even escaped.
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        writer.write(c);
+                    }
+                }
+            }
+        }
+    }
+}
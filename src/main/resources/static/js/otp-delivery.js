@@ -0,0 +1,29 @@
+// Polls the delivery state of the OTP email sent for the pending verification in this session
+// and shows it in #otp-delivery on the verify pages.
+document.addEventListener("DOMContentLoaded", function () {
+  const deliveryElement = document.getElementById("otp-delivery");
+  if (!deliveryElement) return;
+
+  const deliveryMessages = {
+    PENDING: "Sending your code...",
+    SENDING: "Sending your code...",
+    SENT: "Code sent. Check your inbox.",
+    FAILED: "We couldn't send your code. Please resend OTP.",
+  };
+  let deliveryPolls = 0;
+
+  function pollDelivery() {
+    fetch("/auth/api/otp-status")
+      .then((res) => res.json())
+      .then((data) => {
+        deliveryElement.textContent = deliveryMessages[data.status] || "";
+        deliveryElement.classList.toggle("failed", data.status === "FAILED");
+        if ((data.status === "PENDING" || data.status === "SENDING") && ++deliveryPolls < 30) {
+          setTimeout(pollDelivery, 2000);
+        }
+      })
+      .catch(() => {});
+  }
+
+  pollDelivery();
+});
@@ -0,0 +1,267 @@
+package com.taskreminder.app.controller;
+
+import com.taskreminder.app.entity.EmailOutbox;
+import com.taskreminder.app.entity.ExportJob;
+import com.taskreminder.app.entity.Task;
+import com.taskreminder.app.entity.User;
+import com.taskreminder.app.enums.EmailType;
+import com.taskreminder.app.enums.ExportFormat;
+import com.taskreminder.app.enums.ExportJobState;
+import com.taskreminder.app.enums.TaskPriority;
+import com.taskreminder.app.enums.TaskStatus;
+import com.taskreminder.app.repository.EmailOutboxRepository;
+import com.taskreminder.app.repository.ExportJobRepository;
+import com.taskreminder.app.repository.TaskCounterRepository;
+import com.taskreminder.app.repository.TaskRepository;
+import com.taskreminder.app.repository.UserRepository;
+import com.taskreminder.app.service.EmailOutboxService;
+import com.taskreminder.app.service.ExportJobService;
+import com.taskreminder.app.service.TaskExportService;
+import com.taskreminder.app.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static com.taskreminder.app.support.TestUsers.verifiedUser;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.export.spool-dir=target/spool/exports",
+        "app.export.node-id=export-test-node",
+        "app.export.file-ttl-minutes=60",
+        "app.export.cleanup-ms=3600000",
+        "app.mail.outbox.poll-ms=3600000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ExportJobTest {
+
+    private static final int TASKS = 80;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private ExportJobService exportJobService;
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private ExportJobRepository exportJobRepository;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskCounterRepository taskCounterRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private MockHttpSession session;
+
+    @BeforeEach
+    void setup() {
+        cleanup();
+        owner = verifiedUser(userRepository, "export-jobs@example.com");
+        List<Task> drafts = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            drafts.add(new Task("Export job task " + i, "Row " + i, LocalDate.now().plusDays(i % 5),
+                    TaskStatus.PENDING, TaskPriority.values()[i % 3]));
+        }
+        taskService.addTasks(drafts, owner.getId());
+
+        session = new MockHttpSession();
+        session.setAttribute("userId", owner.getId());
+    }
+
+    @AfterEach
+    void cleanup() {
+        emailOutboxRepository.deleteAll();
+        exportJobRepository.deleteAll();
+        taskCounterRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testJobFileCanBeDownloadedWholeOrInRanges() throws Exception {
+        JsonNode job = submit("format", "csv");
+        assertEquals("QUEUED", job.get("state").asString());
+
+        JsonNode done = awaitDone(job.get("id").asLong());
+        assertEquals(TASKS, done.get("rows").asInt());
+        String fileUrl = done.get("downloadUrl").asString();
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        taskExportService.write(owner.getId(), ExportFormat.CSV, expected);
+        MockHttpServletResponse whole = mockMvc.perform(get(fileUrl).session(session))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=tasks.csv"))
+                .andReturn().getResponse();
+        assertArrayEquals(expected.toByteArray(), whole.getContentAsByteArray());
+        assertEquals(expected.size(), done.get("sizeBytes").asLong());
+
+        // Resuming after the first 100 bytes arrived.
+        MockHttpServletResponse rest = mockMvc.perform(get(fileUrl).session(session)
+                        .header(HttpHeaders.RANGE, "bytes=100-"))
+                .andExpect(status().isPartialContent())
+                .andReturn().getResponse();
+        assertEquals("bytes 100-" + (expected.size() - 1) + "/" + expected.size(),
+                rest.getHeader(HttpHeaders.CONTENT_RANGE));
+        byte[] all = expected.toByteArray();
+        assertArrayEquals(Arrays.copyOfRange(all, 100, all.length), rest.getContentAsByteArray());
+    }
+
+    @Test
+    void testGzipJobHoldsTheCompressedExport() throws Exception {
+        JsonNode done = awaitDone(submit("format", "ndjson", "gzip", "true").get("id").asLong());
+
+        byte[] zipped = mockMvc.perform(get(done.get("downloadUrl").asString()).session(session))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=tasks.ndjson.gz"))
+                .andReturn().getResponse().getContentAsByteArray();
+        String[] lines = new String(new GZIPInputStream(new ByteArrayInputStream(zipped)).readAllBytes()).split("\n");
+        assertEquals(TASKS, lines.length);
+    }
+
+    @Test
+    void testEmailJobHandsItsFileToTheOutbox() throws Exception {
+        owner.setName("Ann <b>Export</b>");
+        userRepository.save(owner);
+
+        JsonNode done = awaitDone(submit("email", "true").get("id").asLong());
+        assertTrue(done.get("downloadUrl").isNull());
+
+        EmailOutbox message = emailOutboxRepository.findAll().stream()
+                .filter(m -> m.getType() == EmailType.TASK_EXPORT)
+                .findFirst().orElseThrow();
+        assertEquals("tasks.csv", message.getAttachmentName());
+        assertTrue(message.getBody().contains(String.valueOf(TASKS)));
+        assertTrue(message.getBody().contains("Ann &lt;b&gt;Export&lt;/b&gt;"));
+        assertFalse(message.getBody().contains("<b>Export</b>"));
+        assertFalse(Paths.get(message.getAttachmentPath()).isAbsolute());
+        Path file = emailOutboxService.attachmentFile(message);
+        assertTrue(Files.exists(file));
+        emailOutboxService.discardAttachment(message);
+    }
+
+    @Test
+    void testJobsAreVisibleOnlyToTheirOwner() throws Exception {
+        long id = awaitDone(submit().get("id").asLong()).get("id").asLong();
+        MockHttpSession stranger = new MockHttpSession();
+        stranger.setAttribute("userId", verifiedUser(userRepository, "stranger@example.com").getId());
+
+        mockMvc.perform(get("/api/v1/tasks/export-jobs/" + id).session(stranger))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/tasks/export-jobs/" + id + "/file").session(stranger))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/tasks/export-jobs/" + id))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/v1/tasks/export-jobs").session(session).param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testExpiredJobsAreDeletedWithTheirFiles() throws Exception {
+        long id = awaitDone(submit().get("id").asLong()).get("id").asLong();
+        ExportJob job = exportJobRepository.findById(id).orElseThrow();
+        assertFalse(Paths.get(job.getFilePath()).isAbsolute());
+        Path file = exportJobService.file(job).orElseThrow();
+        assertTrue(Files.exists(file));
+
+        assertEquals(0, exportJobService.purgeExpired(LocalDateTime.now()));
+        assertTrue(Files.exists(file));
+
+        assertEquals(1, exportJobService.purgeExpired(job.getExpiresAt().plusSeconds(1)));
+        assertFalse(Files.exists(file));
+        assertTrue(exportJobRepository.findById(id).isEmpty());
+        mockMvc.perform(get("/api/v1/tasks/export-jobs/" + id).session(session))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testJobsInterruptedOnThisNodeAreRestarted() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        ExportJob running = new ExportJob(owner.getId(), ExportFormat.CSV, false, false, "export-test-node",
+                now, now.plusHours(1));
+        running.setState(ExportJobState.RUNNING);
+        running = exportJobRepository.save(running);
+        ExportJob elsewhere = exportJobRepository.save(new ExportJob(owner.getId(), ExportFormat.CSV, false, false,
+                "other-node", now, now.plusHours(1)));
+
+        exportJobService.recover();
+
+        assertEquals(TASKS, awaitDone(running.getId()).get("rows").asInt());
+        assertEquals(ExportJobState.QUEUED, exportJobRepository.findById(elsewhere.getId()).orElseThrow().getState());
+    }
+
+    private JsonNode submit(String... params) throws Exception {
+        var request = post("/api/v1/tasks/export-jobs").session(session);
+        for (int i = 0; i < params.length; i += 2) {
+            request.param(params[i], params[i + 1]);
+        }
+        MockHttpServletResponse response = mockMvc.perform(request)
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse();
+        JsonNode job = jsonMapper.readTree(response.getContentAsString());
+        assertEquals("/api/v1/tasks/export-jobs/" + job.get("id").asLong(), response.getHeader(HttpHeaders.LOCATION));
+        return job;
+    }
+
+    private JsonNode awaitDone(long id) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            JsonNode job = jsonMapper.readTree(mockMvc.perform(get("/api/v1/tasks/export-jobs/" + id).session(session))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            String state = job.get("state").asString();
+            if (ExportJobState.DONE.name().equals(state)) {
+                return job;
+            }
+            assertNotEquals(ExportJobState.FAILED.name(), state, job.path("error").asString());
+            Thread.sleep(20);
+        }
+        return fail("Export job " + id + " did not finish");
+    }
+}
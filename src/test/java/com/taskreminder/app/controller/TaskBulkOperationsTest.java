@@ -0,0 +1,276 @@
+package com.taskreminder.app.controller;
+
+import com.taskreminder.app.config.TaskIdBlockInitializer;
+import com.taskreminder.app.dto.BulkTaskResult;
+import com.taskreminder.app.dto.TaskFilter;
+import com.taskreminder.app.entity.Task;
+import com.taskreminder.app.entity.TaskCounts;
+import com.taskreminder.app.entity.User;
+import com.taskreminder.app.enums.TaskPriority;
+import com.taskreminder.app.enums.TaskStatus;
+import com.taskreminder.app.repository.TaskCounterRepository;
+import com.taskreminder.app.repository.TaskRepository;
+import com.taskreminder.app.repository.UserRepository;
+import com.taskreminder.app.service.TaskCounterCache;
+import com.taskreminder.app.service.TaskService;
+import com.taskreminder.app.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.taskreminder.app.support.TestUsers.verifiedUser;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.taskreminder.app.support.SqlStatementCounter")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TaskBulkOperationsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskCounterCache taskCounterCache;
+
+    @Autowired
+    private TaskIdBlockInitializer taskIdBlockInitializer;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskCounterRepository taskCounterRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate today = LocalDate.now();
+    private User owner;
+    private MockHttpSession session;
+
+    @BeforeEach
+    void setup() {
+        cleanup();
+        owner = verifiedUser(userRepository, "bulk-owner@example.com");
+        session = new MockHttpSession();
+        session.setAttribute("userId", owner.getId());
+        taskCounterCache.get(owner.getId());
+    }
+
+    @AfterEach
+    void cleanup() {
+        taskCounterRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testCreateSavesTheTaskForTheSessionUser() throws Exception {
+        String body = jsonMapper.writeValueAsString(Map.of("title", "Dentist", "dueDate", today.toString(),
+                "priority", "MEDIUM", "status", "COMPLETED"));
+
+        mockMvc.perform(post("/api/v1/tasks").session(session)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.title").value("Dentist"))
+                .andExpect(jsonPath("$.completedAt").value(today.toString()));
+
+        Task saved = taskRepository.findAll().get(0);
+        assertEquals(owner.getId(), saved.getUser().getId());
+        assertExact();
+        mockMvc.perform(post("/api/v1/tasks").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testBulkCreateSavesTasksForTheSessionUser() throws Exception {
+        String body = jsonMapper.writeValueAsString(List.of(
+                Map.of("title", "Quarterly report", "dueDate", today.toString(), "priority", "HIGH"),
+                Map.of("title", "Book flights", "dueDate", today.plusDays(2).toString(), "priority", "LOW",
+                        "status", "COMPLETED")));
+
+        mockMvc.perform(post("/api/v1/tasks/bulk").session(session)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].status").value("PENDING"))
+                .andExpect(jsonPath("$[1].completedAt").value(today.toString()));
+
+        assertEquals(2, taskRepository.count());
+        assertExact();
+        assertEquals(1, taskService.getPagedTasks(owner.getId(), new TaskFilter(null, null, "quarterly"),
+                PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void testBulkChangesReportSkippedIds() throws Exception {
+        List<Task> tasks = seed(owner, 4);
+        User other = verifiedUser(userRepository, "bulk-other@example.com");
+        Task foreign = seed(other, 1).get(0);
+        List<Integer> ids = new ArrayList<>(tasks.stream().map(Task::getId).toList());
+        ids.add(foreign.getId());
+
+        BulkTaskResult completed = update("/status", Map.of("ids", ids, "status", "COMPLETED"));
+        assertEquals(4, completed.getUpdated());
+        assertEquals(List.of(foreign.getId()), completed.getSkipped());
+        assertExact();
+
+        // Already completed, so nothing changes the second time.
+        assertEquals(0, update("/status", Map.of("ids", ids, "status", "COMPLETED")).getUpdated());
+
+        BulkTaskResult trashed = trash("/trash", ids.subList(0, 2));
+        assertEquals(2, trashed.getUpdated());
+        assertExact();
+
+        BulkTaskResult reprioritized = update("/priority", Map.of("ids", ids, "priority", "HIGH"));
+        assertEquals(2, reprioritized.getUpdated());
+        assertEquals(List.of(ids.get(0), ids.get(1), foreign.getId()), reprioritized.getSkipped());
+        assertExact();
+
+        BulkTaskResult restored = trash("/restore", ids);
+        assertEquals(2, restored.getUpdated());
+        assertExact();
+        assertEquals(TaskStatus.PENDING, taskRepository.findById(foreign.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testBulkReopeningClearsCompletedAt() throws Exception {
+        List<Integer> ids = seed(owner, 3).stream().map(Task::getId).toList();
+        update("/status", Map.of("ids", ids, "status", "COMPLETED"));
+
+        assertEquals(3, update("/status", Map.of("ids", ids, "status", "PENDING")).getUpdated());
+
+        assertTrue(taskRepository.findAllById(ids).stream().allMatch(t -> t.getCompletedAt() == null));
+        assertExact();
+    }
+
+    @Test
+    void testGetByIdsReturnsOnlyTheUsersTasks() throws Exception {
+        List<Task> tasks = seed(owner, 3);
+        Task foreign = seed(verifiedUser(userRepository, "bulk-other@example.com"), 1).get(0);
+
+        mockMvc.perform(get("/api/v1/tasks/bulk").session(session)
+                        .param("ids", tasks.get(0).getId() + "," + tasks.get(2).getId() + "," + foreign.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void testBulkRequestsAreValidated() throws Exception {
+        String noIds = jsonMapper.writeValueAsString(Map.of("ids", List.of(), "status", "COMPLETED"));
+        String noStatus = jsonMapper.writeValueAsString(Map.of("ids", List.of(1)));
+
+        mockMvc.perform(patch("/api/v1/tasks/bulk/status").contentType(MediaType.APPLICATION_JSON).content(noStatus))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(patch("/api/v1/tasks/bulk/status").session(session)
+                        .contentType(MediaType.APPLICATION_JSON).content(noIds))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/v1/tasks/bulk/status").session(session)
+                        .contentType(MediaType.APPLICATION_JSON).content(noStatus))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/v1/tasks/bulk").session(session)
+                        .contentType(MediaType.APPLICATION_JSON).content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testBulkWritesAreBatched() throws Exception {
+        int count = 200;
+        List<Task> drafts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            drafts.add(new Task("Imported " + i, null, today.plusDays(i % 7), null, TaskPriority.MEDIUM));
+        }
+
+        List<Task> saved = new ArrayList<>();
+        long inserts = SqlStatementCounter.count(() -> saved.addAll(taskService.addTasks(drafts, owner.getId())));
+        List<Integer> ids = saved.stream().map(Task::getId).toList();
+        long updates = SqlStatementCounter.count(() -> taskService.updateStatus(owner.getId(), ids, TaskStatus.COMPLETED));
+
+        assertEquals(count, taskRepository.count());
+        assertTrue(inserts < count / 4, inserts + " statements for " + count + " inserts");
+        assertTrue(updates < count / 4, updates + " statements for " + count + " updates");
+        assertExact();
+    }
+
+    @Test
+    void testIdsStayAheadOfExistingTasks() {
+        // A task written while ids still came from AUTO_INCREMENT, far beyond the current block.
+        int legacyId = 1_000_000;
+        jdbcTemplate.update("INSERT INTO task (Task_id, task_name, due_date, status, priority, created_at, " +
+                "reminder_sent, deleted, user_id) VALUES (?, 'Legacy', ?, 'PENDING', 'LOW', ?, false, false, ?)",
+                legacyId, Date.valueOf(today), Date.valueOf(today), owner.getId());
+
+        taskIdBlockInitializer.align();
+        taskIdBlockInitializer.align();
+        // Use up whatever is left of the block handed out before the legacy row appeared.
+        List<Task> drafts = new ArrayList<>();
+        for (int i = 0; i <= Task.ID_BLOCK_SIZE; i++) {
+            drafts.add(new Task("New " + i, null, today, TaskStatus.PENDING, TaskPriority.LOW));
+        }
+        List<Task> saved = taskService.addTasks(drafts, owner.getId());
+
+        assertTrue(saved.get(saved.size() - 1).getId() > legacyId);
+        assertEquals(Task.ID_BLOCK_SIZE + 2, taskRepository.count());
+    }
+
+    private BulkTaskResult update(String path, Map<String, Object> body) throws Exception {
+        String response = mockMvc.perform(patch("/api/v1/tasks/bulk" + path).session(session)
+                        .contentType(MediaType.APPLICATION_JSON).content(jsonMapper.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return jsonMapper.readValue(response, BulkTaskResult.class);
+    }
+
+    private BulkTaskResult trash(String path, List<Integer> ids) throws Exception {
+        String response = mockMvc.perform(post("/api/v1/tasks/bulk" + path).session(session)
+                        .contentType(MediaType.APPLICATION_JSON).content(jsonMapper.writeValueAsString(Map.of("ids", ids))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return jsonMapper.readValue(response, BulkTaskResult.class);
+    }
+
+    private void assertExact() {
+        TaskCounts expected = TaskCounts.fold(taskRepository.countByUsers(List.of(owner.getId()), today))
+                .getOrDefault(owner.getId(), new TaskCounts());
+        assertEquals(expected, taskCounterCache.get(owner.getId()));
+    }
+
+    private List<Task> seed(User user, int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(new Task("Task " + i, null, today.plusDays(i), TaskStatus.PENDING, TaskPriority.LOW));
+        }
+        return taskService.addTasks(tasks, user.getId());
+    }
+}
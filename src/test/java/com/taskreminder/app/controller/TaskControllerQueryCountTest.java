@@ -0,0 +1,119 @@
+package com.taskreminder.app.controller;
+
+import com.taskreminder.app.entity.Task;
+import com.taskreminder.app.entity.User;
+import com.taskreminder.app.enums.TaskPriority;
+import com.taskreminder.app.enums.TaskStatus;
+import com.taskreminder.app.repository.TaskCounterRepository;
+import com.taskreminder.app.repository.TaskRepository;
+import com.taskreminder.app.repository.UserRepository;
+import com.taskreminder.app.service.TaskService;
+import com.taskreminder.app.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+
+import static com.taskreminder.app.support.TestUsers.verifiedUser;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** Guards the number of SQL statements one render of the tasks page costs. */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.taskreminder.app.support.SqlStatementCounter")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TaskControllerQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskCounterRepository taskCounterRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private MockHttpSession session;
+
+    @BeforeEach
+    void setup() {
+        cleanup();
+        User owner = verifiedUser(userRepository, "overview@example.com");
+
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < 200; i++) {
+            Task task = new Task("Task " + i, null, today.plusDays(i % 10 - 3),
+                    i % 4 == 0 ? TaskStatus.COMPLETED : TaskStatus.PENDING, TaskPriority.MEDIUM);
+            task.setUser(owner);
+            taskService.addTask(task);
+        }
+
+        session = new MockHttpSession();
+        session.setAttribute("userId", owner.getId());
+        session.setAttribute("name", owner.getName());
+    }
+
+    @AfterEach
+    void cleanup() {
+        taskCounterRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testTablePageStatementCount() throws Exception {
+        render("/api/tasks?size=5");
+
+        long statements = SqlStatementCounter.count(() -> render("/api/tasks?size=5"));
+
+        // The signed-in user, the page of tasks, the upcoming count and the reminder panel.
+        assertTrue(statements <= 4, "tasks page ran " + statements + " statements");
+    }
+
+    @Test
+    void testCalendarPageLoadsTasksOnce() throws Exception {
+        render("/api/tasks?view=calendar");
+
+        long statements = SqlStatementCounter.count(() -> render("/api/tasks?view=calendar"));
+
+        // The full task list, the upcoming count and the reminder panel.
+        assertTrue(statements <= 4, "calendar page ran " + statements + " statements");
+    }
+
+    @Test
+    void testStatCardsMatchTheTaskLists() throws Exception {
+        Integer userId = (Integer) session.getAttribute("userId");
+        String html = render("/api/tasks?size=5").getResponse().getContentAsString();
+
+        assertTrue(html.contains(statCard(taskService.getOverdueTasks(userId).size(), "Overdue")));
+        assertTrue(html.contains(statCard(taskService.getTasksDueToday(userId).size(), "Today")));
+        assertTrue(html.contains(statCard(taskService.getUpcomingTasks(userId, 7).size(), "Upcoming")));
+        assertTrue(html.contains(statCard(50, "Completed")));
+        assertTrue(html.contains(statCard(150, "Pending")));
+        assertTrue(html.contains(statCard(200, "All")));
+    }
+
+    private static String statCard(long count, String label) {
+        return "<div class=\"stat-count\">" + count + "</div>\n          <div class=\"stat-label\">" + label + "</div>";
+    }
+
+    private MvcResult render(String url) throws Exception {
+        return mockMvc.perform(get(url).session(session)).andExpect(status().isOk()).andReturn();
+    }
+}
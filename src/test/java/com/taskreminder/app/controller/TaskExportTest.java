@@ -0,0 +1,268 @@
+package com.taskreminder.app.controller;
+
+import com.taskreminder.app.entity.EmailOutbox;
+import com.taskreminder.app.entity.Task;
+import com.taskreminder.app.entity.User;
+import com.taskreminder.app.enums.EmailType;
+import com.taskreminder.app.enums.ExportFormat;
+import com.taskreminder.app.enums.TaskPriority;
+import com.taskreminder.app.enums.TaskStatus;
+import com.taskreminder.app.repository.EmailOutboxRepository;
+import com.taskreminder.app.repository.ExportJobRepository;
+import com.taskreminder.app.repository.TaskCounterRepository;
+import com.taskreminder.app.repository.TaskRepository;
+import com.taskreminder.app.repository.UserRepository;
+import com.taskreminder.app.service.EmailOutboxService;
+import com.taskreminder.app.service.TaskExportService;
+import com.taskreminder.app.service.TaskService;
+import com.taskreminder.app.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static com.taskreminder.app.support.TestUsers.verifiedUser;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.export.chunk-size=50",
+        "app.export.spool-dir=target/spool/exports",
+        "app.mail.outbox.poll-ms=3600000",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "com.taskreminder.app.support.SqlStatementCounter"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TaskExportTest {
+
+    private static final int TASKS = 120;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskCounterRepository taskCounterRepository;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private ExportJobRepository exportJobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private MockHttpSession session;
+    private List<Task> tasks;
+
+    @BeforeEach
+    void setup() {
+        cleanup();
+        owner = verifiedUser(userRepository, "exporter@example.com");
+
+        List<Task> drafts = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < TASKS; i++) {
+            drafts.add(new Task("Task " + i, i == 0 ? "Quotes \"and\", commas — ünïcode" : "Plain " + i,
+                    today.plusDays(i % 10), TaskStatus.PENDING, TaskPriority.values()[i % 3]));
+        }
+        tasks = taskService.addTasks(drafts, owner.getId());
+        taskService.moveToTrash(owner.getId(), List.of(tasks.get(TASKS - 1).getId()));
+
+        session = new MockHttpSession();
+        session.setAttribute("userId", owner.getId());
+    }
+
+    @AfterEach
+    void cleanup() {
+        emailOutboxRepository.deleteAll();
+        exportJobRepository.deleteAll();
+        taskCounterRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testCsvDownloadStreamsEveryTaskOutsideTheTrash() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(post("/api/tasks/export").session(session)
+                        .param("action", "download"))
+                .andReturn().getResponse();
+
+        assertEquals("text/csv;charset=UTF-8", response.getContentType());
+        String[] lines = response.getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(TASKS, lines.length);
+        assertEquals("ID,Title,Description,Status,Priority,Due Date,Created At,Completed At", lines[0]);
+        assertTrue(lines[1].startsWith(tasks.get(0).getId() + ",Task 0,\"Quotes \"\"and\"\", commas — ünïcode\",PENDING"));
+        assertTrue(lines[TASKS - 1].startsWith(tasks.get(TASKS - 2).getId() + ","));
+    }
+
+    @Test
+    void testNdjsonExportWritesOneTaskPerLine() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/v1/tasks/export").session(session).param("format", "ndjson"))
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\n");
+        assertEquals(TASKS - 1, lines.length);
+        JsonNode first = jsonMapper.readTree(lines[0]);
+        assertEquals(tasks.get(0).getId(), first.get("id").asInt());
+        assertEquals("Quotes \"and\", commas — ünïcode", first.get("description").asString());
+    }
+
+    @Test
+    void testExportReadsOneQueryPerChunk() throws Exception {
+        for (ExportFormat format : ExportFormat.values()) {
+            long[] rows = new long[1];
+            long statements = SqlStatementCounter.count(() ->
+                    rows[0] = taskExportService.write(owner.getId(), format, OutputStream.nullOutputStream()));
+
+            assertEquals(TASKS - 1, rows[0]);
+            // 119 tasks in chunks of 50.
+            assertEquals(3, statements, format.name());
+        }
+    }
+
+    @Test
+    void testXlsxExportIsAWorkbookWithOneRowPerTask() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/v1/tasks/export")
+                        .session(session).param("format", "xlsx")).andReturn()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        assertEquals("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", response.getContentType());
+        assertEquals("attachment; filename=tasks.xlsx", response.getHeader("Content-Disposition"));
+
+        Map<String, byte[]> parts = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            for (ZipEntry entry; (entry = zip.getNextEntry()) != null; ) {
+                parts.put(entry.getName(), zip.readAllBytes());
+            }
+        }
+        assertEquals(Set.of("[Content_Types].xml", "_rels/.rels", "xl/workbook.xml", "xl/_rels/workbook.xml.rels",
+                "xl/styles.xml", "xl/worksheets/sheet1.xml"), parts.keySet());
+        for (byte[] part : parts.values()) {
+            DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new ByteArrayInputStream(part));
+        }
+
+        Document sheet = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new ByteArrayInputStream(parts.get("xl/worksheets/sheet1.xml")));
+        NodeList rows = sheet.getElementsByTagName("row");
+        assertEquals(TASKS, rows.getLength());
+        assertEquals("ID", rows.item(0).getFirstChild().getTextContent());
+        NodeList first = ((Element) rows.item(1)).getElementsByTagName("c");
+        assertEquals(String.valueOf(tasks.get(0).getId()), first.item(0).getTextContent());
+        assertEquals("Quotes \"and\", commas — ünïcode", first.item(2).getTextContent());
+        assertEquals("PENDING", first.item(3).getTextContent());
+        // Due today, as a spreadsheet day number.
+        assertEquals(String.valueOf(LocalDate.now().toEpochDay() - LocalDate.of(1899, 12, 30).toEpochDay()),
+                first.item(5).getTextContent());
+        assertEquals("", first.item(7).getTextContent());
+    }
+
+    @Test
+    void testGzipExportMatchesThePlainOne() throws Exception {
+        byte[] plain = mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/v1/tasks/export").session(session))
+                        .andReturn()))
+                .andReturn().getResponse().getContentAsByteArray();
+        MockHttpServletResponse zipped = mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/v1/tasks/export")
+                        .session(session).param("gzip", "true")).andReturn()))
+                .andReturn().getResponse();
+
+        assertEquals("attachment; filename=tasks.csv.gz", zipped.getHeader("Content-Disposition"));
+        byte[] unzipped = new GZIPInputStream(new ByteArrayInputStream(zipped.getContentAsByteArray())).readAllBytes();
+        assertArrayEquals(plain, unzipped);
+        assertTrue(zipped.getContentAsByteArray().length < plain.length);
+    }
+
+    @Test
+    void testUnknownFormatIsRejected() throws Exception {
+        mockMvc.perform(get("/api/v1/tasks/export").session(session).param("format", "xml"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/tasks/export").param("format", "csv"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testEmailExportIsSpooledToAFileInTheBackground() throws Exception {
+        byte[] download = mockMvc.perform(post("/api/tasks/export").session(session).param("action", "download"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        mockMvc.perform(post("/api/tasks/export").session(session).param("action", "email"))
+                .andExpect(status().is3xxRedirection());
+
+        EmailOutbox message = exportEmail();
+        assertEquals("tasks.csv", message.getAttachmentName());
+        assertTrue(message.getBody().contains(String.valueOf(TASKS - 1)));
+        assertFalse(Paths.get(message.getAttachmentPath()).isAbsolute());
+        Path file = emailOutboxService.attachmentFile(message);
+        assertArrayEquals(download, Files.readAllBytes(file));
+
+        emailOutboxService.discardAttachment(message);
+        assertFalse(Files.exists(file));
+    }
+
+    private EmailOutbox exportEmail() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            Optional<EmailOutbox> message = emailOutboxRepository.findAll().stream()
+                    .filter(m -> m.getType() == EmailType.TASK_EXPORT)
+                    .findFirst();
+            if (message.isPresent()) {
+                return message.get();
+            }
+            Thread.sleep(20);
+        }
+        return fail("The export email was never queued");
+    }
+}
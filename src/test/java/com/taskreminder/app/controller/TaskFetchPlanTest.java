@@ -0,0 +1,204 @@
+package com.taskreminder.app.controller;
+
+import com.taskreminder.app.dto.TaskFilter;
+import com.taskreminder.app.entity.Task;
+import com.taskreminder.app.entity.User;
+import com.taskreminder.app.enums.TaskPriority;
+import com.taskreminder.app.enums.TaskSortField;
+import com.taskreminder.app.enums.TaskStatus;
+import com.taskreminder.app.repository.TaskCounterRepository;
+import com.taskreminder.app.repository.TaskRepository;
+import com.taskreminder.app.repository.UserRepository;
+import com.taskreminder.app.service.TaskService;
+import com.taskreminder.app.support.SqlStatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static com.taskreminder.app.support.TestUsers.verifiedUser;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Fails when a page or endpoint starts loading something per task. Every read endpoint is run
+ * with cold caches over a small and a ten times larger task list: the number of statements must
+ * not change, and no request may load more than the one {@link User} row the page header shows.
+ * Task reads themselves must leave the owner unloaded.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "com.taskreminder.app.support.SqlStatementCounter",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TaskFetchPlanTest {
+
+    private static final List<String> ENDPOINTS = List.of(
+            "/api/tasks?size=5",
+            "/api/tasks?size=9999",
+            "/api/tasks?view=card",
+            "/api/tasks?view=calendar",
+            "/api/tasks?keyword=task",
+            "/api/tasks/trash",
+            "/api/dashboard/stats",
+            "/api/dashboard/tasks?type=pending",
+            "/api/dashboard/tasks?type=high",
+            "/api/dashboard/tasks?type=recent",
+            "/api/v1/tasks?size=5",
+            "/api/v1/tasks/scroll?size=5",
+            "/api/v1/tasks/all",
+            "/api/v1/tasks/due-today",
+            "/api/v1/tasks/upcoming",
+            "/api/v1/tasks/overdue",
+            "/api/v1/tasks/recent",
+            "/api/v1/tasks/priority/high",
+            "/api/v1/tasks/completed",
+            "/api/v1/tasks/pending",
+            "/api/v1/tasks/in-progress",
+            "/api/v1/tasks/trash");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskCounterRepository taskCounterRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private MockHttpSession session;
+
+    @BeforeEach
+    void setup() {
+        cleanup();
+        owner = verifiedUser(userRepository, "fetch-owner@example.com");
+        User other = verifiedUser(userRepository, "fetch-other@example.com");
+        seed(other, 10);
+
+        session = new MockHttpSession();
+        session.setAttribute("userId", owner.getId());
+        session.setAttribute("name", owner.getName());
+    }
+
+    @AfterEach
+    void cleanup() {
+        taskCounterRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testStatementsDoNotGrowWithTheTaskList() throws Exception {
+        seed(owner, 6);
+        // The first requests also create the user's task counters.
+        for (String endpoint : ENDPOINTS) {
+            perform(endpoint);
+        }
+        Map<String, Long> small = statementsPerEndpoint();
+
+        seed(owner, 54);
+        Map<String, Long> large = statementsPerEndpoint();
+
+        for (String endpoint : ENDPOINTS) {
+            assertEquals(small.get(endpoint), large.get(endpoint), endpoint + " runs a statement per task");
+        }
+    }
+
+    @Test
+    void testTaskReadsLoadNoOwner() {
+        Task task = seed(owner, 12).get(0);
+        Integer userId = owner.getId();
+        TaskFilter noFilter = new TaskFilter(null, null, null);
+
+        assertNoOwnerLoaded(() -> taskService.findByIdAndUserId(task.getId(), userId));
+        assertNoOwnerLoaded(() -> taskService.getPagedTasks(userId, noFilter, PageRequest.of(0, 5)));
+        assertNoOwnerLoaded(() -> taskService.scrollTasks(userId, noFilter, TaskSortField.DUE_DATE, false, null, 5));
+        assertNoOwnerLoaded(() -> taskService.getAllTasks(userId, noFilter, TaskSortField.ID, false));
+    }
+
+    private Map<String, Long> statementsPerEndpoint() throws Exception {
+        Statistics statistics = statistics();
+        Map<String, Long> statements = new LinkedHashMap<>();
+        for (String endpoint : ENDPOINTS) {
+            evictCaches();
+            long userLoads = statistics.getEntityStatistics(User.class.getName()).getLoadCount();
+            long taskFetches = statistics.getEntityStatistics(Task.class.getName()).getFetchCount();
+
+            statements.put(endpoint, SqlStatementCounter.count(() -> perform(endpoint)));
+
+            assertTrue(statistics.getEntityStatistics(User.class.getName()).getLoadCount() - userLoads <= 1,
+                    endpoint + " loads task owners");
+            assertEquals(taskFetches, statistics.getEntityStatistics(Task.class.getName()).getFetchCount(),
+                    endpoint + " fetches tasks one by one");
+        }
+        return statements;
+    }
+
+    /** Task reads outside a request, where nothing else has put the owner in the persistence context. */
+    private void assertNoOwnerLoaded(Supplier<?> read) {
+        Statistics statistics = statistics();
+        evictCaches();
+        long before = statistics.getEntityStatistics(User.class.getName()).getLoadCount();
+
+        read.get();
+
+        assertEquals(before, statistics.getEntityStatistics(User.class.getName()).getLoadCount(), "task read loaded its owner");
+    }
+
+    private Object perform(String url) throws Exception {
+        return mockMvc.perform(get(url).session(session)).andExpect(status().isOk()).andReturn();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private void evictCaches() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    private List<Task> seed(User user, int count) {
+        LocalDate today = LocalDate.now();
+        TaskStatus[] statuses = TaskStatus.values();
+        TaskPriority[] priorities = TaskPriority.values();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Task task = new Task("Task " + i, "Task number " + i, today.plusDays(i % 6 - 2),
+                    statuses[i % statuses.length], priorities[i % priorities.length]);
+            task.setUser(user);
+            task.setReminderTime(LocalDateTime.now().plusHours(i % 12 + 1));
+            task.setDeleted(i % 6 == 5);
+            tasks.add(task);
+        }
+        return taskRepository.saveAll(tasks);
+    }
+}
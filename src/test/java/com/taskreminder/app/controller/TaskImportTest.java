@@ -0,0 +1,262 @@
+package com.taskreminder.app.controller;
+
+import com.taskreminder.app.dto.TaskImportReport;
+import com.taskreminder.app.dto.TaskSummary;
+import com.taskreminder.app.entity.Task;
+import com.taskreminder.app.entity.TaskCounts;
+import com.taskreminder.app.entity.User;
+import com.taskreminder.app.enums.ExportFormat;
+import com.taskreminder.app.enums.TaskPriority;
+import com.taskreminder.app.enums.TaskStatus;
+import com.taskreminder.app.repository.TaskCounterRepository;
+import com.taskreminder.app.repository.TaskRepository;
+import com.taskreminder.app.repository.UserRepository;
+import com.taskreminder.app.service.TaskCounterCache;
+import com.taskreminder.app.service.TaskExportService;
+import com.taskreminder.app.service.TaskService;
+import com.taskreminder.app.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static com.taskreminder.app.support.TestUsers.verifiedUser;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.import.batch-size=50",
+        "app.import.max-errors=5",
+        "app.import.max-row-chars=2000",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "com.taskreminder.app.support.SqlStatementCounter"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TaskImportTest {
+
+    private static final String HEADER = "ID,Title,Description,Status,Priority,Due Date,Created At,Completed At\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @MockitoSpyBean
+    private TaskService taskService;
+
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private TaskCounterCache taskCounterCache;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskCounterRepository taskCounterRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final LocalDate today = LocalDate.now();
+    private User owner;
+    private MockHttpSession session;
+
+    @BeforeEach
+    void setup() {
+        cleanup();
+        owner = verifiedUser(userRepository, "importer@example.com");
+        session = new MockHttpSession();
+        session.setAttribute("userId", owner.getId());
+        taskCounterCache.get(owner.getId());
+    }
+
+    @AfterEach
+    void cleanup() {
+        taskCounterRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testExportedFileImportsBackUnchanged() throws Exception {
+        User source = verifiedUser(userRepository, "source@example.com");
+        List<Task> drafts = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            drafts.add(new Task("Task " + i, i == 0 ? "Quotes \"and\", commas,\nline breaks — ünïcode" : "Plain " + i,
+                    today.plusDays(i % 10), TaskStatus.values()[i % 2], TaskPriority.values()[i % 3]));
+        }
+        taskService.addTasks(drafts, source.getId());
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        taskExportService.write(source.getId(), ExportFormat.CSV, csv);
+
+        TaskImportReport report = importCsv(csv.toByteArray(), status().isOk());
+
+        assertEquals(120, report.getRows());
+        assertEquals(120, report.getImported());
+        assertTrue(report.getErrors().isEmpty());
+        List<String> expected = describe(taskService.getAllTasksByUser(source.getId()));
+        assertEquals(expected, describe(taskService.getAllTasksByUser(owner.getId())));
+        assertExact();
+    }
+
+    @Test
+    void testTasksWithoutDueDateOrPriorityImportBack() throws Exception {
+        User source = verifiedUser(userRepository, "blank-source@example.com");
+        taskService.addTasks(List.of(
+                new Task("No due date", null, null, TaskStatus.PENDING, TaskPriority.HIGH),
+                new Task("No priority", "Still due", today, TaskStatus.IN_PROGRESS, null)), source.getId());
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        taskExportService.write(source.getId(), ExportFormat.CSV, csv);
+        assertFalse(csv.toString(StandardCharsets.UTF_8).contains("null"));
+
+        TaskImportReport report = importCsv(csv.toByteArray(), status().isOk());
+
+        assertEquals(2, report.getImported());
+        assertTrue(report.getErrors().isEmpty());
+        assertEquals(describe(taskService.getAllTasksByUser(source.getId())),
+                describe(taskService.getAllTasksByUser(owner.getId())));
+        assertExact();
+    }
+
+    @Test
+    void testRefusedBatchIsRetriedRowByRow() throws Exception {
+        doAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            if (tasks.stream().anyMatch(t -> t.getTitle().startsWith("Poison"))) {
+                throw new DataIntegrityViolationException("Refused " + tasks.size() + " tasks");
+            }
+            return invocation.callRealMethod();
+        }).when(taskService).addTasks(anyList(), anyInt());
+        StringBuilder csv = new StringBuilder("Title,Priority,Due Date\n");
+        for (int i = 0; i < 60; i++) {
+            csv.append(i == 7 ? "Poison " : "Row ").append(i).append(",LOW,").append(today).append('\n');
+        }
+
+        TaskImportReport report = importCsv(csv.toString().getBytes(StandardCharsets.UTF_8), status().isOk());
+
+        assertEquals(59, report.getImported());
+        assertEquals(1, report.getFailed());
+        assertEquals(List.of(9L), report.getErrors().stream().map(e -> e.getLine()).toList());
+        assertEquals(59, taskRepository.count());
+        assertExact();
+    }
+
+    @Test
+    void testBadRowsAreReportedByLineAndTheRestSaved() throws Exception {
+        String csv = HEADER +
+                "1,Good one,\"Spans\ntwo lines\",PENDING,HIGH," + today + ",,\n" +
+                "2,,No title,PENDING,LOW," + today + ",,\n" +
+                "3,Bad date,,PENDING,LOW,tomorrow,,\n" +
+                "\n" +
+                "4,Bad priority,,PENDING,URGENT," + today + ",,\n" +
+                "5,Good two,,completed,low," + today + ",,\n" +
+                "6,Too long," + "x".repeat(2500) + ",PENDING,LOW," + today + ",,\n" +
+                "7,Unterminated,\"never closed,PENDING,LOW," + today + ",,\n";
+
+        TaskImportReport report = importCsv(csv.getBytes(StandardCharsets.UTF_8), status().isOk());
+
+        assertEquals(7, report.getRows());
+        assertEquals(2, report.getImported());
+        assertEquals(5, report.getFailed());
+        assertEquals(List.of(4L, 5L, 7L, 9L, 10L), report.getErrors().stream().map(e -> e.getLine()).toList());
+        assertEquals("Title is required", report.getErrors().get(0).getMessage());
+        assertFalse(report.isErrorsTruncated());
+        List<TaskSummary> saved = taskService.getAllTasksByUser(owner.getId());
+        assertEquals(List.of("Good one", "Good two"), saved.stream().map(TaskSummary::getTitle).sorted().toList());
+        assertEquals(TaskStatus.COMPLETED, saved.stream()
+                .filter(t -> t.getTitle().equals("Good two")).findFirst().orElseThrow().getStatus());
+        assertExact();
+    }
+
+    @Test
+    void testImportSavesInBatches() throws Exception {
+        StringBuilder csv = new StringBuilder("Title,Priority,Due Date\n");
+        for (int i = 0; i < 500; i++) {
+            csv.append("Row ").append(i).append(",MEDIUM,").append(today.plusDays(i % 30)).append('\n');
+        }
+        for (int i = 0; i < 8; i++) {
+            csv.append("Broken ").append(i).append(",MEDIUM,soon\n");
+        }
+
+        TaskImportReport[] report = new TaskImportReport[1];
+        long statements = SqlStatementCounter.count(() ->
+                report[0] = importCsv(gzip(csv.toString()), status().isOk()));
+
+        assertEquals(500, report[0].getImported());
+        assertEquals(8, report[0].getFailed());
+        assertEquals(5, report[0].getErrors().size());
+        assertTrue(report[0].isErrorsTruncated());
+        assertEquals(500, taskRepository.count());
+        assertTrue(statements < 100, statements + " statements for 500 rows");
+        assertExact();
+    }
+
+    @Test
+    void testFileWithoutRequiredColumnsIsRejected() throws Exception {
+        TaskImportReport report = importCsv("Title,Description\nA,B\n".getBytes(StandardCharsets.UTF_8),
+                status().isBadRequest());
+
+        assertEquals("The header has no 'Priority' column", report.getErrors().get(0).getMessage());
+        assertEquals(0, taskRepository.count());
+        mockMvc.perform(post("/api/v1/tasks/import").contentType("text/csv").content(HEADER))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private TaskImportReport importCsv(byte[] body, ResultMatcher expected) throws Exception {
+        var request = post("/api/v1/tasks/import").session(session).contentType("text/csv").content(body);
+        if (body.length > 1 && body[0] == (byte) 0x1f && body[1] == (byte) 0x8b) {
+            request.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        String response = mockMvc.perform(request)
+                .andExpect(expected)
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        return jsonMapper.readValue(response, TaskImportReport.class);
+    }
+
+    private static byte[] gzip(String text) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream zipped = new GZIPOutputStream(out)) {
+            zipped.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+    private static List<String> describe(List<TaskSummary> tasks) {
+        return tasks.stream()
+                .map(t -> t.getTitle() + "|" + t.getDescription() + "|" + t.getStatus() + "|" + t.getPriority()
+                        + "|" + t.getDueDate())
+                .sorted()
+                .toList();
+    }
+
+    private void assertExact() {
+        TaskCounts expected = TaskCounts.fold(taskRepository.countByUsers(List.of(owner.getId()), today))
+                .getOrDefault(owner.getId(), new TaskCounts());
+        assertEquals(expected, taskCounterCache.get(owner.getId()));
+    }
+}
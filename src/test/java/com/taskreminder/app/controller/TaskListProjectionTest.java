@@ -0,0 +1,150 @@
+package com.taskreminder.app.controller;
+
+import com.taskreminder.app.entity.Task;
+import com.taskreminder.app.entity.User;
+import com.taskreminder.app.enums.TaskPriority;
+import com.taskreminder.app.enums.TaskStatus;
+import com.taskreminder.app.repository.TaskCounterRepository;
+import com.taskreminder.app.repository.TaskRepository;
+import com.taskreminder.app.repository.UserRepository;
+import com.taskreminder.app.service.TaskService;
+import com.taskreminder.app.support.SqlStatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.taskreminder.app.support.TestUsers.verifiedUser;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Heap and response size of a task list read as {@code TaskSummary} rows against the same list
+ * read as {@link Task} entities, which also brought each task's owner into the response.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.taskreminder.app.support.SqlStatementCounter")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TaskListProjectionTest {
+
+    private static final int TASKS = 500;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskCounterRepository taskCounterRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private MockHttpSession session;
+
+    @BeforeEach
+    void setup() {
+        cleanup();
+        owner = verifiedUser(userRepository, "projection@example.com");
+
+        List<Task> tasks = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task("Task " + i, "Description of task " + i, today.plusDays(i % 30 - 10),
+                    i % 3 == 0 ? TaskStatus.COMPLETED : TaskStatus.PENDING, TaskPriority.values()[i % 3]);
+            task.setUser(owner);
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+
+        session = new MockHttpSession();
+        session.setAttribute("userId", owner.getId());
+    }
+
+    @AfterEach
+    void cleanup() {
+        taskCounterRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testListResponseCarriesOnlyTaskColumns() throws Exception {
+        String body = mockMvc.perform(get("/api/v1/tasks/all").session(session))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(body.contains("\"title\":\"Task 0\""));
+        assertFalse(body.contains("\"user\""));
+        assertFalse(body.contains("password"));
+    }
+
+    @Test
+    void testSummaryListReadsOneQuery() throws Exception {
+        evictCaches();
+
+        assertEquals(1, SqlStatementCounter.count(() -> taskService.getAllTasksByUser(owner.getId())));
+    }
+
+    @Test
+    void testSummariesUseLessHeapAndFewerBytes() {
+        Integer userId = owner.getId();
+        Supplier<byte[]> entityPath = () -> jsonMapper.writeValueAsBytes(taskRepository.findByUser_IdAndDeletedFalse(userId));
+        Supplier<byte[]> summaryPath = () -> jsonMapper.writeValueAsBytes(taskService.getAllTasksByUser(userId));
+
+        int entityBytes = entityPath.get().length;
+        int summaryBytes = summaryPath.get().length;
+        long entityHeap = allocatedPerRequest(entityPath);
+        long summaryHeap = allocatedPerRequest(summaryPath);
+
+        assertTrue(summaryBytes < entityBytes,
+                "summaries " + summaryBytes + " JSON bytes, entities " + entityBytes);
+        assertTrue(summaryHeap < entityHeap,
+                "summaries " + summaryHeap + " heap bytes, entities " + entityHeap);
+    }
+
+    /** Bytes the current thread allocates for one cold read, averaged over a few rounds. */
+    private long allocatedPerRequest(Supplier<byte[]> request) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            evictCaches();
+            long before = threads.getCurrentThreadAllocatedBytes();
+            request.get();
+            total += threads.getCurrentThreadAllocatedBytes() - before;
+        }
+        return total / ROUNDS;
+    }
+
+    private void evictCaches() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+}
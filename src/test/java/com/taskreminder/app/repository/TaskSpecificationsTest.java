@@ -0,0 +1,193 @@
+package com.taskreminder.app.repository;
+
+import com.taskreminder.app.dto.TaskFilter;
+import com.taskreminder.app.entity.Task;
+import com.taskreminder.app.entity.User;
+import com.taskreminder.app.enums.TaskPriority;
+import com.taskreminder.app.enums.TaskStatus;
+import com.taskreminder.app.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.taskreminder.app.support.TestUsers.verifiedUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.taskreminder.app.support.SqlStatementCounter")
+@ActiveProfiles("test")
+class TaskSpecificationsTest {
+
+    private static final TaskStatus[] STATUSES = {null, TaskStatus.PENDING, TaskStatus.COMPLETED};
+    private static final TaskPriority[] PRIORITIES = {null, TaskPriority.HIGH, TaskPriority.LOW};
+    private static final String[] KEYWORDS = {null, "", "report", "REP", "100%", "a_b"};
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setup() {
+        cleanup();
+        owner = verifiedUser(userRepository, "spec-owner@example.com");
+        User other = verifiedUser(userRepository, "spec-other@example.com");
+
+        String[] titles = {"Quarterly report", "Weekly Report draft", "Groceries", "100% done",
+                "a_b test", "axb test", "Reporting", "Call bank"};
+        TaskStatus[] statuses = TaskStatus.values();
+        TaskPriority[] priorities = TaskPriority.values();
+        for (int i = 0; i < 24; i++) {
+            Task task = task(owner, titles[i % titles.length], today.plusDays(i - 10),
+                    statuses[i % statuses.length], priorities[(i / 2) % priorities.length]);
+            task.setDeleted(i % 7 == 0);
+            if (i % 4 == 0) {
+                task.setReminderTime(LocalDateTime.now().plusHours(i));
+            }
+            if (task.getStatus() == TaskStatus.COMPLETED) {
+                task.setCompletedAt(today.minusDays(i % 5));
+            }
+            taskRepository.save(task);
+        }
+        taskRepository.save(task(other, "Quarterly report", today, TaskStatus.PENDING, TaskPriority.HIGH));
+    }
+
+    @AfterEach
+    void cleanup() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testMatchesDerivedQueriesForEveryFilterCombination() {
+        List<Pageable> pages = List.of(
+                PageRequest.of(0, 5, Sort.by("dueDate").ascending().and(Sort.by("id"))),
+                PageRequest.of(1, 4, Sort.by("title").descending().and(Sort.by("id"))),
+                PageRequest.of(0, 50, Sort.by("id")));
+
+        for (TaskStatus status : STATUSES) {
+            for (TaskPriority priority : PRIORITIES) {
+                for (String keyword : KEYWORDS) {
+                    for (Pageable pageable : pages) {
+                        Page<Task> expected = derived(status, priority, keyword, pageable);
+                        Page<Task> actual = taskRepository.findAll(
+                                TaskSpecifications.matching(owner.getId(), new TaskFilter(status, priority, keyword)),
+                                pageable);
+
+                        String combination = status + "/" + priority + "/" + keyword + "/" + pageable;
+                        assertEquals(expected.getTotalElements(), actual.getTotalElements(), combination);
+                        assertEquals(ids(expected), ids(actual), combination);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testDueDateRange() {
+        TaskFilter filter = new TaskFilter();
+        filter.setDueFrom(today.minusDays(2));
+        filter.setDueTo(today.plusDays(2));
+
+        List<Task> tasks = find(filter);
+
+        assertFalse(tasks.isEmpty());
+        assertTrue(tasks.stream().allMatch(t ->
+                !t.getDueDate().isBefore(today.minusDays(2)) && !t.getDueDate().isAfter(today.plusDays(2))));
+
+        filter.setDueFrom(null);
+        assertTrue(find(filter).stream().allMatch(t -> !t.getDueDate().isAfter(today.plusDays(2))));
+    }
+
+    @Test
+    void testReminderSetAndCompletedWindowCombine() {
+        TaskFilter filter = new TaskFilter();
+        filter.setHasReminder(true);
+        filter.setCompletedFrom(today.minusDays(4));
+        filter.setCompletedTo(today);
+
+        List<Task> tasks = find(filter);
+
+        long expected = taskRepository.findByUser_IdAndDeletedFalse(owner.getId()).stream()
+                .filter(t -> t.getReminderTime() != null)
+                .filter(t -> t.getCompletedAt() != null && !t.getCompletedAt().isBefore(today.minusDays(4)))
+                .count();
+        assertTrue(expected > 0);
+        assertEquals(expected, tasks.size());
+
+        filter.setHasReminder(false);
+        assertTrue(find(filter).stream().allMatch(t -> t.getReminderTime() == null));
+    }
+
+    @Test
+    void testKeywordIsBoundNotInlined() throws Exception {
+        TaskFilter filter = new TaskFilter();
+        filter.setKeyword("it's weekly");
+
+        List<String> statements = SqlStatementCounter.statements(() -> find(filter));
+
+        assertFalse(statements.isEmpty());
+        assertTrue(statements.stream().noneMatch(sql -> sql.toUpperCase().contains("WEEKLY")),
+                () -> "Keyword inlined into " + statements);
+
+        filter.setKeyword("weekly report");
+        assertEquals(List.of("Weekly Report draft"), find(filter).stream().map(Task::getTitle).distinct().toList());
+    }
+
+    private List<Task> find(TaskFilter filter) {
+        return taskRepository.findAll(TaskSpecifications.matching(owner.getId(), filter));
+    }
+
+    private Page<Task> derived(TaskStatus status, TaskPriority priority, String keyword, Pageable pageable) {
+        Integer userId = owner.getId();
+        boolean hasKeyword = keyword != null && !keyword.isBlank();
+        if (status != null && priority != null && hasKeyword) {
+            return taskRepository.findByUser_IdAndDeletedFalseAndStatusAndPriorityAndTitleContainingIgnoreCase(
+                    userId, status, priority, keyword, pageable);
+        }
+        if (status != null && priority != null) {
+            return taskRepository.findByUser_IdAndDeletedFalseAndStatusAndPriority(userId, status, priority, pageable);
+        }
+        if (status != null && hasKeyword) {
+            return taskRepository.findByUser_IdAndDeletedFalseAndStatusAndTitleContainingIgnoreCase(userId, status, keyword, pageable);
+        }
+        if (priority != null && hasKeyword) {
+            return taskRepository.findByUser_IdAndDeletedFalseAndPriorityAndTitleContainingIgnoreCase(userId, priority, keyword, pageable);
+        }
+        if (status != null) {
+            return taskRepository.findByUser_IdAndDeletedFalseAndStatus(userId, status, pageable);
+        }
+        if (priority != null) {
+            return taskRepository.findByUser_IdAndDeletedFalseAndPriority(userId, priority, pageable);
+        }
+        if (hasKeyword) {
+            return taskRepository.findByUser_IdAndDeletedFalseAndTitleContainingIgnoreCase(userId, keyword, pageable);
+        }
+        return taskRepository.findByUser_IdAndDeletedFalse(userId, pageable);
+    }
+
+    private static List<Integer> ids(Page<Task> page) {
+        return page.getContent().stream().map(Task::getId).toList();
+    }
+
+    private Task task(User user, String title, LocalDate dueDate, TaskStatus status, TaskPriority priority) {
+        Task task = new Task(title, title + " description", dueDate, status, priority);
+        task.setUser(user);
+        return task;
+    }
+}
@@ -0,0 +1,145 @@
+package com.taskreminder.app.scheduler;
+
+import com.taskreminder.app.entity.AgendaRun;
+import com.taskreminder.app.entity.EmailOutbox;
+import com.taskreminder.app.entity.Task;
+import com.taskreminder.app.entity.User;
+import com.taskreminder.app.enums.EmailType;
+import com.taskreminder.app.enums.TaskPriority;
+import com.taskreminder.app.enums.TaskStatus;
+import com.taskreminder.app.repository.AgendaRunRepository;
+import com.taskreminder.app.repository.EmailOutboxRepository;
+import com.taskreminder.app.repository.TaskRepository;
+import com.taskreminder.app.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.taskreminder.app.support.TestUsers.user;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "app.agenda.partition-size=2",
+        "app.agenda.node-id=agenda-test",
+        "app.mail.outbox.poll-ms=3600000"
+})
+@ActiveProfiles("test")
+class DailyAgendaJobTest {
+
+    @Autowired
+    private DailyAgendaJob dailyAgendaJob;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private AgendaRunRepository agendaRunRepository;
+
+    private final LocalDate today = LocalDate.now();
+    private final List<User> agendaUsers = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        cleanup();
+        agendaUsers.clear();
+        for (int i = 0; i < 5; i++) {
+            User user = user(userRepository, "agenda" + i + "@example.com", true);
+            agendaUsers.add(user);
+            task(user, "Due " + i, today, TaskStatus.PENDING, false);
+            task(user, "Overdue " + i, today.minusDays(2), TaskStatus.IN_PROGRESS, false);
+        }
+        User future = user(userRepository, "future@example.com", true);
+        task(future, "Next week", today.plusDays(7), TaskStatus.PENDING, false);
+        User done = user(userRepository, "done@example.com", true);
+        task(done, "Finished", today, TaskStatus.COMPLETED, false);
+        task(done, "Trashed", today, TaskStatus.PENDING, true);
+        User unverified = user(userRepository, "unverified@example.com", false);
+        task(unverified, "Due", today, TaskStatus.PENDING, false);
+    }
+
+    @AfterEach
+    void cleanup() {
+        emailOutboxRepository.deleteAll();
+        agendaRunRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testQueuesOneAgendaPerUserWithOpenTasks() {
+        dailyAgendaJob.run(today);
+
+        List<EmailOutbox> agendas = agendas();
+        assertEquals(5, agendas.size());
+        assertEquals(agendaUsers.stream().map(User::getEmail).toList(),
+                agendas.stream().map(EmailOutbox::getRecipient).sorted().toList());
+        assertTrue(agendas.get(0).getBody().contains("Overdue"));
+
+        AgendaRun run = agendaRunRepository.findById(today).orElseThrow();
+        assertTrue(run.isCompleted());
+        assertEquals(5, run.getEmailsQueued());
+    }
+
+    @Test
+    void testCompletedRunIsNotRepeated() {
+        dailyAgendaJob.run(today);
+        dailyAgendaJob.run(today);
+
+        assertEquals(5, agendas().size());
+    }
+
+    @Test
+    void testResumesAfterCheckpoint() {
+        AgendaRun interrupted = new AgendaRun(today);
+        interrupted.setLastUserId(agendaUsers.get(2).getId());
+        interrupted.setEmailsQueued(3);
+        interrupted.setOwnerNode("crashed-node");
+        interrupted.setLeaseUntil(LocalDateTime.now().minusMinutes(1));
+        agendaRunRepository.save(interrupted);
+
+        dailyAgendaJob.run(today);
+
+        assertEquals(List.of("agenda3@example.com", "agenda4@example.com"),
+                agendas().stream().map(EmailOutbox::getRecipient).sorted().toList());
+        assertEquals(5, agendaRunRepository.findById(today).orElseThrow().getEmailsQueued());
+    }
+
+    @Test
+    void testRunOwnedByLiveNodeIsLeftAlone() {
+        AgendaRun running = new AgendaRun(today);
+        running.setOwnerNode("other-node");
+        running.setLeaseUntil(LocalDateTime.now().plusMinutes(5));
+        agendaRunRepository.save(running);
+
+        dailyAgendaJob.run(today);
+
+        assertTrue(agendas().isEmpty());
+    }
+
+    private List<EmailOutbox> agendas() {
+        return emailOutboxRepository.findAll().stream()
+                .filter(e -> e.getType() == EmailType.DAILY_AGENDA)
+                .toList();
+    }
+
+    private void task(User user, String title, LocalDate dueDate, TaskStatus status, boolean deleted) {
+        Task task = new Task(title, title + " description", dueDate, status, TaskPriority.MEDIUM);
+        task.setUser(user);
+        task.setDeleted(deleted);
+        taskRepository.save(task);
+    }
+}
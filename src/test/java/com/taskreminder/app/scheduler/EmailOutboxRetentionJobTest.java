@@ -0,0 +1,91 @@
+package com.taskreminder.app.scheduler;
+
+import com.taskreminder.app.entity.EmailOutbox;
+import com.taskreminder.app.enums.EmailStatus;
+import com.taskreminder.app.enums.EmailType;
+import com.taskreminder.app.repository.EmailOutboxRepository;
+import com.taskreminder.app.service.EmailOutboxService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "app.mail.outbox.retention-days=7",
+        "app.mail.outbox.chunk-size=3",
+        "app.mail.outbox.poll-ms=3600000"
+})
+@ActiveProfiles("test")
+class EmailOutboxRetentionJobTest {
+
+    @Autowired
+    private EmailOutboxRetentionJob emailOutboxRetentionJob;
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    @AfterEach
+    void cleanup() {
+        emailOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void testPurgesOnlyOldFinishedEmailsInChunks() {
+        List<Long> expired = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            expired.add(email(EmailStatus.SENT, now.minusDays(10)));
+            expired.add(email(EmailStatus.DEAD, now.minusDays(8)));
+        }
+        List<Long> kept = List.of(
+                email(EmailStatus.SENT, now.minusDays(2)),
+                email(EmailStatus.PENDING, now.minusDays(30)),
+                email(EmailStatus.SENDING, now.minusDays(30)));
+
+        assertEquals(expired.size(), emailOutboxRetentionJob.purge(now));
+        assertEquals(0, emailOutboxRetentionJob.purge(now));
+
+        assertEquals(kept, emailOutboxRepository.findAll().stream().map(EmailOutbox::getId).sorted().toList());
+    }
+
+    @Test
+    void testDeliveredOtpBodyIsNotKept() {
+        EmailOutbox otp = new EmailOutbox(EmailType.OTP, "otp@example.com", "OTP", "Your code is 123456");
+        otp.setStatus(EmailStatus.SENDING);
+        otp.setClaimedBy("retention-test-node");
+        otp.setLeaseUntil(now.plusMinutes(5));
+        emailOutboxRepository.save(otp);
+
+        emailOutboxService.markSent(otp, "retention-test-node");
+
+        EmailOutbox sent = emailOutboxRepository.findById(otp.getId()).orElseThrow();
+        assertEquals(EmailStatus.SENT, sent.getStatus());
+        assertFalse(sent.getBody().contains("123456"));
+    }
+
+    private Long email(EmailStatus status, LocalDateTime createdAt) {
+        EmailOutbox message = new EmailOutbox(EmailType.TASK_REMINDER, "old@example.com", "Subject", "Body");
+        message.setStatus(status);
+        Long id = emailOutboxRepository.save(message).getId();
+        jdbcTemplate.update("UPDATE email_outbox SET created_at = ? WHERE id = ?", Timestamp.valueOf(createdAt), id);
+        return id;
+    }
+}
@@ -0,0 +1,247 @@
+package com.taskreminder.app.scheduler;
+
+import com.taskreminder.app.dto.ReminderMailView;
+import com.taskreminder.app.entity.Task;
+import com.taskreminder.app.entity.User;
+import com.taskreminder.app.enums.TaskPriority;
+import com.taskreminder.app.enums.TaskStatus;
+import com.taskreminder.app.repository.TaskRepository;
+import com.taskreminder.app.repository.UserRepository;
+import com.taskreminder.app.service.EmailService;
+import com.taskreminder.app.service.ReminderClaimService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "app.reminder.batch-size=7",
+        "app.reminder.sweep.max-per-second=0"
+})
+@ActiveProfiles("test")
+class ReminderSchedulerConcurrencyTest {
+
+    private static final int NODES = 4;
+    private static final int TASKS = 300;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Autowired
+    private RecordingEmailService emailService;
+
+    @Autowired
+    private ReminderClaimService reminderClaimService;
+
+    @BeforeEach
+    void setup() {
+        emailService.sends.clear();
+        emailService.emails.set(0);
+        emailService.failing = false;
+
+        User user = new User();
+        user.setName("Reminder User");
+        user.setEmail("reminder@example.com");
+        user.setPassword("secret");
+        userRepository.save(user);
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task("Task " + i, "Description " + i, LocalDate.now().plusDays(1),
+                    TaskStatus.PENDING, TaskPriority.MEDIUM);
+            task.setUser(user);
+            task.setReminderSent(false);
+            task.setReminderTime(LocalDateTime.now().minusMinutes(1 + i % 30));
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    @AfterEach
+    void cleanup() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testConcurrentNodesSendEachReminderOnce() throws Exception {
+        List<ReminderScheduler> nodes = new ArrayList<>();
+        for (int i = 0; i < NODES; i++) {
+            nodes.add(newNode("node-" + i));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(NODES);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> runs = new ArrayList<>();
+        for (ReminderScheduler node : nodes) {
+            runs.add(executor.submit(() -> {
+                start.await();
+                node.checkReminders();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> run : runs) {
+            run.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(TASKS, emailService.sends.size());
+        emailService.sends.forEach((taskId, count) ->
+                assertEquals(1, count.get(), "Reminder for task " + taskId + " was sent more than once"));
+
+        List<Task> stored = taskRepository.findAll();
+        assertTrue(stored.stream().allMatch(Task::getReminderSent));
+        assertTrue(stored.stream().allMatch(t -> t.getReminderClaimedBy() == null));
+    }
+
+    @Test
+    void testFailedReminderIsReleased() {
+        emailService.failing = true;
+
+        newNode("node-failing").checkReminders();
+
+        List<Task> stored = taskRepository.findAll();
+        assertTrue(stored.stream().noneMatch(Task::getReminderSent));
+        assertTrue(stored.stream().allMatch(t -> t.getReminderClaimedBy() == null));
+        assertTrue(stored.stream().allMatch(t -> t.getReminderLeaseUntil() == null));
+    }
+
+    @Test
+    void testTrashedAndCompletedTasksAreSkipped() {
+        List<Task> tasks = taskRepository.findAll();
+        Task trashed = tasks.get(0);
+        trashed.setDeleted(true);
+        Task completed = tasks.get(1);
+        completed.setStatus(TaskStatus.COMPLETED);
+        taskRepository.saveAll(List.of(trashed, completed));
+
+        newNode("node-0").checkReminders();
+
+        assertEquals(TASKS - 2, emailService.sends.size());
+        assertFalse(emailService.sends.containsKey(trashed.getId()));
+        assertFalse(emailService.sends.containsKey(completed.getId()));
+        assertFalse(taskRepository.findById(trashed.getId()).orElseThrow().getReminderSent());
+    }
+
+    @Test
+    void testRemindersAreCoalescedPerUser() {
+        User other = new User();
+        other.setName("Other User");
+        other.setEmail("other@example.com");
+        other.setPassword("secret");
+        userRepository.save(other);
+        Task otherTask = new Task("Other", "Other task", LocalDate.now().plusDays(1),
+                TaskStatus.PENDING, TaskPriority.LOW);
+        otherTask.setUser(other);
+        otherTask.setReminderSent(false);
+        otherTask.setReminderTime(LocalDateTime.now().minusMinutes(5));
+        Task upcoming = new Task("Soon", "Due inside the digest window", LocalDate.now().plusDays(1),
+                TaskStatus.PENDING, TaskPriority.LOW);
+        upcoming.setUser(other);
+        upcoming.setReminderSent(false);
+        upcoming.setReminderTime(LocalDateTime.now().plusSeconds(60));
+        taskRepository.saveAll(List.of(otherTask, upcoming));
+
+        long savedBefore = reminderClaimService.getEmailsSaved();
+        ReflectionTestUtils.setField(reminderClaimService, "digestWindowSeconds", 300L);
+        try {
+            newNode("node-0").checkReminders();
+        } finally {
+            ReflectionTestUtils.setField(reminderClaimService, "digestWindowSeconds", 0L);
+        }
+
+        assertEquals(TASKS + 2, emailService.sends.size());
+        assertEquals(2, emailService.emails.get());
+        assertEquals(TASKS, reminderClaimService.getEmailsSaved() - savedBefore);
+    }
+
+    @Test
+    void testUpcomingRemindersAreNotSentEarlyByDefault() {
+        Task upcoming = new Task("Soon", "Not due yet", LocalDate.now().plusDays(1),
+                TaskStatus.PENDING, TaskPriority.LOW);
+        upcoming.setUser(userRepository.findByEmail("reminder@example.com").orElseThrow());
+        upcoming.setReminderSent(false);
+        upcoming.setReminderTime(LocalDateTime.now().plusSeconds(60));
+        taskRepository.save(upcoming);
+
+        newNode("node-0").checkReminders();
+
+        assertEquals(TASKS, emailService.sends.size());
+        assertFalse(emailService.sends.containsKey(upcoming.getId()));
+        assertFalse(taskRepository.findById(upcoming.getId()).orElseThrow().getReminderSent());
+    }
+
+    @Test
+    void testSweepIsRateLimited() {
+        ReminderScheduler node = newNode("node-paced");
+        ReflectionTestUtils.setField(node, "maxPerSecond", 1000);
+
+        long started = System.nanoTime();
+        node.checkReminders();
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        assertEquals(TASKS, emailService.sends.size());
+        // 300 reminders at 1000/s; the final partial chunk is not paced.
+        assertTrue(elapsedMs >= 250, "Sweep finished in " + elapsedMs + " ms");
+    }
+
+    private ReminderScheduler newNode(String nodeId) {
+        // autowireBean injects dependencies without registering the @Scheduled method again
+        ReminderScheduler node = new ReminderScheduler();
+        beanFactory.autowireBean(node);
+        ReflectionTestUtils.setField(node, "nodeId", nodeId);
+        return node;
+    }
+
+    @TestConfiguration
+    static class RecordingMailConfig {
+
+        @Bean
+        @Primary
+        RecordingEmailService recordingEmailService() {
+            return new RecordingEmailService();
+        }
+    }
+
+    static class RecordingEmailService extends EmailService {
+
+        final Map<Integer, AtomicInteger> sends = new ConcurrentHashMap<>();
+        final AtomicInteger emails = new AtomicInteger();
+        volatile boolean failing;
+
+        @Override
+        public void queueTaskReminders(List<ReminderMailView> tasks) {
+            if (failing) {
+                throw new RuntimeException("SMTP down");
+            }
+            emails.incrementAndGet();
+            for (ReminderMailView task : tasks) {
+                sends.computeIfAbsent(task.getId(), id -> new AtomicInteger()).incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.taskreminder.app.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReminderTimingWheelTest {
+
+    private static final long START = 1_700_000_000L;
+
+    @Test
+    void testFiresAtDeadline() {
+        ReminderTimingWheel wheel = new ReminderTimingWheel(START);
+        wheel.schedule(1, START + 5);
+
+        assertEquals(0, wheel.advance(START + 4).length);
+        assertArrayEquals(new int[]{1}, wheel.advance(START + 5));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testPastDeadlineFiresOnNextAdvance() {
+        ReminderTimingWheel wheel = new ReminderTimingWheel(START);
+        wheel.advance(START + 10);
+        wheel.schedule(2, START - 3600);
+
+        assertArrayEquals(new int[]{2}, wheel.advance(START + 11));
+    }
+
+    @Test
+    void testRescheduleReplacesPreviousDeadline() {
+        ReminderTimingWheel wheel = new ReminderTimingWheel(START);
+        wheel.schedule(3, START + 10);
+        wheel.schedule(3, START + 20_000);
+
+        assertEquals(0, wheel.advance(START + 19_999).length);
+        assertArrayEquals(new int[]{3}, wheel.advance(START + 20_000));
+    }
+
+    @Test
+    void testCancelledTaskNeverFires() {
+        ReminderTimingWheel wheel = new ReminderTimingWheel(START);
+        wheel.schedule(4, START + 300);
+        assertTrue(wheel.cancel(4));
+
+        assertEquals(0, wheel.advance(START + 1000).length);
+        assertFalse(wheel.contains(4));
+    }
+
+    @Test
+    void testRejectsDeadlinesBeyondRange() {
+        ReminderTimingWheel wheel = new ReminderTimingWheel(START);
+
+        assertFalse(wheel.schedule(5, START + ReminderTimingWheel.MAX_DELAY_SECONDS));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testRandomScheduleFiresEachTaskOnceOnTime() {
+        ReminderTimingWheel wheel = new ReminderTimingWheel(START, 16);
+        Random random = new Random(42);
+        Map<Integer, Long> expected = new HashMap<>();
+
+        for (int id = 1; id <= 20_000; id++) {
+            long deadline = START + random.nextInt(3 * 24 * 3600);
+            wheel.schedule(id, deadline);
+            expected.put(id, deadline);
+        }
+        for (int id = 1; id <= 20_000; id += 7) {
+            wheel.cancel(id);
+            expected.remove(id);
+        }
+        assertEquals(expected.size(), wheel.size());
+
+        long now = START;
+        while (now < START + 3 * 24 * 3600 + 1) {
+            now += 1 + random.nextInt(90);
+            for (int id : wheel.advance(now)) {
+                Long deadline = expected.remove(id);
+                assertNotNull(deadline, "Task " + id + " fired twice or was cancelled");
+                assertTrue(deadline <= now, "Task " + id + " fired early");
+                assertTrue(deadline > now - 91, "Task " + id + " fired late");
+            }
+        }
+        assertTrue(expected.isEmpty(), "Not fired: " + Arrays.toString(expected.keySet().stream().limit(5).toArray()));
+        assertEquals(0, wheel.size());
+    }
+}
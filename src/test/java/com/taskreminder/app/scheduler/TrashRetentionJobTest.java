@@ -0,0 +1,157 @@
+package com.taskreminder.app.scheduler;
+
+import com.taskreminder.app.entity.Task;
+import com.taskreminder.app.entity.TaskCounts;
+import com.taskreminder.app.entity.User;
+import com.taskreminder.app.enums.TaskPriority;
+import com.taskreminder.app.enums.TaskStatus;
+import com.taskreminder.app.repository.TaskCounterRepository;
+import com.taskreminder.app.repository.TaskRepository;
+import com.taskreminder.app.repository.UserRepository;
+import com.taskreminder.app.service.TaskCounterCache;
+import com.taskreminder.app.service.TaskService;
+import com.taskreminder.app.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.taskreminder.app.support.TestUsers.verifiedUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "app.trash.retention-days=30",
+        "app.trash.chunk-size=10",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "com.taskreminder.app.support.SqlStatementCounter"
+})
+@ActiveProfiles("test")
+class TrashRetentionJobTest {
+
+    @Autowired
+    private TrashRetentionJob trashRetentionJob;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskCounterCache taskCounterCache;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskCounterRepository taskCounterRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private final List<User> owners = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        cleanup();
+        owners.clear();
+        owners.add(verifiedUser(userRepository, "trash-a@example.com"));
+        owners.add(verifiedUser(userRepository, "trash-b@example.com"));
+    }
+
+    @AfterEach
+    void cleanup() {
+        taskCounterRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testPurgesOnlyExpiredTrashInChunks() {
+        List<Integer> expired = new ArrayList<>();
+        List<Integer> kept = new ArrayList<>();
+        for (User owner : owners) {
+            List<Integer> ids = tasks(owner, 15);
+            trash(owner, ids.subList(0, 12), now.minusDays(45));
+            trash(owner, ids.subList(12, 14), now.minusDays(5));
+            expired.addAll(ids.subList(0, 12));
+            kept.addAll(ids.subList(12, 15));
+        }
+
+        assertEquals(24, trashRetentionJob.purge(now));
+        assertEquals(0, trashRetentionJob.purge(now));
+
+        assertEquals(kept, taskRepository.findAll().stream().map(Task::getId).sorted().toList());
+        assertEquals(0, postings(expired));
+        assertTrue(postings(kept) > 0);
+        for (User owner : owners) {
+            assertExact(owner);
+            assertEquals(2, taskCounterCache.get(owner.getId()).getTrashed());
+        }
+    }
+
+    @Test
+    void testEmptyTrashDeletesWithoutPerTaskStatements() throws Exception {
+        User small = owners.get(0);
+        User large = owners.get(1);
+        trash(small, tasks(small, 3), now);
+        trash(large, tasks(large, 60), now);
+
+        long smallStatements = SqlStatementCounter.count(() -> {
+            taskService.emptyTrash(small.getId());
+            return null;
+        });
+        long largeStatements = SqlStatementCounter.count(() -> {
+            taskService.emptyTrash(large.getId());
+            return null;
+        });
+
+        assertEquals(smallStatements, largeStatements);
+        assertEquals(0, taskRepository.count());
+        assertExact(small);
+        assertExact(large);
+        assertThrows(RuntimeException.class, () -> taskService.emptyTrash(large.getId()));
+    }
+
+    private List<Integer> tasks(User owner, int count) {
+        List<Task> drafts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            drafts.add(new Task("Trash candidate " + i, "Kept around " + i, LocalDate.now(), TaskStatus.PENDING,
+                    TaskPriority.LOW));
+        }
+        taskCounterCache.get(owner.getId());
+        return taskService.addTasks(drafts, owner.getId()).stream().map(Task::getId).toList();
+    }
+
+    private void trash(User owner, List<Integer> ids, LocalDateTime deletedAt) {
+        taskService.moveToTrash(owner.getId(), ids);
+        for (Integer id : ids) {
+            jdbcTemplate.update("UPDATE task SET deleted_at = ? WHERE Task_id = ?", Timestamp.valueOf(deletedAt), id);
+        }
+    }
+
+    private int postings(List<Integer> taskIds) {
+        int count = 0;
+        for (Integer id : taskIds) {
+            count += jdbcTemplate.queryForObject("SELECT COUNT(*) FROM task_search_term WHERE task_id = ?",
+                    Integer.class, id);
+        }
+        return count;
+    }
+
+    private void assertExact(User owner) {
+        TaskCounts expected = TaskCounts.fold(taskRepository.countByUsers(List.of(owner.getId()), LocalDate.now()))
+                .getOrDefault(owner.getId(), new TaskCounts());
+        assertEquals(expected, taskCounterCache.get(owner.getId()));
+    }
+}
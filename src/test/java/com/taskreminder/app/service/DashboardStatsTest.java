@@ -0,0 +1,126 @@
+package com.taskreminder.app.service;
+
+import com.taskreminder.app.dto.DashboardStats;
+import com.taskreminder.app.dto.TaskSummary;
+import com.taskreminder.app.entity.Task;
+import com.taskreminder.app.entity.User;
+import com.taskreminder.app.enums.TaskPriority;
+import com.taskreminder.app.enums.TaskStatus;
+import com.taskreminder.app.repository.TaskCounterRepository;
+import com.taskreminder.app.repository.TaskRepository;
+import com.taskreminder.app.repository.UserRepository;
+import com.taskreminder.app.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.taskreminder.app.support.TestUsers.verifiedUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.taskreminder.app.support.SqlStatementCounter")
+@ActiveProfiles("test")
+class DashboardStatsTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskCounterRepository taskCounterRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setup() {
+        cleanup();
+        owner = verifiedUser(userRepository, "dashboard-owner@example.com");
+        LocalDate today = LocalDate.now();
+        TaskStatus[] statuses = {TaskStatus.PENDING, TaskStatus.IN_PROGRESS, TaskStatus.COMPLETED};
+        TaskPriority[] priorities = {TaskPriority.HIGH, TaskPriority.MEDIUM, TaskPriority.LOW, null};
+        for (int i = 0; i < 60; i++) {
+            // Due dates cycle through yesterday, today, tomorrow and none.
+            LocalDate due = i % 4 == 3 ? null : today.plusDays(i % 4 - 1);
+            Task task = new Task("Task " + i, null, due, statuses[i % 3], priorities[i % 4]);
+            task.setUser(owner);
+            task.setDeleted(i % 10 == 9);
+            taskRepository.save(task);
+        }
+        Task foreign = new Task("Foreign", null, today, TaskStatus.PENDING, TaskPriority.HIGH);
+        foreign.setUser(verifiedUser(userRepository, "dashboard-other@example.com"));
+        taskRepository.save(foreign);
+    }
+
+    @AfterEach
+    void cleanup() {
+        taskCounterRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testCountsMatchTheTaskLists() {
+        Integer userId = owner.getId();
+        List<TaskSummary> all = taskService.getAllTasksByUser(userId);
+
+        DashboardStats stats = taskService.getDashboardStats(userId);
+
+        assertEquals(all.size(), stats.getTotalCount());
+        assertEquals(count(all, TaskStatus.COMPLETED), stats.getCompletedCount());
+        assertEquals(taskService.getPendingTasks(userId).size(), stats.getPendingCount());
+        assertEquals(taskService.getInProgressTasks(userId).size(), stats.getInProgressCount());
+        assertEquals(taskService.getOverdueTasks(userId).size(), stats.getOverdueCount());
+        assertEquals(taskService.getTasksDueToday(userId).size(), stats.getDueTodayCount());
+        assertEquals(count(all, TaskPriority.HIGH), stats.getHighPriorityCount());
+        assertEquals(count(all, TaskPriority.MEDIUM), stats.getMediumPriorityCount());
+        assertEquals(count(all, TaskPriority.LOW), stats.getLowPriorityCount());
+        assertEquals(Math.round(count(all, TaskStatus.COMPLETED) * 100.0 / all.size()), stats.getCompletionRate());
+        assertEquals(5, stats.getRecentTasks().size());
+    }
+
+    @Test
+    void testStatsTakeFarFewerQueriesThanTheListPath() throws Exception {
+        Integer userId = owner.getId();
+
+        // What /api/dashboard/stats used to run: whole entity lists, only to take their sizes.
+        long listQueries = SqlStatementCounter.count(() -> {
+            taskService.getAllTasksByUser(userId);
+            taskService.getPendingTasks(userId);
+            taskService.getInProgressTasks(userId);
+            taskService.getOverdueTasks(userId);
+            taskService.getAllTasksByUser(userId);
+            taskService.getTasksDueToday(userId);
+            taskService.getHighPriorityTasks(userId);
+            taskService.getMediumPriorityTasks(userId);
+            return taskService.getLowPriorityTasks(userId);
+        });
+
+        // The first read creates the user's counter row; later ones are served from memory.
+        taskService.getDashboardStats(userId);
+        long statsQueries = SqlStatementCounter.count(() -> taskService.getDashboardStats(userId));
+
+        // One query per list; the repeated full list may come from the query cache.
+        assertTrue(listQueries >= 8, "list path ran " + listQueries + " queries");
+        // At most the recent tasks.
+        assertTrue(statsQueries <= 1, "counter path ran " + statsQueries + " queries");
+    }
+
+    private static long count(List<TaskSummary> tasks, TaskStatus status) {
+        return tasks.stream().filter(t -> t.getStatus() == status).count();
+    }
+
+    private static long count(List<TaskSummary> tasks, TaskPriority priority) {
+        return tasks.stream().filter(t -> t.getPriority() == priority).count();
+    }
+}
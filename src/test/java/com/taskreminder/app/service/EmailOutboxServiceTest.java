@@ -0,0 +1,134 @@
+package com.taskreminder.app.service;
+
+import com.taskreminder.app.entity.EmailOutbox;
+import com.taskreminder.app.enums.EmailStatus;
+import com.taskreminder.app.enums.EmailType;
+import com.taskreminder.app.repository.EmailOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxServiceTest {
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @InjectMocks
+    private EmailOutboxService emailOutboxService;
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(emailOutboxService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(emailOutboxService, "backoffSeconds", 30L);
+        ReflectionTestUtils.setField(emailOutboxService, "maxBackoffSeconds", 100L);
+    }
+
+    @Test
+    void testEnqueueStoresPendingMessage() {
+        when(emailOutboxRepository.save(any(EmailOutbox.class))).thenAnswer(i -> i.getArgument(0));
+
+        EmailOutbox message = emailOutboxService.enqueue(EmailType.OTP, "a@b.com", "Subject", "<p>Body</p>");
+
+        assertEquals(EmailStatus.PENDING, message.getStatus());
+        assertEquals("a@b.com", message.getRecipient());
+        assertNull(message.getAttachmentPath());
+    }
+
+    @Test
+    void testClaimBatchSkipsWhenNothingDue() {
+        when(emailOutboxRepository.lockDueIds(any(), eq(10))).thenReturn(List.of());
+
+        List<EmailOutbox> batch = emailOutboxService.claimBatch("node", LocalDateTime.now(), 10, Duration.ofMinutes(5));
+
+        assertTrue(batch.isEmpty());
+        verify(emailOutboxRepository, never()).claim(any(), any(), any());
+    }
+
+    @Test
+    void testMarkFailedReschedulesWithBackoff() {
+        EmailOutbox message = new EmailOutbox(EmailType.OTP, "a@b.com", "Subject", "Body");
+        message.setId(7L);
+        message.setAttempts(0);
+
+        emailOutboxService.markFailed(message, "node", "Connection refused");
+
+        ArgumentCaptor<LocalDateTime> next = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(emailOutboxRepository).markFailed(eq(7L), eq("node"), eq(EmailStatus.PENDING),
+                next.capture(), eq("Connection refused"));
+        assertTrue(next.getValue().isAfter(LocalDateTime.now().plusSeconds(25)));
+    }
+
+    @Test
+    void testMarkFailedDeadLettersAfterMaxAttempts() {
+        EmailOutbox message = new EmailOutbox(EmailType.TASK_REMINDER, "a@b.com", "Subject", "Body");
+        message.setId(8L);
+        message.setAttempts(2);
+
+        emailOutboxService.markFailed(message, "node", "Mailbox unavailable");
+
+        verify(emailOutboxRepository).markFailed(eq(8L), eq("node"), eq(EmailStatus.DEAD), any(), any());
+    }
+
+    @Test
+    void testSentOtpBodyIsCleared() {
+        EmailOutbox otp = new EmailOutbox(EmailType.OTP, "a@b.com", "Subject", "Your code is 123456");
+        otp.setId(9L);
+        EmailOutbox reminder = new EmailOutbox(EmailType.TASK_REMINDER, "a@b.com", "Subject", "Body");
+        reminder.setId(10L);
+        when(emailOutboxRepository.markSent(anyLong(), eq("node"), any())).thenReturn(1);
+
+        emailOutboxService.markSent(otp, "node");
+        emailOutboxService.markSent(reminder, "node");
+
+        verify(emailOutboxRepository).clearBody(9L);
+        verify(emailOutboxRepository, never()).clearBody(10L);
+    }
+
+    @Test
+    void testOtpBodyIsKeptWhileItMayStillBeRetried() {
+        EmailOutbox otp = new EmailOutbox(EmailType.OTP, "a@b.com", "Subject", "Your code is 123456");
+        otp.setId(11L);
+        otp.setAttempts(0);
+
+        emailOutboxService.markFailed(otp, "node", "Connection refused");
+        verify(emailOutboxRepository, never()).clearBody(any());
+
+        otp.setAttempts(2);
+        emailOutboxService.markFailed(otp, "node", "Connection refused");
+        verify(emailOutboxRepository).clearBody(11L);
+    }
+
+    @Test
+    void testPurgeDeletesOnlyTheFinishedIdsFound() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(7);
+        when(emailOutboxRepository.findFinishedIds(eq(cutoff), any())).thenReturn(List.of(1L, 2L), List.of());
+        when(emailOutboxRepository.deleteByIds(List.of(1L, 2L))).thenReturn(2);
+
+        assertEquals(2, emailOutboxService.purgeFinishedBefore(cutoff, 2));
+        assertEquals(0, emailOutboxService.purgeFinishedBefore(cutoff, 2));
+
+        verify(emailOutboxRepository, times(1)).deleteByIds(any());
+    }
+
+    @Test
+    void testBackoffIsExponentialAndCapped() {
+        assertEquals(Duration.ofSeconds(30), emailOutboxService.backoff(1));
+        assertEquals(Duration.ofSeconds(60), emailOutboxService.backoff(2));
+        assertEquals(Duration.ofSeconds(100), emailOutboxService.backoff(3));
+        assertEquals(Duration.ofSeconds(100), emailOutboxService.backoff(30));
+    }
+}
@@ -0,0 +1,79 @@
+package com.taskreminder.app.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Render cost of a task reminder body: the old string concatenation against a compiled
+ * {@link EmailTemplate}. The GC profiler reports {@code gc.alloc.rate.norm}, the bytes allocated
+ * per rendered message. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("dd MMM yyyy");
+
+    private EmailTemplate template;
+    private String name;
+    private String title;
+    private LocalDate dueDate;
+    private String description;
+
+    @Setup
+    public void setup() {
+        template = EmailTemplate.load("task-reminder", "name", "title", "dueDate", "description");
+        name = "Archie";
+        title = "Submit quarterly report";
+        dueDate = LocalDate.of(2026, 3, 14);
+        description = "Collect the numbers from finance & ops, then send the <final> draft for review.";
+    }
+
+    @Benchmark
+    public String concatenation() {
+        return "<!DOCTYPE html>" +
+                "<html>" +
+                "<body style='font-family: Arial, sans-serif; background-color:#f4f4f4; padding:20px;'>" +
+                "  <div style='background:#ffffff; padding:20px; border-radius:8px;'>" +
+                "    <h2>Task Reminder ⏰</h2>" +
+                "    <p>Hi <strong>" + name + "</strong>,</p>" +
+                "    <p>This is a reminder for your upcoming task:</p>" +
+                "    <ul>" +
+                "      <li><strong>Title:</strong> " + title + "</li>" +
+                "      <li><strong>Due At:</strong> " + dueDate.format(DATE_FMT) + "</li>" +
+                "      <li><strong>Description:</strong> " + description + "</li>" +
+                "    </ul>" +
+                "    <p style='font-size:12px; color:#777;'>Make sure to complete it on time!</p>" +
+                "  </div>" +
+                "</body>" +
+                "</html>";
+    }
+
+    @Benchmark
+    public String template() {
+        return template.render(name, title, dueDate.format(DATE_FMT), description);
+    }
+
+    @Test
+    void runBenchmarks() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(EmailTemplateBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
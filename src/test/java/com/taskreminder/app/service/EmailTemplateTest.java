@@ -0,0 +1,72 @@
+package com.taskreminder.app.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailTemplateTest {
+
+    @Test
+    void testRendersAndEscapesValues() {
+        EmailTemplate template = EmailTemplate.compile("test", "<p>{{ name }} has {{count}} tasks</p>", "name", "count");
+
+        assertEquals("<p>Tom &amp; &lt;Jerry&gt; has 3 tasks</p>", template.render("Tom & <Jerry>", 3));
+    }
+
+    @Test
+    void testRawPlaceholderIsNotEscaped() {
+        EmailTemplate item = EmailTemplate.compile("item", "<li>{{title}}</li>", "title");
+        EmailTemplate list = EmailTemplate.compile("list", "<ul>{{{items}}}</ul>", "items");
+
+        StringBuilder items = new StringBuilder();
+        item.appendTo(items, "a'b");
+        item.appendTo(items, "\"c\"");
+
+        assertEquals("<ul><li>a&#39;b</li><li>&quot;c&quot;</li></ul>", list.render(items));
+    }
+
+    @Test
+    void testNonLatin1CharactersBecomeEntities() {
+        EmailTemplate template = EmailTemplate.compile("test", "{{value}}", "value");
+
+        assertEquals("caf\u00e9 &#8212; &#128203;", template.render("caf\u00e9 \u2014 \uD83D\uDCCB"));
+    }
+
+    @Test
+    void testNullValueRendersEmpty() {
+        EmailTemplate template = EmailTemplate.compile("test", "[{{value}}]", "value");
+
+        assertEquals("[]", template.render((Object) null));
+    }
+
+    @Test
+    void testBufferReuseDoesNotLeakBetweenRenders() {
+        EmailTemplate template = EmailTemplate.compile("test", "{{value}}", "value");
+
+        assertEquals("a much longer first value", template.render("a much longer first value"));
+        assertEquals("short", template.render("short"));
+    }
+
+    @Test
+    void testUnknownPlaceholderFailsAtCompile() {
+        assertThrows(IllegalArgumentException.class,
+                () -> EmailTemplate.compile("test", "Hi {{nmae}}", "name"));
+    }
+
+    @Test
+    void testWrongValueCountFails() {
+        EmailTemplate template = EmailTemplate.compile("test", "{{a}}{{b}}", "a", "b");
+
+        assertThrows(IllegalArgumentException.class, () -> template.render("only one"));
+    }
+
+    @Test
+    void testLoadsTemplateFromClasspath() {
+        EmailTemplate template = EmailTemplate.load("task-reminder", "name", "title", "dueDate", "description");
+
+        String html = template.render("Sam", "<b>Report</b>", "01 Jan 2026", null);
+
+        assertTrue(html.contains("Hi <strong>Sam</strong>"));
+        assertTrue(html.contains("&lt;b&gt;Report&lt;/b&gt;"));
+    }
+}
@@ -0,0 +1,163 @@
+package com.taskreminder.app.service;
+
+import com.taskreminder.app.dto.UpdateProfileRequest;
+import com.taskreminder.app.entity.Task;
+import com.taskreminder.app.entity.User;
+import com.taskreminder.app.enums.TaskPriority;
+import com.taskreminder.app.enums.TaskStatus;
+import com.taskreminder.app.repository.TaskCounterRepository;
+import com.taskreminder.app.repository.TaskRepository;
+import com.taskreminder.app.repository.UserRepository;
+import com.taskreminder.app.scheduler.CacheStatsReporter;
+import com.taskreminder.app.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static com.taskreminder.app.support.TestUsers.user;
+import static com.taskreminder.app.support.TestUsers.verifiedUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.taskreminder.app.support.SqlStatementCounter")
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskCounterRepository taskCounterRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheStatsReporter cacheStatsReporter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User owner;
+    private Task task;
+
+    @BeforeEach
+    void setup() {
+        cleanup();
+        owner = verifiedUser(userRepository, "cached@example.com");
+
+        Task draft = new Task("Cached task", null, LocalDate.now(), TaskStatus.PENDING, TaskPriority.LOW);
+        draft.setUser(owner);
+        task = taskService.addTask(draft);
+    }
+
+    @AfterEach
+    void cleanup() {
+        taskCounterRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testProfileLookupIsServedFromCache() throws Exception {
+        userService.getProfile(owner.getId());
+
+        assertEquals(0, SqlStatementCounter.count(() -> userService.getProfile(owner.getId())));
+        assertEquals(owner.getName(), userService.getProfile(owner.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void testAuthLookupsAreNotCached() throws Exception {
+        userService.getUserById(owner.getId());
+        userService.findByEmail("cached@example.com");
+
+        assertTrue(SqlStatementCounter.count(() -> userService.getUserById(owner.getId())) > 0);
+        assertTrue(SqlStatementCounter.count(() -> userService.findByEmail("cached@example.com")) > 0);
+    }
+
+    @Test
+    void testVerificationIsSeenWithoutDelay() {
+        User unverified = user(userRepository, "unverified@example.com", false);
+        assertFalse(userService.getUserById(unverified.getId()).orElseThrow().isVerified());
+
+        unverified.setVerified(true);
+        userRepository.save(unverified);
+
+        assertTrue(userService.getUserById(unverified.getId()).orElseThrow().isVerified());
+        assertTrue(userService.findByEmail("unverified@example.com").orElseThrow().isVerified());
+    }
+
+    @Test
+    void testProfileUpdateRefreshesCachedProfile() {
+        userService.getProfile(owner.getId());
+
+        UpdateProfileRequest update = new UpdateProfileRequest();
+        update.setName("renamed");
+        update.setEmail("renamed@example.com");
+        userService.updateProfile(owner.getId(), update);
+
+        assertEquals("renamed", userService.getProfile(owner.getId()).orElseThrow().getName());
+        assertTrue(userService.findByEmail("cached@example.com").isEmpty());
+        assertTrue(userService.findByEmail("renamed@example.com").isPresent());
+    }
+
+    @Test
+    void testTaskReadsAreNotCached() throws Exception {
+        taskService.findByIdAndUserId(task.getId(), owner.getId());
+        taskService.getRecentTasks(owner.getId(), 5);
+
+        assertTrue(SqlStatementCounter.count(() -> taskService.findByIdAndUserId(task.getId(), owner.getId())) > 0);
+        assertTrue(SqlStatementCounter.count(() -> taskService.getRecentTasks(owner.getId(), 5)) > 0);
+    }
+
+    @Test
+    void testStaleTaskWriteFailsAfterBulkReminderUpdate() {
+        Task stale = taskService.findByIdAndUserId(task.getId(), owner.getId());
+
+        transactionTemplate.executeWithoutResult(status -> taskRepository.markRemindersSent(List.of(task.getId())));
+
+        stale.setTitle("Stale edit");
+        assertThrows(OptimisticLockingFailureException.class, () -> taskRepository.save(stale));
+        assertTrue(taskRepository.findById(task.getId()).orElseThrow().getReminderSent());
+    }
+
+    @Test
+    void testTaskEditAppliesAfterBulkReminderUpdate() {
+        transactionTemplate.executeWithoutResult(status -> taskRepository.markRemindersSent(List.of(task.getId())));
+
+        Task edit = new Task("Renamed task", null, LocalDate.now(), TaskStatus.IN_PROGRESS, TaskPriority.HIGH);
+        edit.setId(task.getId());
+        taskService.updateTask(edit, owner.getId());
+
+        assertEquals("Renamed task", taskService.findByIdAndUserId(task.getId(), owner.getId()).getTitle());
+    }
+
+    @Test
+    void testStatisticsArePublished() {
+        userService.getProfile(owner.getId());
+        userService.getProfile(owner.getId());
+
+        Map<String, Map<String, Number>> stats = cacheStatsReporter.snapshot();
+
+        assertTrue(stats.containsKey("user-profile"));
+        assertFalse(stats.containsKey("user"));
+        assertFalse(stats.containsKey("task"));
+        assertTrue(stats.get("user-profile").get("CacheHits").longValue() > 0);
+        assertNotNull(stats.get("user-profile").get("CacheEvictions"));
+    }
+}
@@ -0,0 +1,93 @@
+package com.taskreminder.app.service;
+
+import com.taskreminder.app.support.FakeSmtpServer;
+import jakarta.mail.*;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the old connection-per-message sending with {@link SmtpTransportPool} against a local
+ * SMTP stand-in that charges {@value #CONNECT_DELAY_MS} ms per connection, roughly what STARTTLS
+ * and AUTH cost against a hosted provider. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class SmtpTransportPoolBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpTransportPoolBenchmarkTest.class);
+
+    private static final long CONNECT_DELAY_MS = 50;
+    private static final int MESSAGES = 400;
+    private static final int SENDERS = 4;
+
+    @Test
+    void benchmarkPooledAgainstPerMessage() throws Exception {
+        try (FakeSmtpServer server = new FakeSmtpServer(CONNECT_DELAY_MS)) {
+            SmtpTransportPool pool = SmtpTransportPoolTest.newPool(server.getPort(), SENDERS, 100);
+            Session unpooled = unpooledSession(server.getPort());
+
+            double perMessage = run(() -> Transport.send(message(unpooled)));
+            double pooled = run(() -> pool.send(message(pool.getSession())));
+            pool.shutdown();
+
+            log.info(String.format("SMTP throughput, %d messages on %d threads: per-message %.0f msg/s, pooled %.0f msg/s (%.1fx), %d pooled connections",
+                    MESSAGES, SENDERS, perMessage, pooled, pooled / perMessage, pool.openedCount()));
+            assertEquals(2 * MESSAGES, server.getMessages());
+            assertTrue(pooled > perMessage);
+        }
+    }
+
+    private interface Send {
+        void send() throws MessagingException;
+    }
+
+    private static double run(Send send) throws InterruptedException {
+        ExecutorService senders = Executors.newFixedThreadPool(SENDERS);
+        long start = System.nanoTime();
+        for (int i = 0; i < MESSAGES; i++) {
+            senders.execute(() -> {
+                try {
+                    send.send();
+                } catch (MessagingException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+        }
+        senders.shutdown();
+        senders.awaitTermination(5, TimeUnit.MINUTES);
+        return MESSAGES / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private static Session unpooledSession(int port) {
+        Properties props = new Properties();
+        props.put("mail.smtp.auth", "true");
+        props.put("mail.smtp.host", "localhost");
+        props.put("mail.smtp.port", String.valueOf(port));
+        return Session.getInstance(props, new Authenticator() {
+            @Override
+            protected PasswordAuthentication getPasswordAuthentication() {
+                return new PasswordAuthentication("test@localhost", "test");
+            }
+        });
+    }
+
+    private static MimeMessage message(Session session) throws MessagingException {
+        MimeMessage message = new MimeMessage(session);
+        message.setFrom(new InternetAddress("test@localhost"));
+        message.setRecipients(Message.RecipientType.TO, InternetAddress.parse("user@example.com"));
+        message.setSubject("Benchmark");
+        message.setContent("<p>Hello</p>", "text/html; charset=utf-8");
+        return message;
+    }
+}
@@ -0,0 +1,150 @@
+package com.taskreminder.app.service;
+
+import com.taskreminder.app.support.FakeSmtpServer;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SmtpTransportPoolTest {
+
+    private FakeSmtpServer server;
+    private SmtpTransportPool pool;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new FakeSmtpServer(0);
+        pool = newPool(server.getPort(), 2, 1000);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        pool.shutdown();
+        server.close();
+    }
+
+    static SmtpTransportPool newPool(int port, int maxConnections, int maxMessagesPerConnection) {
+        SmtpTransportPool pool = new SmtpTransportPool();
+        ReflectionTestUtils.setField(pool, "host", "localhost");
+        ReflectionTestUtils.setField(pool, "port", port);
+        ReflectionTestUtils.setField(pool, "username", "test@localhost");
+        ReflectionTestUtils.setField(pool, "password", "test");
+        ReflectionTestUtils.setField(pool, "startTls", false);
+        ReflectionTestUtils.setField(pool, "maxConnections", maxConnections);
+        ReflectionTestUtils.setField(pool, "maxMessagesPerConnection", maxMessagesPerConnection);
+        ReflectionTestUtils.setField(pool, "idleTimeoutMs", 60_000L);
+        ReflectionTestUtils.setField(pool, "validateAfterMs", 5_000L);
+        ReflectionTestUtils.setField(pool, "borrowTimeoutMs", 5_000L);
+        ReflectionTestUtils.setField(pool, "timeoutMs", 5_000L);
+        pool.init();
+        return pool;
+    }
+
+    static MimeMessage message(SmtpTransportPool pool, int n) throws MessagingException {
+        MimeMessage message = new MimeMessage(pool.getSession());
+        message.setFrom(new InternetAddress("test@localhost"));
+        message.setRecipients(Message.RecipientType.TO, InternetAddress.parse("user" + n + "@example.com"));
+        message.setSubject("Message " + n);
+        message.setContent("<p>Hello " + n + "</p>", "text/html; charset=utf-8");
+        return message;
+    }
+
+    @Test
+    void testReusesConnectionAcrossMessages() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            pool.send(message(pool, i));
+        }
+
+        assertEquals(20, server.getMessages());
+        assertEquals(1, server.getConnections());
+        assertEquals(1, pool.idleCount());
+    }
+
+    @Test
+    void testNeverOpensMoreThanMaxConnections() throws Exception {
+        ExecutorService senders = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int n = i;
+            futures.add(senders.submit(() -> {
+                pool.send(message(pool, n));
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        senders.shutdown();
+
+        assertEquals(200, server.getMessages());
+        assertTrue(pool.openedCount() <= 2, "opened " + pool.openedCount());
+    }
+
+    @Test
+    void testRetiresConnectionAfterMessageLimit() throws Exception {
+        SmtpTransportPool limited = newPool(server.getPort(), 1, 5);
+        for (int i = 0; i < 12; i++) {
+            limited.send(message(limited, i));
+        }
+        limited.shutdown();
+
+        assertEquals(12, server.getMessages());
+        assertEquals(3, server.getConnections());
+    }
+
+    @Test
+    void testRecoversFromDroppedConnection() throws Exception {
+        pool.send(message(pool, 1));
+        server.dropConnections();
+
+        pool.send(message(pool, 2));
+
+        assertEquals(2, server.getMessages());
+        assertEquals(2, server.getConnections());
+    }
+
+    @Test
+    void testConnectionIsClosedWhenSendThrowsUnexpectedly() throws Exception {
+        pool.send(message(pool, 1));
+        MimeMessage broken = new MimeMessage(pool.getSession()) {
+            @Override
+            public void saveChanges() {
+                throw new IllegalStateException("Broken message");
+            }
+        };
+
+        assertThrows(IllegalStateException.class, () -> pool.send(broken));
+
+        assertEquals(0, pool.idleCount());
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (server.getOpenConnections() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, server.getOpenConnections());
+
+        pool.send(message(pool, 2));
+        assertEquals(2, server.getMessages());
+    }
+
+    @Test
+    void testEvictIdleClosesStaleConnections() throws Exception {
+        pool.send(message(pool, 1));
+        ReflectionTestUtils.setField(pool, "idleTimeoutMs", -1L);
+
+        pool.evictIdle();
+
+        assertEquals(0, pool.idleCount());
+    }
+}
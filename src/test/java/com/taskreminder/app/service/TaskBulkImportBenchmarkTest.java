@@ -0,0 +1,105 @@
+package com.taskreminder.app.service;
+
+import com.taskreminder.app.entity.Task;
+import com.taskreminder.app.entity.User;
+import com.taskreminder.app.enums.TaskPriority;
+import com.taskreminder.app.repository.TaskCounterRepository;
+import com.taskreminder.app.repository.TaskRepository;
+import com.taskreminder.app.repository.UserRepository;
+import com.taskreminder.app.support.SqlStatementCounter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.taskreminder.app.support.TestUsers.verifiedUser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Importing {@value #TASKS} tasks one {@link TaskService#addTask} call at a time against a single
+ * {@link TaskService#addTasks} call. The database is in memory, so this measures the per-statement
+ * and per-transaction overhead that batching removes; over a network each saved statement also
+ * saves a round trip. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.taskreminder.app.support.SqlStatementCounter")
+@ActiveProfiles("test")
+class TaskBulkImportBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskBulkImportBenchmarkTest.class);
+
+    private static final int TASKS = 10_000;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskCounterRepository taskCounterRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void benchmarkBulkImportAgainstOneByOne() throws Exception {
+        try {
+            User owner = verifiedUser(userRepository, "import@example.com");
+
+            // Warm both paths before timing them.
+            drafts(200, owner).forEach(taskService::addTask);
+            taskService.addTasks(drafts(200, null), owner.getId());
+
+            List<Task> single = drafts(TASKS, owner);
+            long singleStart = System.nanoTime();
+            long singleStatements = SqlStatementCounter.count(() -> {
+                single.forEach(taskService::addTask);
+                return null;
+            });
+            double singleSeconds = (System.nanoTime() - singleStart) / 1e9;
+
+            List<Task> bulk = drafts(TASKS, null);
+            long bulkStart = System.nanoTime();
+            long bulkStatements = SqlStatementCounter.count(() -> taskService.addTasks(bulk, owner.getId()));
+            double bulkSeconds = (System.nanoTime() - bulkStart) / 1e9;
+
+            log.info(String.format("Importing %d tasks: one by one %.0f tasks/s (%d prepared statements), bulk %.0f tasks/s (%d prepared statements), %.1fx",
+                    TASKS, TASKS / singleSeconds, singleStatements, TASKS / bulkSeconds, bulkStatements,
+                    singleSeconds / bulkSeconds));
+            assertEquals(2 * TASKS + 400, taskRepository.count());
+            assertTrue(bulkStatements < singleStatements);
+            assertTrue(bulkSeconds < singleSeconds);
+        } finally {
+            jdbcTemplate.execute("TRUNCATE TABLE task_search_term");
+            taskCounterRepository.deleteAll();
+            taskRepository.deleteAllInBatch();
+            userRepository.deleteAllInBatch();
+        }
+    }
+
+    private static List<Task> drafts(int count, User owner) {
+        LocalDate today = LocalDate.now();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Task task = new Task("Imported task " + i, "Line " + i + " of the import file", today.plusDays(i % 30),
+                    null, TaskPriority.values()[i % 3]);
+            task.setUser(owner);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
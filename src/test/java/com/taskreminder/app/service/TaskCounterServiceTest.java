@@ -0,0 +1,175 @@
+package com.taskreminder.app.service;
+
+import com.taskreminder.app.entity.Task;
+import com.taskreminder.app.entity.TaskCounter;
+import com.taskreminder.app.entity.TaskCounts;
+import com.taskreminder.app.entity.User;
+import com.taskreminder.app.enums.TaskPriority;
+import com.taskreminder.app.enums.TaskStatus;
+import com.taskreminder.app.repository.TaskCounterRepository;
+import com.taskreminder.app.repository.TaskRepository;
+import com.taskreminder.app.repository.UserRepository;
+import com.taskreminder.app.scheduler.TaskCounterJob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.taskreminder.app.support.TestUsers.verifiedUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskCounterServiceTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    @Autowired
+    private TaskCounterCache taskCounterCache;
+
+    @Autowired
+    private TaskCounterJob taskCounterJob;
+
+    @Autowired
+    private TaskCounterRepository taskCounterRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setup() {
+        cleanup();
+        owner = verifiedUser(userRepository, "counter-owner@example.com");
+    }
+
+    @AfterEach
+    void cleanup() {
+        taskCounterRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testFirstReadCountsExistingTasks() {
+        Task task = new Task("Imported", null, today.minusDays(1), TaskStatus.PENDING, TaskPriority.HIGH);
+        task.setUser(owner);
+        taskRepository.save(task);
+
+        TaskCounts counts = taskCounterCache.get(owner.getId());
+
+        assertEquals(1, counts.getTotal());
+        assertEquals(1, counts.getOverdue());
+        assertEquals(1, counts.getHighPriority());
+        assertEquals(today, taskCounterRepository.findById(owner.getId()).map(TaskCounter::getCountedOn).orElse(null));
+    }
+
+    @Test
+    void testEveryTaskWriteKeepsCountersExact() {
+        taskCounterCache.get(owner.getId());
+
+        Task overdue = add("Overdue", today.minusDays(2), TaskStatus.PENDING, TaskPriority.HIGH);
+        Task dueToday = add("Today", today, TaskStatus.IN_PROGRESS, TaskPriority.LOW);
+        Task later = add("Later", today.plusDays(3), null, TaskPriority.MEDIUM);
+        assertExact();
+        assertEquals(3, taskCounterCache.get(owner.getId()).getTotal());
+
+        taskService.markTask(overdue.getId(), owner.getId());
+        assertExact();
+        assertEquals(0, taskCounterCache.get(owner.getId()).getOverdue());
+
+        Task edit = new Task("Later, but sooner", null, today, TaskStatus.IN_PROGRESS, TaskPriority.HIGH);
+        edit.setId(later.getId());
+        taskService.updateTask(edit, owner.getId());
+        assertExact();
+
+        taskService.moveToTrash(dueToday.getId(), owner.getId());
+        taskService.moveToTrash(later.getId(), owner.getId());
+        assertExact();
+        assertEquals(2, taskCounterCache.get(owner.getId()).getTrashed());
+
+        taskService.restoreTask(later.getId(), owner.getId());
+        taskService.permanentDelete(dueToday.getId(), owner.getId());
+        assertExact();
+
+        taskService.moveToTrash(later.getId(), owner.getId());
+        taskService.emptyTrash(owner.getId());
+        assertExact();
+        assertEquals(1, taskCounterCache.get(owner.getId()).getTotal());
+        assertEquals(0, taskCounterCache.get(owner.getId()).getTrashed());
+    }
+
+    @Test
+    void testFailedWriteLeavesCountersAlone() {
+        Task task = add("Done", today, TaskStatus.PENDING, TaskPriority.LOW);
+        taskService.markTask(task.getId(), owner.getId());
+        TaskCounts before = taskCounterCache.get(owner.getId());
+
+        assertThrows(IllegalStateException.class, () -> taskService.markTask(task.getId(), owner.getId()));
+
+        assertEquals(before, taskCounterCache.get(owner.getId()));
+        assertExact();
+    }
+
+    @Test
+    void testRolloverRecountsTimeDependentCounts() {
+        add("Today", today, TaskStatus.PENDING, TaskPriority.LOW);
+        add("Tomorrow", today.plusDays(1), TaskStatus.PENDING, TaskPriority.LOW);
+        assertEquals(1, taskCounterCache.get(owner.getId()).getDueToday());
+
+        LocalDate tomorrow = today.plusDays(1);
+        assertEquals(1, taskCounterJob.rollover(tomorrow));
+        assertEquals(0, taskCounterJob.rollover(tomorrow));
+
+        TaskCounter counter = taskCounterRepository.findById(owner.getId()).orElseThrow();
+        assertEquals(tomorrow, counter.getCountedOn());
+        assertEquals(1, counter.getCounts().getOverdue());
+        assertEquals(1, counter.getCounts().getDueToday());
+    }
+
+    @Test
+    void testReconcileRepairsDrift() {
+        add("Task", today, TaskStatus.PENDING, TaskPriority.LOW);
+        taskCounterCache.get(owner.getId());
+        assertEquals(0, taskCounterJob.reconcile(today));
+
+        // A write that went around TaskService.
+        Task hidden = new Task("Hidden", null, today, TaskStatus.PENDING, TaskPriority.HIGH);
+        hidden.setUser(owner);
+        taskRepository.save(hidden);
+
+        assertEquals(1, taskCounterJob.reconcile(today));
+        assertEquals(2, taskCounterCache.get(owner.getId()).getTotal());
+        assertExact();
+    }
+
+    private void assertExact() {
+        TaskCounts expected = TaskCounts.fold(taskRepository.countByUsers(List.of(owner.getId()), today))
+                .getOrDefault(owner.getId(), new TaskCounts());
+        assertEquals(expected, taskCounterRepository.findById(owner.getId()).orElseThrow().getCounts());
+        assertEquals(expected, taskCounterCache.get(owner.getId()));
+    }
+
+    private Task add(String title, LocalDate due, TaskStatus status, TaskPriority priority) {
+        Task task = new Task(title, null, due, status, priority);
+        task.setUser(owner);
+        Task saved = taskService.addTask(task);
+        // Counters are only kept once they exist, so make sure they do before the next write.
+        taskCounterCache.get(owner.getId());
+        return saved;
+    }
+}
@@ -0,0 +1,106 @@
+package com.taskreminder.app.service;
+
+import com.taskreminder.app.enums.ExportFormat;
+import com.taskreminder.app.repository.TaskRepository;
+import com.taskreminder.app.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.OutputStream;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.taskreminder.app.support.TestUsers.verifiedUser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Exports {@value #TASKS} tasks as CSV and as XLSX to a byte-counting stream and reports rows per
+ * second and output size for each. Both read the same keyset chunks, so the difference is the
+ * cost of writing sheet XML and compressing it. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskExportBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskExportBenchmarkTest.class);
+
+    private static final int TASKS = 200_000;
+
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void benchmarkXlsxAgainstCsv() throws Exception {
+        try {
+            Integer userId = seed();
+            for (ExportFormat format : List.of(ExportFormat.CSV, ExportFormat.XLSX)) {
+                // Warm up, then time a second run.
+                taskExportService.write(userId, format, OutputStream.nullOutputStream());
+                CountingStream out = new CountingStream();
+                long start = System.nanoTime();
+                long rows = taskExportService.write(userId, format, out);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.gc();
+                Runtime runtime = Runtime.getRuntime();
+
+                log.info(String.format("Exporting %d tasks as %s: %.2f s, %.0f rows/s, %.1f MB written, %d MB heap in use after",
+                        rows, format, seconds, rows / seconds, out.count / 1e6,
+                        (runtime.totalMemory() - runtime.freeMemory()) >> 20));
+                assertEquals(TASKS, rows);
+            }
+        } finally {
+            taskRepository.deleteAllInBatch();
+            userRepository.deleteAllInBatch();
+        }
+    }
+
+    private Integer seed() {
+        Integer userId = verifiedUser(userRepository, "export-bench@example.com").getId();
+
+        Date today = Date.valueOf(LocalDate.now());
+        String[] priorities = {"LOW", "MEDIUM", "HIGH"};
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            batch.add(new Object[]{i + 1, "Exported task " + i, "Notes for task " + i + ", with a comma & more",
+                    today, "PENDING", priorities[i % 3], today, userId});
+            if (batch.size() == 1000 || i == TASKS - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO task (Task_id, task_name, description, due_date, status, priority, " +
+                        "created_at, reminder_sent, deleted, user_id) VALUES (?, ?, ?, ?, ?, ?, ?, false, false, ?)", batch);
+                batch.clear();
+            }
+        }
+        return userId;
+    }
+
+    private static final class CountingStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.taskreminder.app.service;
+
+import com.taskreminder.app.dto.TaskImportReport;
+import com.taskreminder.app.entity.User;
+import com.taskreminder.app.repository.TaskCounterRepository;
+import com.taskreminder.app.repository.TaskRepository;
+import com.taskreminder.app.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+
+import static com.taskreminder.app.support.TestUsers.verifiedUser;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Imports a generated CSV file of {@code import.rows} rows, one million by default, through
+ * {@link TaskImportService} and reports rows per second. The file is read from disk as the
+ * endpoint reads a request body, so the parser never holds more than one batch. The database is
+ * an H2 file under {@code target} rather than the in-memory one the other tests share, which
+ * would not fit a million tasks and their search postings in the test heap. The report includes
+ * the heap in use afterwards to show the import itself does not grow with the file. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "app.import.max-rows=10000000",
+        "spring.datasource.url=jdbc:h2:file:./target/import-benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;" +
+                "NON_KEYWORDS=USER,VALUE"
+})
+@ActiveProfiles("test")
+class TaskImportBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImportBenchmarkTest.class);
+
+    private static final int ROWS = Integer.getInteger("import.rows", 1_000_000);
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskCounterRepository taskCounterRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void benchmarkCsvImport() throws Exception {
+        Path file = Paths.get("target", "import-benchmark.csv");
+        try {
+            User owner = verifiedUser(userRepository, "csv-import@example.com");
+
+            write(file, ROWS);
+            long start = System.nanoTime();
+            TaskImportReport report;
+            try (InputStream in = Files.newInputStream(file)) {
+                report = taskImportService.importCsv(owner.getId(), in);
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.gc();
+            Runtime runtime = Runtime.getRuntime();
+            long heapMb = (runtime.totalMemory() - runtime.freeMemory()) >> 20;
+
+            log.info(String.format("Importing %d CSV rows (%d MB): %.1f s, %.0f rows/s, %d MB heap in use after",
+                    ROWS, Files.size(file) >> 20, seconds, ROWS / seconds, heapMb));
+            assertEquals(ROWS, report.getImported());
+            assertEquals(ROWS, taskRepository.count());
+        } finally {
+            Files.deleteIfExists(file);
+            jdbcTemplate.execute("TRUNCATE TABLE task_search_term");
+            taskCounterRepository.deleteAll();
+            taskRepository.deleteAllInBatch();
+            userRepository.deleteAllInBatch();
+        }
+    }
+
+    private static void write(Path file, int rows) throws Exception {
+        Files.createDirectories(file.getParent());
+        String[] priorities = {"LOW", "MEDIUM", "HIGH"};
+        LocalDate today = LocalDate.now();
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("ID,Title,Description,Status,Priority,Due Date,Created At,Completed At\n");
+            for (int i = 0; i < rows; i++) {
+                out.write(i + ",Imported " + i + ",\"Moved over, row " + i + "\",PENDING," + priorities[i % 3] + ","
+                        + today.plusDays(i % 90) + "," + today + ",null\n");
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.taskreminder.app.service;
+
+import com.taskreminder.app.dto.TaskCursor;
+import com.taskreminder.app.dto.TaskFilter;
+import com.taskreminder.app.dto.TaskSlice;
+import com.taskreminder.app.dto.TaskSummary;
+import com.taskreminder.app.entity.Task;
+import com.taskreminder.app.entity.User;
+import com.taskreminder.app.enums.TaskPriority;
+import com.taskreminder.app.enums.TaskSortField;
+import com.taskreminder.app.enums.TaskStatus;
+import com.taskreminder.app.repository.TaskRepository;
+import com.taskreminder.app.repository.TaskSpecifications;
+import com.taskreminder.app.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.taskreminder.app.support.TestUsers.verifiedUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskKeysetPaginationTest {
+
+    private static final int PAGE_SIZE = 4;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private final TaskFilter noFilter = new TaskFilter();
+
+    @BeforeEach
+    void setup() {
+        cleanup();
+        owner = verifiedUser(userRepository, "keyset-owner@example.com");
+        User other = verifiedUser(userRepository, "keyset-other@example.com");
+
+        String[] titles = {"Alpha", "beta", "Gamma", "alpha", "Delta|pipe"};
+        TaskPriority[] priorities = {TaskPriority.HIGH, null, TaskPriority.LOW, TaskPriority.MEDIUM};
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < 23; i++) {
+            // Repeated and missing sort values, so ordering relies on the id tie-break and NULL handling.
+            LocalDate due = i % 5 == 0 ? null : today.plusDays(i % 4);
+            Task task = new Task(titles[i % titles.length], null, due, TaskStatus.PENDING, priorities[i % priorities.length]);
+            task.setUser(owner);
+            task.setDeleted(i == 11);
+            taskRepository.save(task);
+        }
+        Task foreign = new Task("Alpha", null, today, TaskStatus.PENDING, TaskPriority.HIGH);
+        foreign.setUser(other);
+        taskRepository.save(foreign);
+    }
+
+    @AfterEach
+    void cleanup() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testForwardPagesMatchFullOrderingForEverySort() {
+        for (TaskSortField field : TaskSortField.values()) {
+            for (boolean descending : new boolean[]{false, true}) {
+                List<Integer> expected = expectedIds(field, descending);
+                List<Integer> seen = new ArrayList<>();
+
+                TaskSlice<Task> slice = taskService.scrollTasks(owner.getId(), noFilter, field, descending, null, PAGE_SIZE);
+                assertTrue(slice.isFirst());
+                seen.addAll(ids(slice));
+                while (!slice.isLast()) {
+                    slice = taskService.scrollTasks(owner.getId(), noFilter, field, descending, slice.getNextCursor(), PAGE_SIZE);
+                    seen.addAll(ids(slice));
+                }
+
+                assertEquals(expected, seen, field + (descending ? " desc" : " asc"));
+            }
+        }
+    }
+
+    @Test
+    void testBackwardPagesRetraceForwardPages() {
+        for (TaskSortField field : TaskSortField.values()) {
+            List<List<Integer>> forward = new ArrayList<>();
+            TaskSlice<Task> slice = taskService.scrollTasks(owner.getId(), noFilter, field, false, null, PAGE_SIZE);
+            forward.add(ids(slice));
+            while (!slice.isLast()) {
+                slice = taskService.scrollTasks(owner.getId(), noFilter, field, false, slice.getNextCursor(), PAGE_SIZE);
+                forward.add(ids(slice));
+            }
+
+            for (int page = forward.size() - 2; page >= 0; page--) {
+                slice = taskService.scrollTasks(owner.getId(), noFilter, field, false, slice.getPreviousCursor(), PAGE_SIZE);
+                assertEquals(forward.get(page), ids(slice), field + " page " + page);
+            }
+            assertTrue(slice.isFirst(), field.name());
+        }
+    }
+
+    @Test
+    void testShowAllReadsEveryTaskInChunks() {
+        List<Integer> all = new ArrayList<>();
+        List<Integer> chunkSizes = new ArrayList<>();
+        taskService.forEachTaskChunk(owner.getId(), noFilter, TaskSortField.DUE_DATE, false, 5, chunk -> {
+            chunkSizes.add(chunk.size());
+            chunk.forEach(t -> all.add(t.getId()));
+        });
+
+        assertEquals(expectedIds(TaskSortField.DUE_DATE, false), all);
+        assertEquals(List.of(5, 5, 5, 5, 2), chunkSizes);
+        assertEquals(all, taskService.getAllTasks(owner.getId(), noFilter, TaskSortField.DUE_DATE, false)
+                .stream().map(TaskSummary::getId).toList());
+    }
+
+    @Test
+    void testFiltersApplyAcrossPages() {
+        TaskFilter highOnly = new TaskFilter(null, TaskPriority.HIGH, null);
+
+        TaskSlice<Task> first = taskService.scrollTasks(owner.getId(), highOnly, TaskSortField.TITLE, false, null, 2);
+        TaskSlice<Task> second = taskService.scrollTasks(owner.getId(), highOnly, TaskSortField.TITLE, false, first.getNextCursor(), 2);
+
+        assertTrue(second.getContent().stream().allMatch(t -> t.getPriority() == TaskPriority.HIGH));
+        assertFalse(second.getContent().isEmpty());
+    }
+
+    @Test
+    void testRejectsInvalidOrMismatchedCursor() {
+        assertThrows(IllegalArgumentException.class, () ->
+                taskService.scrollTasks(owner.getId(), noFilter, TaskSortField.ID, false, "not-a-cursor", PAGE_SIZE));
+
+        String dueCursor = new TaskCursor(TaskSortField.DUE_DATE, false, false, 1, "2026-01-01").encode();
+        assertThrows(IllegalArgumentException.class, () ->
+                taskService.scrollTasks(owner.getId(), noFilter, TaskSortField.TITLE, false, dueCursor, PAGE_SIZE));
+
+        String badValue = new TaskCursor(TaskSortField.DUE_DATE, false, false, 1, "yesterday").encode();
+        assertThrows(IllegalArgumentException.class, () ->
+                taskService.scrollTasks(owner.getId(), noFilter, TaskSortField.DUE_DATE, false, badValue, PAGE_SIZE));
+    }
+
+    @Test
+    void testCursorRoundTripsValuesWithSeparator() {
+        TaskCursor cursor = TaskCursor.decode(new TaskCursor(TaskSortField.TITLE, true, true, 42, "Delta|pipe").encode());
+
+        assertEquals(TaskSortField.TITLE, cursor.getField());
+        assertTrue(cursor.isDescending());
+        assertTrue(cursor.isBackward());
+        assertEquals(42, cursor.getId());
+        assertEquals("Delta|pipe", cursor.getValue());
+        assertNull(TaskCursor.decode(new TaskCursor(TaskSortField.DUE_DATE, false, false, 1, null).encode()).getValue());
+    }
+
+    private List<Integer> expectedIds(TaskSortField field, boolean descending) {
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort sort = field == TaskSortField.ID
+                ? Sort.by(direction, "id")
+                : Sort.by(direction, field.getProperty(), "id");
+        return taskRepository.findAll(TaskSpecifications.matching(owner.getId(), noFilter), sort)
+                .stream().map(Task::getId).toList();
+    }
+
+    private static List<Integer> ids(TaskSlice<Task> slice) {
+        return slice.getContent().stream().map(Task::getId).toList();
+    }
+}
@@ -0,0 +1,176 @@
+package com.taskreminder.app.service;
+
+import com.taskreminder.app.dto.TaskFilter;
+import com.taskreminder.app.repository.TaskRepository;
+import com.taskreminder.app.repository.TaskSearchTermRepository;
+import com.taskreminder.app.repository.TaskSpecifications;
+import com.taskreminder.app.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.taskreminder.app.support.TestUsers.verifiedUser;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Keyword search latency over {@value #DEFAULT_TASKS} tasks: the title {@code LIKE '%kw%'} path
+ * against the inverted index. A fifth of the tasks belong to the user searched, so the LIKE path
+ * has that many rows to scan. Run with {@code mvn test -Pbenchmark}; pass
+ * {@code -Dbenchmark.search.tasks=N} to scale the data set to the heap available (the index holds
+ * about sixteen postings per task).
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "app.search.backfill-on-startup=false")
+@ActiveProfiles("test")
+class TaskSearchBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchBenchmarkTest.class);
+
+    private static final int DEFAULT_TASKS = 1_000_000;
+    private static final int USERS = 50;
+    private static final int QUERIES = 50;
+    private static final int VOCABULARY = 5000;
+    private static final String[] SYLLABLES = {
+            "ba", "ce", "di", "fo", "gu", "ha", "je", "ki", "lo", "mu", "na", "pe", "qui", "ro", "su",
+            "ta", "ve", "wi", "xo", "yu", "za", "bre", "cla", "dro", "fle", "gri", "pla", "stu", "tri"
+    };
+
+    private final String[] words = vocabulary();
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskSearchService taskSearchService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskSearchTermRepository taskSearchTermRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void benchmarkIndexAgainstLike() {
+        int tasks = Integer.getInteger("benchmark.search.tasks", DEFAULT_TASKS);
+        try {
+            List<Integer> userIds = seed(tasks);
+            Integer heavyUser = userIds.get(0);
+
+            long indexStart = System.nanoTime();
+            taskSearchService.rebuildAll();
+            double indexSeconds = (System.nanoTime() - indexStart) / 1e9;
+            // Refresh the planner's statistics after the bulk load, as MySQL does on its own;
+            // without them H2 reads the hit ids through the user index instead of the primary key.
+            jdbcTemplate.execute("ANALYZE");
+
+            Random random = new Random(7);
+            List<String> keywords = new ArrayList<>();
+            for (int i = 0; i < QUERIES; i++) {
+                String first = word(random);
+                keywords.add(first.substring(0, Math.min(4, first.length())) + " " + word(random));
+            }
+
+            // Warm both paths before timing them.
+            like(heavyUser, keywords.get(0));
+            indexed(heavyUser, keywords.get(0));
+
+            long likeStart = System.nanoTime();
+            keywords.forEach(k -> like(heavyUser, k));
+            double likeMs = (System.nanoTime() - likeStart) / 1e6 / QUERIES;
+
+            long indexedStart = System.nanoTime();
+            keywords.forEach(k -> indexed(heavyUser, k));
+            double indexedMs = (System.nanoTime() - indexedStart) / 1e6 / QUERIES;
+
+            log.info(String.format("Task search over %d tasks (%d for the searched user), %d queries: LIKE %.2f ms/query, index %.2f ms/query (%.1fx); index build %.1f s, %d postings",
+                    tasks, tasks / 5, QUERIES, likeMs, indexedMs, likeMs / indexedMs, indexSeconds,
+                    taskSearchTermRepository.count()));
+            assertTrue(indexedMs < likeMs);
+        } finally {
+            // A batched DELETE of this many postings takes minutes in H2.
+            jdbcTemplate.execute("TRUNCATE TABLE task_search_term");
+            taskRepository.deleteAllInBatch();
+            userRepository.deleteAllInBatch();
+        }
+    }
+
+    private void like(Integer userId, String keyword) {
+        taskRepository.findAll(TaskSpecifications.matching(userId, new TaskFilter(null, null, keyword)),
+                PageRequest.of(0, 10));
+    }
+
+    private void indexed(Integer userId, String keyword) {
+        taskService.getPagedTasks(userId, new TaskFilter(null, null, keyword), PageRequest.of(0, 10));
+    }
+
+    private List<Integer> seed(int tasks) {
+        List<Integer> userIds = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            userIds.add(verifiedUser(userRepository, "bench" + i + "@example.com").getId());
+        }
+
+        Random random = new Random(42);
+        Date today = Date.valueOf(LocalDate.now());
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < tasks; i++) {
+            // A fifth of all tasks go to the first user, the rest are spread over the others.
+            Integer userId = i % 5 == 0 ? userIds.get(0) : userIds.get(1 + random.nextInt(USERS - 1));
+            batch.add(new Object[]{i + 1, phrase(random, 4), phrase(random, 12), today, "PENDING", "MEDIUM", today, userId});
+            if (batch.size() == 1000 || i == tasks - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO task (Task_id, task_name, description, due_date, status, priority, " +
+                        "created_at, reminder_sent, deleted, user_id) VALUES (?, ?, ?, ?, ?, ?, ?, false, false, ?)", batch);
+                batch.clear();
+            }
+        }
+        return userIds;
+    }
+
+    private String phrase(Random random, int count) {
+        StringBuilder phrase = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                phrase.append(' ');
+            }
+            phrase.append(word(random));
+        }
+        return phrase.toString();
+    }
+
+    /** Skewed towards the start of the vocabulary, like word frequencies in real text. */
+    private String word(Random random) {
+        double skewed = Math.pow(random.nextDouble(), 2);
+        return words[(int) (skewed * words.length)];
+    }
+
+    private static String[] vocabulary() {
+        Random random = new Random(1);
+        String[] words = new String[VOCABULARY];
+        for (int i = 0; i < words.length; i++) {
+            StringBuilder word = new StringBuilder();
+            int syllables = 2 + random.nextInt(3);
+            for (int j = 0; j < syllables; j++) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            words[i] = word.toString();
+        }
+        return words;
+    }
+}
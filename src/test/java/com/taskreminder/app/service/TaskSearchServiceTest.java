@@ -0,0 +1,168 @@
+package com.taskreminder.app.service;
+
+import com.taskreminder.app.dto.TaskFilter;
+import com.taskreminder.app.entity.Task;
+import com.taskreminder.app.entity.User;
+import com.taskreminder.app.enums.TaskPriority;
+import com.taskreminder.app.enums.TaskStatus;
+import com.taskreminder.app.repository.TaskRepository;
+import com.taskreminder.app.repository.TaskSearchTermRepository;
+import com.taskreminder.app.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static com.taskreminder.app.support.TestUsers.verifiedUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskSearchServiceTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskSearchService taskSearchService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskSearchTermRepository taskSearchTermRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private Task report;
+    private Task invoice;
+    private Task groceries;
+
+    @BeforeEach
+    void setup() {
+        cleanup();
+        owner = verifiedUser(userRepository, "search-owner@example.com");
+        report = add(owner, "Quarterly report", "Send the numbers to finance", TaskStatus.PENDING);
+        invoice = add(owner, "Pay invoice", "Finance reminder about the quarterly report", TaskStatus.COMPLETED);
+        groceries = add(owner, "Groceries", "Milk, eggs and bread", TaskStatus.PENDING);
+        add(verifiedUser(userRepository, "search-other@example.com"), "Quarterly report", "Someone else's", TaskStatus.PENDING);
+    }
+
+    @AfterEach
+    void cleanup() {
+        taskSearchTermRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testTokenizesIntoLowerCaseWords() {
+        assertEquals(List.of("re", "mi", "q3"), TaskSearchService.queryTerms("Re: MI  q3 ! a"));
+        assertTrue(TaskSearchService.queryTerms("% _ a").isEmpty());
+
+        Map<String, Integer> terms = TaskSearchService.terms("Report: the report", "A report, v2");
+        assertEquals(List.of("report", "the", "v2"), List.copyOf(terms.keySet()));
+        assertEquals(2 * TaskSearchService.TITLE_WEIGHT + TaskSearchService.DESCRIPTION_WEIGHT, terms.get("report"));
+    }
+
+    @Test
+    void testMatchesPrefixesInTitleAndDescription() {
+        assertEquals(List.of(groceries.getId()), search("bre"));
+        assertEquals(List.of(report.getId(), invoice.getId()), search("FINAN"));
+    }
+
+    @Test
+    void testMatchesPrefixesEndingInZOrNine() {
+        Task pizza = add(owner, "Pizza night", "Order for Q9", TaskStatus.PENDING);
+
+        assertEquals(List.of(pizza.getId()), search("piz"));
+        assertEquals(List.of(pizza.getId()), search("pizz"));
+        assertEquals(List.of(pizza.getId()), search("q9"));
+    }
+
+    @Test
+    void testAccentedVariantsInOneTaskAreIndexedSeparately() {
+        Task cv = add(owner, "Resume", "Update the résumé", TaskStatus.PENDING);
+
+        assertEquals(List.of(cv.getId()), search("résumé"));
+        assertEquals(List.of(cv.getId()), search("resume"));
+    }
+
+    @Test
+    void testAllTermsMustMatchAndTitleHitsRankFirst() {
+        assertEquals(List.of(report.getId(), invoice.getId()), search("quarterly rep"));
+        assertEquals(List.of(invoice.getId()), search("report invoice"));
+        assertTrue(search("report milk").isEmpty());
+    }
+
+    @Test
+    void testCombinesWithFiltersAndExplicitSort() {
+        TaskFilter completed = new TaskFilter(TaskStatus.COMPLETED, null, "report");
+        assertEquals(List.of(invoice.getId()), ids(completed, Sort.unsorted()));
+
+        TaskFilter any = new TaskFilter(null, null, "report");
+        assertEquals(List.of(invoice.getId(), report.getId()), ids(any, Sort.by(Sort.Direction.DESC, "id")));
+    }
+
+    @Test
+    void testIndexFollowsUpdatesAndDeletes() {
+        report.setTitle("Annual summary");
+        report.setDescription(null);
+        taskService.updateTask(report, owner.getId());
+
+        assertEquals(List.of(invoice.getId()), search("report"));
+        assertEquals(List.of(report.getId()), search("annual"));
+
+        taskService.moveToTrash(groceries.getId(), owner.getId());
+        assertTrue(search("milk").isEmpty());
+        taskService.permanentDelete(groceries.getId(), owner.getId());
+        assertTrue(taskSearchTermRepository.findAll().stream().noneMatch(t -> t.getTaskId().equals(groceries.getId())));
+    }
+
+    @Test
+    void testRebuildRestoresIndexFromTasks() {
+        List<Integer> before = search("finance");
+        long postings = taskSearchTermRepository.count();
+
+        taskSearchTermRepository.deleteAll();
+        assertTrue(search("finance").isEmpty());
+
+        taskSearchService.rebuildAll();
+        assertEquals(before, search("finance"));
+        assertEquals(postings, taskSearchTermRepository.count());
+
+        taskSearchService.rebuild(owner.getId());
+        assertEquals(postings, taskSearchTermRepository.count());
+    }
+
+    @Test
+    void testShortKeywordFallsBackToTitleMatch() {
+        assertEquals(List.of(report.getId(), invoice.getId(), groceries.getId()),
+                ids(new TaskFilter(null, null, "e"), Sort.by("id")));
+    }
+
+    private List<Integer> search(String keyword) {
+        return ids(new TaskFilter(null, null, keyword), Sort.unsorted());
+    }
+
+    private List<Integer> ids(TaskFilter filter, Sort sort) {
+        return taskService.getPagedTasks(owner.getId(), filter, PageRequest.of(0, 20, sort))
+                .getContent().stream().map(Task::getId).toList();
+    }
+
+    private Task add(User user, String title, String description, TaskStatus status) {
+        Task task = new Task(title, description, LocalDate.now(), status, TaskPriority.MEDIUM);
+        task.setUser(user);
+        return taskService.addTask(task);
+    }
+}
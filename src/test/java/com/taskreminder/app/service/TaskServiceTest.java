@@ -1,5 +1,6 @@
 package com.taskreminder.app.service;
 
+import com.taskreminder.app.dto.TaskSummary;
 import com.taskreminder.app.entity.Task;
 import com.taskreminder.app.entity.User;
 import com.taskreminder.app.enums.TaskPriority;
@@ -7,10 +8,12 @@ import com.taskreminder.app.enums.TaskStatus;
 import com.taskreminder.app.repository.TaskRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -32,15 +35,28 @@ class TaskServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private ReminderPlanner reminderPlanner;
+
+    @Mock
+    private TaskSearchService taskSearchService;
+
+    @Mock
+    private TaskCounterCache taskCounterCache;
+
     @Test
     void testAddTaskSuccess() {
+        User user = new User();
+        user.setId(1);
         Task task = new Task();
+        task.setUser(user);
         when(taskRepository.save(task)).thenReturn(task);
 
         Task result = taskService.addTask(task);
 
         assertNotNull(result);
         verify(taskRepository).save(task);
+        verify(reminderPlanner).schedule(task);
     }
 
     @Test
@@ -98,6 +114,27 @@ class TaskServiceTest {
         assertEquals(user, result.getUser());
     }
 
+    @Test
+    void testUpdateTaskReopeningClearsCompletedAt() {
+        User user = new User();
+        user.setId(1);
+
+        Task existing = new Task();
+        existing.setId(5);
+        existing.setUser(user);
+        existing.setStatus(TaskStatus.COMPLETED);
+        existing.setCompletedAt(LocalDate.now().minusDays(1));
+
+        when(taskRepository.findById(5)).thenReturn(Optional.of(existing));
+        when(taskRepository.save(any(Task.class))).thenAnswer(i -> i.getArgument(0));
+
+        Task reopened = new Task();
+        reopened.setId(5);
+        reopened.setStatus(TaskStatus.IN_PROGRESS);
+
+        assertNull(taskService.updateTask(reopened, 1).getCompletedAt());
+    }
+
     @Test
     void testUpdateTaskNotFound() {
         Task task = new Task();
@@ -132,6 +169,7 @@ class TaskServiceTest {
         assertNotNull(task.getDeletedAt());
 
         verify(taskRepository).save(task);
+        verify(reminderPlanner).cancel(3);
     }
 
     @Test
@@ -212,14 +250,20 @@ class TaskServiceTest {
 
     @Test
     void testEmptyTrashSuccess() {
-        List<Task> tasks = List.of(new Task(), new Task());
-
-        when(taskRepository.findByUser_IdAndDeletedTrue(1))
-                .thenReturn(tasks);
+        when(taskRepository.deleteTrashedByUserId(1)).thenReturn(2);
 
         taskService.emptyTrash(1);
 
-        verify(taskRepository).deleteAll(tasks);
+        verify(taskSearchService).removeOrphans(1);
+        verify(taskRepository, never()).deleteByIds(any());
+    }
+
+    @Test
+    void testEmptyTrashWhenEmpty() {
+        when(taskRepository.deleteTrashedByUserId(1)).thenReturn(0);
+
+        assertThrows(RuntimeException.class, () -> taskService.emptyTrash(1));
+        verify(taskSearchService, never()).removeOrphans(any());
     }
 
 
@@ -239,6 +283,7 @@ class TaskServiceTest {
         assertEquals(TaskStatus.COMPLETED, task.getStatus());
         assertNotNull(task.getCompletedAt());
         verify(taskRepository).save(task);
+        verify(reminderPlanner).cancel(task.getId());
     }
 
     @Test
@@ -263,9 +308,8 @@ class TaskServiceTest {
         Pageable pageable = PageRequest.of(0, 5);
         Page<Task> page = new PageImpl<>(List.of(new Task()));
 
-        when(taskRepository.findByUser_IdAndDeletedFalseAndStatusAndPriority(
-                1, TaskStatus.PENDING, TaskPriority.HIGH, pageable
-        )).thenReturn(page);
+        when(taskRepository.findAll(ArgumentMatchers.<Specification<Task>>any(), eq(pageable)))
+                .thenReturn(page);
 
         Page<Task> result = taskService.getPagedTasks(
                 1, pageable, TaskStatus.PENDING, TaskPriority.HIGH, null
@@ -276,13 +320,13 @@ class TaskServiceTest {
 
     @Test
     void testGetTasksDueToday() {
-        when(taskRepository.findByUser_IdAndDeletedFalseAndDueDateAndStatusNot(
+        when(taskRepository.findSummariesByUser_IdAndDeletedFalseAndDueDateAndStatusNot(
                 eq(1),
                 any(LocalDate.class),
                 eq(TaskStatus.COMPLETED)
-        )).thenReturn(List.of(new Task()));
+        )).thenReturn(List.of(summary()));
 
-        List<Task> result = taskService.getTasksDueToday(1);
+        List<TaskSummary> result = taskService.getTasksDueToday(1);
 
         assertEquals(1, result.size());
     }
@@ -293,18 +337,19 @@ class TaskServiceTest {
         int days = 7;
 
         Task task = new Task();
+        task.setId(1);
         task.setDeleted(false);
         task.setDueDate(LocalDate.now().plusDays(3));
         task.setStatus(TaskStatus.PENDING);
 
-        when(taskRepository.findByUser_IdAndDeletedFalseAndDueDateBetweenAndStatusNot(
+        when(taskRepository.findSummariesByUser_IdAndDeletedFalseAndDueDateBetweenAndStatusNot(
                 eq(userId),
                 any(LocalDate.class),
                 any(LocalDate.class),
                 eq(TaskStatus.COMPLETED)
-        )).thenReturn(List.of(task));
+        )).thenReturn(List.of(TaskSummary.of(task)));
 
-        List<Task> result = taskService.getUpcomingTasks(userId, days);
+        List<TaskSummary> result = taskService.getUpcomingTasks(userId, days);
 
         assertEquals(1, result.size());
     }
@@ -312,40 +357,36 @@ class TaskServiceTest {
 
     @Test
     void testGetOverdueTasks() {
-        when(taskRepository.findByUser_IdAndDeletedFalseAndDueDateBeforeAndStatusNot(
+        when(taskRepository.findSummariesByUser_IdAndDeletedFalseAndDueDateBeforeAndStatusNot(
                 eq(1),
                 any(LocalDate.class),
                 eq(TaskStatus.COMPLETED)
-        )).thenReturn(List.of(new Task()));
+        )).thenReturn(List.of(summary()));
 
-        List<Task> result = taskService.getOverdueTasks(1);
+        List<TaskSummary> result = taskService.getOverdueTasks(1);
 
         assertEquals(1, result.size());
     }
 
     @Test
     void testGetUpcomingReminders() {
-        when(taskRepository.findUpcomingRemindersForUser(
+        when(taskRepository.findSummariesByUser_IdAndDeletedFalseAndReminderSentFalseAndReminderTimeBetween(
                 eq(1), any(), any()
-        )).thenReturn(List.of(new Task()));
+        )).thenReturn(List.of(summary()));
 
-        List<Task> result = taskService.getUpcomingReminders(1);
+        List<TaskSummary> result = taskService.getUpcomingReminders(1);
 
         assertFalse(result.isEmpty());
     }
 
     @Test
     void testGetRecentTasks() {
-        Task t1 = new Task();
-        t1.setCreatedAt(LocalDate.now());
-
-        Task t2 = new Task();
-        t2.setCreatedAt(LocalDate.now().minusDays(1));
+        TaskSummary t1 = summary();
 
-        when(taskRepository.findByUser_IdAndDeletedFalse(1))
-                .thenReturn(List.of(t2, t1));
+        when(taskRepository.findSummariesByUser_IdAndDeletedFalseOrderByCreatedAtDescIdDesc(1, PageRequest.of(0, 1)))
+                .thenReturn(List.of(t1));
 
-        List<Task> result = taskService.getRecentTasks(1, 1);
+        List<TaskSummary> result = taskService.getRecentTasks(1, 1);
 
         assertEquals(1, result.size());
         assertEquals(t1, result.get(0));
@@ -354,40 +395,36 @@ class TaskServiceTest {
 
     @Test
     void testGetHighPriorityTasks() {
-        Page<Task> page = new PageImpl<>(List.of(new Task()));
-
-        when(taskRepository.findByUser_IdAndDeletedFalseAndPriority(
+        when(taskRepository.findSummariesByUser_IdAndDeletedFalseAndPriority(
                 eq(1),
                 eq(TaskPriority.HIGH),
                 any(Pageable.class)
-        )).thenReturn(page);
+        )).thenReturn(List.of(summary()));
 
-        List<Task> result = taskService.getHighPriorityTasks(1);
+        List<TaskSummary> result = taskService.getHighPriorityTasks(1);
 
         assertEquals(1, result.size());
     }
 
     @Test
     void testGetPendingTasks() {
-        when(taskRepository.findByUser_IdAndDeletedFalseAndStatus(
+        when(taskRepository.findSummariesByUser_IdAndDeletedFalseAndStatus(
                 eq(1),
                 eq(TaskStatus.PENDING)
-        )).thenReturn(List.of(new Task()));
+        )).thenReturn(List.of(summary()));
 
         assertEquals(1, taskService.getPendingTasks(1).size());
     }
 
     @Test
     void testGetCompletedTasks() {
-        Page<Task> page = new PageImpl<>(List.of(new Task()));
-
-        when(taskRepository.findByUser_IdAndDeletedFalseAndStatus(
+        when(taskRepository.findSummariesByUser_IdAndDeletedFalseAndStatus(
                 eq(1),
                 eq(TaskStatus.COMPLETED),
                 any(Pageable.class)
-        )).thenReturn(page);
+        )).thenReturn(List.of(summary()));
 
-        List<Task> result = taskService.getCompletedTasks(1);
+        List<TaskSummary> result = taskService.getCompletedTasks(1);
 
         assertEquals(1, result.size());
     }
@@ -396,14 +433,19 @@ class TaskServiceTest {
 
     @Test
     void testGetInProgressTasks() {
-        when(taskRepository.findByUser_IdAndDeletedFalseAndStatus(
+        when(taskRepository.findSummariesByUser_IdAndDeletedFalseAndStatus(
                 eq(1),
                 eq(TaskStatus.IN_PROGRESS)
-        )).thenReturn(List.of(new Task()));
+        )).thenReturn(List.of(summary()));
 
-        List<Task> result = taskService.getInProgressTasks(1);
+        List<TaskSummary> result = taskService.getInProgressTasks(1);
 
         assertEquals(1, result.size());
     }
 
+    private static TaskSummary summary() {
+        return new TaskSummary(1, "Task", null, LocalDate.now(), TaskStatus.PENDING, TaskPriority.LOW,
+                LocalDate.now(), null, null, null);
+    }
+
 }
@@ -2,7 +2,12 @@ package com.taskreminder.app.service;
 
 import com.taskreminder.app.dto.UpdateProfileRequest;
 import com.taskreminder.app.entity.User;
+import com.taskreminder.app.entity.UserProfile;
+import com.taskreminder.app.enums.EmailStatus;
+import com.taskreminder.app.enums.EmailType;
+import com.taskreminder.app.repository.UserProfileRepository;
 import com.taskreminder.app.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.servlet.http.HttpSession;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,9 +28,18 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserProfileRepository userProfileRepository;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private EntityManagerFactory entityManagerFactory;
+
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private EmailOutboxService emailOutboxService;
+
     @Mock
     private BCryptPasswordEncoder passwordEncoder;
 
@@ -58,7 +72,7 @@ class UserServiceTest {
 
         assertEquals("Registration successful. Please verify OTP.", result);
         verify(userRepository).save(user);
-        verify(emailService).sendOtpEmail(eq(user), any());
+        verify(emailService).queueOtpEmail(eq(user), any());
     }
 
     @Test
@@ -132,7 +146,7 @@ class UserServiceTest {
         String result = userService.resendOtp(user.getEmail());
 
         assertEquals("OTP resent successfully", result);
-        verify(emailService).sendOtpEmail(eq(user), any());
+        verify(emailService).queueOtpEmail(eq(user), any());
     }
 
     @Test
@@ -195,6 +209,7 @@ class UserServiceTest {
         assertEquals("Updated User", user.getName());
         assertEquals("updated@example.com", user.getEmail());
         verify(userRepository).save(user);
+        verify(entityManagerFactory.getCache()).evict(UserProfile.class, 1);
     }
 
     @Test
@@ -229,4 +244,23 @@ class UserServiceTest {
 
         assertEquals(user.getEmail(), email);
     }
+
+    @Test
+    void testOtpDeliveryStatus() {
+        when(emailOutboxService.latestStatus(EmailType.OTP, user.getEmail()))
+                .thenReturn(Optional.of(EmailStatus.SENDING))
+                .thenReturn(Optional.of(EmailStatus.DEAD));
+
+        assertEquals("SENDING", userService.getOtpDeliveryStatus(user.getEmail()));
+        assertEquals("FAILED", userService.getOtpDeliveryStatus(user.getEmail()));
+    }
+
+    @Test
+    void testOtpDeliveryStatusWithoutQueuedEmail() {
+        when(emailOutboxService.latestStatus(EmailType.OTP, user.getEmail()))
+                .thenReturn(Optional.empty());
+
+        assertEquals("NONE", userService.getOtpDeliveryStatus(user.getEmail()));
+        assertEquals("NONE", userService.getOtpDeliveryStatus(" "));
+    }
 }
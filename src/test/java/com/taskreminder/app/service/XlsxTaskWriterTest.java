@@ -0,0 +1,90 @@
+package com.taskreminder.app.service;
+
+import com.taskreminder.app.dto.TaskSummary;
+import com.taskreminder.app.enums.TaskPriority;
+import com.taskreminder.app.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class XlsxTaskWriterTest {
+
+    @Test
+    void testRowsBeyondTheSheetLimitContinueOnANewSheet() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XlsxTaskWriter xlsx = new XlsxTaskWriter(out, 3);
+        for (int id = 1; id <= 5; id++) {
+            xlsx.row(task(id, "Task " + id));
+        }
+        xlsx.finish();
+
+        Map<String, byte[]> parts = unzip(out.toByteArray());
+        assertTrue(parts.containsKey("xl/worksheets/sheet3.xml"));
+        assertFalse(parts.containsKey("xl/worksheets/sheet4.xml"));
+        assertEquals(3, rows(parts, "xl/worksheets/sheet1.xml").getLength());
+        assertEquals(3, rows(parts, "xl/worksheets/sheet2.xml").getLength());
+        NodeList last = rows(parts, "xl/worksheets/sheet3.xml");
+        assertEquals(2, last.getLength());
+        assertEquals("ID", last.item(0).getFirstChild().getTextContent());
+        assertEquals("5", last.item(1).getFirstChild().getTextContent());
+
+        NodeList sheets = parse(parts.get("xl/workbook.xml")).getElementsByTagName("sheet");
+        assertEquals(3, sheets.getLength());
+        assertEquals("Tasks 3", ((Element) sheets.item(2)).getAttribute("name"));
+        String contentTypes = new String(parts.get("[Content_Types].xml"));
+        assertTrue(contentTypes.contains("/xl/worksheets/sheet3.xml"));
+        NodeList relationships = parse(parts.get("xl/_rels/workbook.xml.rels")).getElementsByTagName("Relationship");
+        assertEquals(4, relationships.getLength());
+        assertEquals("styles.xml", ((Element) relationships.item(3)).getAttribute("Target"));
+    }
+
+    @Test
+    void testOverlongTextIsCutToTheCellLimit() throws Exception {
+        String title = "x".repeat(XlsxTaskWriter.MAX_CELL_CHARS - 1) + "😀" + "tail";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XlsxTaskWriter xlsx = new XlsxTaskWriter(out);
+        xlsx.row(task(1, title));
+        xlsx.finish();
+
+        NodeList cells = ((Element) rows(unzip(out.toByteArray()), "xl/worksheets/sheet1.xml").item(1))
+                .getElementsByTagName("c");
+        String written = cells.item(1).getTextContent();
+        assertEquals(XlsxTaskWriter.MAX_CELL_CHARS - 1, written.length());
+        assertEquals(title.substring(0, XlsxTaskWriter.MAX_CELL_CHARS - 1), written);
+    }
+
+    private static TaskSummary task(int id, String title) {
+        return new TaskSummary(id, title, null, LocalDate.now(), TaskStatus.PENDING, TaskPriority.LOW,
+                LocalDate.now(), null, null, null);
+    }
+
+    private static Map<String, byte[]> unzip(byte[] workbook) throws Exception {
+        Map<String, byte[]> parts = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(workbook))) {
+            for (ZipEntry entry; (entry = zip.getNextEntry()) != null; ) {
+                parts.put(entry.getName(), zip.readAllBytes());
+            }
+        }
+        return parts;
+    }
+
+    private static NodeList rows(Map<String, byte[]> parts, String sheet) throws Exception {
+        return parse(parts.get(sheet)).getElementsByTagName("row");
+    }
+
+    private static Document parse(byte[] part) throws Exception {
+        return DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new ByteArrayInputStream(part));
+    }
+}
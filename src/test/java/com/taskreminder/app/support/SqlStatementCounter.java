@@ -0,0 +1,43 @@
+package com.taskreminder.app.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the calling thread, so that background pollers
+ * sharing the session factory do not show up in a test's count. Register it with
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    /** Runs {@code work} and returns how many statements it prepared on this thread. */
+    public static long count(Callable<?> work) throws Exception {
+        return statements(work).size();
+    }
+
+    /** Runs {@code work} and returns the SQL of the statements it prepared on this thread. */
+    public static List<String> statements(Callable<?> work) throws Exception {
+        List<String> statements = new ArrayList<>();
+        STATEMENTS.set(statements);
+        try {
+            work.call();
+        } finally {
+            STATEMENTS.remove();
+        }
+        return statements;
+    }
+}
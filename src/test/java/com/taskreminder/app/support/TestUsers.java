@@ -0,0 +1,24 @@
+package com.taskreminder.app.support;
+
+import com.taskreminder.app.entity.User;
+import com.taskreminder.app.repository.UserRepository;
+
+/** Saves the users that integration tests hang their tasks on, named after their email's local part. */
+public final class TestUsers {
+
+    private TestUsers() {
+    }
+
+    public static User verifiedUser(UserRepository userRepository, String email) {
+        return user(userRepository, email, true);
+    }
+
+    public static User user(UserRepository userRepository, String email, boolean verified) {
+        User user = new User();
+        user.setName(email.substring(0, email.indexOf('@')));
+        user.setEmail(email);
+        user.setPassword("secret");
+        user.setVerified(verified);
+        return userRepository.save(user);
+    }
+}